@@ -0,0 +1,70 @@
+package da_ni_ni.backend.daily.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 그룹 검색 인덱스 색인/검색 지연 측정
+ * 게시글 수(dailyCount)마다 게시글당 댓글 3개를 가진 인덱스를 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GroupSearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "오늘", "가족", "여행", "저녁", "맛있는", "사진", "생일", "축하", "엄마", "아빠",
+            "동생", "산책", "날씨", "주말", "영화", "공원", "케이크", "학교", "회사", "웃음"
+    };
+
+    @Param({"1000", "10000"})
+    private int dailyCount;
+
+    private GroupSearchIndex index;
+    private Random random;
+    private long nextDailyId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        index = new GroupSearchIndex();
+        for (long dailyId = 1; dailyId <= dailyCount; dailyId++) {
+            index.loadDaily(dailyId, LocalDate.of(2025, 1, 1).plusDays(dailyId % 365), sentence(12));
+            for (long c = 0; c < 3; c++) {
+                index.loadComment(dailyId, dailyId * 10 + c, sentence(5));
+            }
+        }
+        index.finishLoading();
+        nextDailyId = dailyCount + 1;
+    }
+
+    // 게시글 하나 색인 (작성 경로)
+    @Benchmark
+    public void indexDaily() {
+        index.upsertDaily(nextDailyId++, LocalDate.of(2025, 6, 1), sentence(12));
+    }
+
+    // 두 단어 질의, 상위 20건
+    @Benchmark
+    public void searchTop20(Blackhole blackhole) {
+        blackhole.consume(index.search("가족 여행", 0, 20));
+    }
+
+    // 조사가 붙은 한 단어 질의, 상위 20건
+    @Benchmark
+    public void searchWithParticle(Blackhole blackhole) {
+        blackhole.consume(index.search("케이크를", 0, 20));
+    }
+
+    private String sentence(int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(i % 3 == 0 ? "을 " : " ");
+        }
+        return sb.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package da_ni_ni.backend.common;
 
 import com.google.firebase.messaging.FirebaseMessagingException;
+import da_ni_ni.backend.daily.exception.InvalidDailyRequestException;
 import da_ni_ni.backend.qna.exception.BadRequestException;
 import da_ni_ni.backend.qna.exception.ForbiddenException;
 import da_ni_ni.backend.user.dto.ErrorResponseDto;
@@ -42,6 +43,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler(InvalidDailyRequestException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidDailyRequest(InvalidDailyRequestException ex) {
+        ErrorResponseDto body = new ErrorResponseDto(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDto> handleValidationExceptions(MethodArgumentNotValidException ex) {
         // 여러 필드 오류 메시지를 모두 수집
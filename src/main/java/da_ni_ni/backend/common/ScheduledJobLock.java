@@ -0,0 +1,57 @@
+package da_ni_ni.backend.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * DB 임대(lease) 기반 스케줄 작업 잠금
+ *
+ * 같은 이름의 작업은 동시에 한 인스턴스에서만 실행된다.
+ * - lockAtMostFor: 작업이 끝나지 않고 죽어도 이 시간이 지나면 다른 인스턴스가 잠금을 가져간다.
+ * - lockAtLeastFor: 작업이 빨리 끝나도 이 시간 동안은 잠금을 유지해, 시계가 조금 늦은 인스턴스가 같은 작업을 다시 돌리지 않게 한다.
+ */
+@Slf4j
+@Component
+public class ScheduledJobLock {
+
+    private final SchedulerLockRepository lockRepository;
+    private final Clock clock;
+    private final TransactionTemplate newTransaction;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ScheduledJobLock(SchedulerLockRepository lockRepository, Clock clock,
+                            PlatformTransactionManager transactionManager) {
+        this.lockRepository = lockRepository;
+        this.clock = clock;
+        // 호출한 쪽 트랜잭션과 상관없이 잠금 상태는 바로 커밋한다
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 잠금을 얻으면 작업을 실행하고 true, 다른 인스턴스가 실행 중이면 건너뛰고 false
+     */
+    public boolean runLocked(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        long startedAt = clock.millis();
+        Boolean acquired = newTransaction.execute(status ->
+                lockRepository.tryAcquire(name, owner, startedAt, startedAt + lockAtMostFor.toMillis()));
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("다른 인스턴스가 실행 중이라 건너뜀: {}", name);
+            return false;
+        }
+        try {
+            task.run();
+            return true;
+        } finally {
+            long releaseAt = Math.max(clock.millis(), startedAt + lockAtLeastFor.toMillis());
+            newTransaction.executeWithoutResult(status -> lockRepository.release(name, owner, releaseAt));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package da_ni_ni.backend.common;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 스케줄 작업 잠금 (여러 인스턴스 중 한 곳에서만 실행)
+ * 시각은 인스턴스 간 시간대 차이가 없도록 epoch millis로 저장한다.
+ * 읽기/쓰기는 SchedulerLockRepository(JDBC)에서 하고, 엔티티는 테이블 정의용이다.
+ */
+@Entity
+@Table(name = "scheduler_lock")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SchedulerLock {
+
+    @Id
+    @Column(name = "lock_name", length = 64)
+    private String name;
+
+    // 이 시각까지 잠금 유지 (작업이 죽어도 이후에는 다른 인스턴스가 가져갈 수 있음)
+    @Column(name = "locked_until", nullable = false)
+    private long lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private long lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
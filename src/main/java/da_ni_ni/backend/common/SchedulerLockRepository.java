@@ -0,0 +1,38 @@
+package da_ni_ni.backend.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class SchedulerLockRepository {
+
+    private static final String TAKE_EXPIRED_SQL =
+            "UPDATE scheduler_lock SET locked_until = ?, locked_at = ?, locked_by = ? " +
+            "WHERE lock_name = ? AND locked_until <= ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO scheduler_lock (lock_name, locked_until, locked_at, locked_by) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT DO NOTHING";
+    private static final String RELEASE_SQL =
+            "UPDATE scheduler_lock SET locked_until = ? WHERE lock_name = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 잠금 획득 시도 (만료된 잠금을 가져오거나, 처음이면 새로 만든다)
+     * 두 문장 모두 조건부 단일 문장이라 동시에 시도해도 한 인스턴스만 1건을 반영한다.
+     */
+    public boolean tryAcquire(String name, String owner, long now, long lockedUntil) {
+        int taken = jdbcTemplate.update(TAKE_EXPIRED_SQL, lockedUntil, now, owner, name, now);
+        if (taken > 0) {
+            return true;
+        }
+        return jdbcTemplate.update(INSERT_SQL, name, lockedUntil, now, owner) > 0;
+    }
+
+    // 잠금 해제 (다른 인스턴스가 이미 가져간 잠금은 건드리지 않음)
+    public void release(String name, String owner, long lockedUntil) {
+        jdbcTemplate.update(RELEASE_SQL, lockedUntil, name, owner);
+    }
+}
@@ -1,16 +1,25 @@
 package da_ni_ni.backend.daily.controller;
 
 import da_ni_ni.backend.daily.dto.*;
+import da_ni_ni.backend.daily.service.DailySearchService;
 import da_ni_ni.backend.daily.service.DailyService;
+import da_ni_ni.backend.daily.service.DailySyncService;
+import da_ni_ni.backend.daily.service.DailyVersionStamps;
 import da_ni_ni.backend.common.ResponseDto;
+import da_ni_ni.backend.group.exception.GroupNotFoundException;
+import da_ni_ni.backend.user.domain.User;
 import da_ni_ni.backend.user.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 
 @Slf4j
@@ -21,6 +30,9 @@ public class DailyController {
 
     private final DailyService dailyService;
     private final AuthService authService;
+    private final DailyVersionStamps dailyVersionStamps;
+    private final DailySyncService dailySyncService;
+    private final DailySearchService dailySearchService;
 
     // 게시글 추가
     @PostMapping
@@ -97,30 +109,83 @@ public class DailyController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    // 변경분 동기화 (토큰 이후 바뀐 게시글/댓글과 삭제 기록, 토큰이 없으면 전체)
+    @GetMapping("/sync")
+    public ResponseEntity<StreamingResponseBody> syncDailies(
+            @RequestParam(value = "token", required = false) String token) {
+        log.info("Request to GET daily sync");
+        User user = authService.getCurrentUser();
+        if (user.getFamilyGroup() == null) {
+            throw new GroupNotFoundException();
+        }
+        StreamingResponseBody body = dailySyncService.sync(user.getFamilyGroup().getId(), token);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // 그룹 게시글/댓글 검색 (관련도 순, page는 0부터)
+    @GetMapping("/search")
+    public ResponseEntity<ResponseDto> searchDailies(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        log.info("Request to GET daily search");
+        User user = authService.getCurrentUser();
+        if (user.getFamilyGroup() == null) {
+            throw new GroupNotFoundException();
+        }
+        DailySearchResponse response = dailySearchService.search(user.getFamilyGroup().getId(), query, page, size);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     // 게시글 상세 조회
+    // 그룹 버전이 그대로면(If-None-Match 일치) 본문 조회 없이 304 응답 (그룹 버전 PK 조회 한 번)
     @GetMapping("/{dailyId}")
     public ResponseEntity<ResponseDto> getDailyPostDetails(
-            @PathVariable("dailyId") Long dailyId) {
+            @PathVariable("dailyId") Long dailyId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            WebRequest webRequest) {
         log.info("Request to GET daily details");
         Long userId = authService.getCurrentUser().getId();
-        FindDailyDetailResponse response = dailyService.getDailyDetail(dailyId, userId);
+        // 그룹을 아직 모르는 게시글은 이번 응답에는 ETag를 붙이지 않는다
+        Long familyGroupId = dailyVersionStamps.groupOf(dailyId);
+        if (familyGroupId != null && webRequest.checkNotModified(
+                dailyVersionStamps.detailTag(familyGroupId, dailyId, userId, cursor, size))) {
+            return null;
+        }
+        FindDailyDetailResponse response = dailyService.getDailyDetail(dailyId, userId, cursor, size);
         return new ResponseEntity<>(response,HttpStatus.OK);
     }
 
     // 주간 게시글 조회
+    // 그룹 버전이 그대로면(If-None-Match 일치) 본문 조회 없이 304 응답 (그룹 버전 PK 조회 한 번)
     @GetMapping
     public ResponseEntity<ResponseDto> getWeeklyDailies(
             @RequestParam(value = "date", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-            LocalDate date
+            LocalDate date,
+            WebRequest webRequest
     ) {
         log.info("Request to GET weekly dailies with date: {}", date);
-        Long userId = authService.getCurrentUser().getId();
+        User user = authService.getCurrentUser();
+        Long userId = user.getId();
         // 기준일이 없으면 오늘 날짜 사용
         if (date == null) {
             date = LocalDate.now();
         }
-        FindWeekDailyResponse response = dailyService.getWeeklyDailies(userId, date);
+        // 그룹 버전은 한 번만 읽어서 ETag와 본문에 같이 쓴다
+        long feedVersion = 0;
+        if (user.getFamilyGroup() != null) {
+            Long familyGroupId = user.getFamilyGroup().getId();
+            feedVersion = dailyVersionStamps.version(familyGroupId);
+            if (webRequest.checkNotModified(
+                    dailyVersionStamps.weeklyFeedTag(feedVersion, familyGroupId, userId, date.with(DayOfWeek.MONDAY)))) {
+                return null;
+            }
+        }
+        FindWeekDailyResponse response = dailyService.getWeeklyDailies(userId, date, feedVersion);
         return new ResponseEntity<>(response,HttpStatus.OK);
     }
 
@@ -9,6 +9,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_daily_created", columnList = "daily_id, created_at, comment_id"),
+        @Index(name = "idx_comment_updated", columnList = "updated_at")
+})
 @Getter
 @Builder
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_daily_group_updated", columnList = "family_group_id, updated_at"))
 @Getter @Builder @Setter
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -34,7 +35,10 @@ public class Daily extends BaseTime {
     private LocalDate date;
     private String content;
 
+    // 수는 DailyCounterRepository의 증감 UPDATE로만 바뀐다 (엔티티 저장이 읽을 때의 값으로 덮어쓰지 않도록)
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
     private long commentCount;
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
     private long likeCount;
 
     @Builder.Default
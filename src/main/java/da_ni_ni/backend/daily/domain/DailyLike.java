@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_like_daily_user", columnNames = {"daily_id", "user_id"}))
 @Getter
 @Builder
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
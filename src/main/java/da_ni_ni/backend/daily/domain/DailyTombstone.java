@@ -0,0 +1,58 @@
+package da_ni_ni.backend.daily.domain;
+
+import da_ni_ni.backend.common.BaseTime;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 삭제 기록 (동기화 API가 클라이언트에 삭제를 알려주기 위해 남긴다)
+ * createdAt이 삭제 시각이며, 보관 기간이 지나면 정리된다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_tombstone_group_id", columnList = "family_group_id, tombstone_id"))
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DailyTombstone extends BaseTime {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tombstone_id")
+    private Long id;
+
+    @Column(name = "family_group_id", nullable = false)
+    private Long familyGroupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    // 삭제된 게시글/댓글 id
+    @Column(nullable = false)
+    private Long targetId;
+
+    private Long dailyId;
+
+    public enum Type {
+        DAILY, COMMENT
+    }
+
+    public static DailyTombstone ofDaily(Daily daily) {
+        return DailyTombstone.builder()
+                .familyGroupId(daily.getFamilyGroup().getId())
+                .type(Type.DAILY)
+                .targetId(daily.getId())
+                .dailyId(daily.getId())
+                .build();
+    }
+
+    public static DailyTombstone ofComment(Daily daily, Comment comment) {
+        return DailyTombstone.builder()
+                .familyGroupId(daily.getFamilyGroup().getId())
+                .type(Type.COMMENT)
+                .targetId(comment.getCommentId())
+                .dailyId(daily.getId())
+                .build();
+    }
+}
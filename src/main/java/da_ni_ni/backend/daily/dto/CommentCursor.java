@@ -0,0 +1,36 @@
+package da_ni_ni.backend.daily.dto;
+
+import da_ni_ni.backend.daily.exception.InvalidDailyRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 댓글 페이지 커서 (createdAt, commentId) → 클라이언트에는 불투명한 문자열로 전달
+public record CommentCursor(LocalDateTime createdAt, Long commentId) {
+
+    private static final String SEPARATOR = "_";
+
+    public static CommentCursor from(CommentDetailData comment) {
+        return new CommentCursor(comment.getCreatedAt(), comment.getCommentId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + commentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            return new CommentCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidDailyRequestException("잘못된 댓글 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package da_ni_ni.backend.daily.dto;
+
+// 검색 인덱스 적재용 댓글 행
+public interface CommentSourceRow {
+    Long getDailyId();
+    Long getCommentId();
+    String getContent();
+}
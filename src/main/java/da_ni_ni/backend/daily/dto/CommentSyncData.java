@@ -0,0 +1,22 @@
+package da_ni_ni.backend.daily.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 동기화 응답의 변경된 댓글
+@Getter
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class CommentSyncData {
+    private Long commentId;
+    private Long dailyId;
+    private Long authorId;
+    private String authorName;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
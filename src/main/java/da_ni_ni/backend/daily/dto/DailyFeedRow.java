@@ -0,0 +1,13 @@
+package da_ni_ni.backend.daily.dto;
+
+import java.time.LocalDateTime;
+
+// 주간 피드 한 줄 (작성자 닉네임, 좋아요/댓글 수를 한 번의 쿼리로 조회)
+public interface DailyFeedRow {
+    Long getDailyId();
+    LocalDateTime getCreatedAt();
+    String getAuthorName();
+    String getContent();
+    Long getLikeCount();
+    Long getCommentCount();
+}
@@ -0,0 +1,28 @@
+package da_ni_ni.backend.daily.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import da_ni_ni.backend.daily.service.GroupSearchIndex;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@Builder
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class DailySearchHit {
+    private Long dailyId;
+    private LocalDate date;
+    private String content;
+    private double score;
+
+    public static DailySearchHit createWith(GroupSearchIndex.Hit hit) {
+        return DailySearchHit.builder()
+                .dailyId(hit.dailyId())
+                .date(hit.date())
+                .content(hit.content())
+                .score(hit.score())
+                .build();
+    }
+}
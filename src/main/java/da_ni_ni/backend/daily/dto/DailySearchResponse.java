@@ -0,0 +1,31 @@
+package da_ni_ni.backend.daily.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import da_ni_ni.backend.common.ResponseDto;
+import da_ni_ni.backend.daily.service.GroupSearchIndex;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class DailySearchResponse implements ResponseDto {
+    private String query;
+    private int page;
+    private int size;
+    private long totalCount;
+    private List<DailySearchHit> hits;
+
+    public static DailySearchResponse createWith(String query, int page, int size, GroupSearchIndex.Result result) {
+        return DailySearchResponse.builder()
+                .query(query)
+                .page(page)
+                .size(size)
+                .totalCount(result.totalCount())
+                .hits(result.hits().stream().map(DailySearchHit::createWith).toList())
+                .build();
+    }
+}
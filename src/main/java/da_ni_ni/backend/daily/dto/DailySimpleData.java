@@ -2,8 +2,6 @@ package da_ni_ni.backend.daily.dto;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
-import da_ni_ni.backend.daily.domain.Comment;
-import da_ni_ni.backend.daily.domain.Daily;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -12,7 +10,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @JsonNaming(value = PropertyNamingStrategy.SnakeCaseStrategy.class)
 public class DailySimpleData {
     private Long dailyId;
@@ -21,15 +19,22 @@ public class DailySimpleData {
     private String content;
     private long likeCount;
     private long commentCount;
+    // 조회자의 좋아요 여부
+    private boolean liked;
 
-    public static DailySimpleData createWith(Daily daily, long likeCount, long commentCount) {
+    public static DailySimpleData createWith(DailyFeedRow row, long likeCount, long commentCount) {
         return DailySimpleData.builder()
-                .dailyId(daily.getId())
-                .date(daily.getCreatedAt())
-                .authorName(daily.getUser().getNickName() != null ? daily.getUser().getNickName() : daily.getUser().getName())
-                .content(daily.getContent())
+                .dailyId(row.getDailyId())
+                .date(row.getCreatedAt())
+                .authorName(row.getAuthorName())
+                .content(row.getContent())
                 .likeCount(likeCount)
                 .commentCount(commentCount)
                 .build();
     }
+
+    // 그룹 공용 피드 항목에 조회자별 좋아요 여부를 입힌 복사본
+    public DailySimpleData withLiked(boolean liked) {
+        return toBuilder().liked(liked).build();
+    }
 }
@@ -0,0 +1,10 @@
+package da_ni_ni.backend.daily.dto;
+
+import java.time.LocalDate;
+
+// 검색 인덱스 적재용 게시글 행
+public interface DailySourceRow {
+    Long getDailyId();
+    LocalDate getDate();
+    String getContent();
+}
@@ -0,0 +1,28 @@
+package da_ni_ni.backend.daily.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 동기화 응답의 변경된 게시글
+@Getter
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class DailySyncData {
+    private Long dailyId;
+    private String authorName;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long likeCount;
+    private long commentCount;
+
+    // 아직 DB에 반영되지 않은 좋아요/댓글 증감분 포함
+    public DailySyncData withPending(long pendingLikes, long pendingComments) {
+        return new DailySyncData(dailyId, authorName, content, createdAt, updatedAt,
+                likeCount + pendingLikes, commentCount + pendingComments);
+    }
+}
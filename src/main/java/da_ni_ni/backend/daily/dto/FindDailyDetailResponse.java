@@ -24,19 +24,23 @@ public class FindDailyDetailResponse implements ResponseDto {
     private long commentCount;
     private boolean liked;
     private List<CommentDetailData> comments;
+    private String nextCursor; // 다음 댓글 페이지 커서 (마지막 페이지면 null)
 
 
-    public static FindDailyDetailResponse createWith(Daily daily, List<CommentDetailData> comments, boolean liked) {
+    public static FindDailyDetailResponse createWith(Daily daily, long likeCount, long commentCount,
+                                                     List<CommentDetailData> comments, String nextCursor,
+                                                     boolean liked) {
         return FindDailyDetailResponse.builder()
                 .dailyId(daily.getId())
                 .date(daily.getDate())
                 .authorName(daily.getUser().getNickName())
                 .authorId(daily.getUser().getId())
                 .content(daily.getContent())
-                .likeCount(daily.getLikeCount())
-                .commentCount(daily.getCommentCount())
+                .likeCount(likeCount)
+                .commentCount(commentCount)
                 .liked(liked)
                 .comments(comments)
+                .nextCursor(nextCursor)
                 .build();
 
 
@@ -0,0 +1,32 @@
+package da_ni_ni.backend.daily.dto;
+
+import da_ni_ni.backend.daily.exception.InvalidDailyRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 동기화 토큰 (updatedAt 기준 시각, 마지막 삭제 기록 id) → 클라이언트에는 불투명한 문자열로 전달
+public record SyncToken(LocalDateTime watermark, long tombstoneSeq) {
+
+    private static final String SEPARATOR = "_";
+
+    public String encode() {
+        String raw = watermark + SEPARATOR + tombstoneSeq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            return new SyncToken(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidDailyRequestException("잘못된 동기화 토큰입니다.");
+        }
+    }
+}
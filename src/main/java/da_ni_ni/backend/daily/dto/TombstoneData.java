@@ -0,0 +1,21 @@
+package da_ni_ni.backend.daily.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import da_ni_ni.backend.daily.domain.DailyTombstone;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 동기화 응답의 삭제 기록
+@Getter
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class TombstoneData {
+    private Long tombstoneId;
+    private DailyTombstone.Type type;
+    private Long targetId;
+    private Long dailyId;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,12 @@
+package da_ni_ni.backend.daily.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 잘못된 커서/토큰/검색어 등 게시글 요청 값 오류 (400)
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidDailyRequestException extends RuntimeException {
+    public InvalidDailyRequestException(String message) {
+        super(message);
+    }
+}
@@ -2,15 +2,67 @@ package da_ni_ni.backend.daily.repository;
 
 import da_ni_ni.backend.daily.domain.Comment;
 import da_ni_ni.backend.daily.domain.Daily;
+import da_ni_ni.backend.daily.dto.CommentDetailData;
+import da_ni_ni.backend.daily.dto.CommentSourceRow;
+import da_ni_ni.backend.daily.dto.CommentSyncData;
 import da_ni_ni.backend.user.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByDailyId(Long dailyId);
     Optional<Comment> findCommentByCommentId(Long commentId);
     List<Comment> findByUser(User user);
     long countByDaily(Daily daily);
+
+    // 검색 인덱스 적재용 그룹 댓글
+    @Query("select d.id as dailyId, c.commentId as commentId, c.content as content " +
+            "from Comment c join c.daily d where d.familyGroup.id = :familyGroupId")
+    List<CommentSourceRow> findSearchSources(@Param("familyGroupId") Long familyGroupId);
+
+    // 동기화: since 이후 작성/수정된 그룹 댓글 (목록을 만들지 않고 스트리밍)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("select new da_ni_ni.backend.daily.dto.CommentSyncData(" +
+            "c.commentId, d.id, u.id, coalesce(u.nickName, u.name), coalesce(c.content, '내용 없음'), c.createdAt, c.updatedAt) " +
+            "from Comment c join c.daily d join c.user u " +
+            "where d.familyGroup.id = :familyGroupId and c.updatedAt > :since " +
+            "order by c.updatedAt, c.commentId")
+    Stream<CommentSyncData> streamChangedSince(@Param("familyGroupId") Long familyGroupId,
+                                               @Param("since") LocalDateTime since);
+
+    // 댓글 첫 페이지 (작성자 정보 포함, 작성 순)
+    @Query("select new da_ni_ni.backend.daily.dto.CommentDetailData(" +
+            "c.commentId, u.id, coalesce(u.nickName, u.name), coalesce(c.content, '내용 없음'), c.createdAt) " +
+            "from Comment c join c.user u " +
+            "where c.daily.id = :dailyId " +
+            "order by c.createdAt asc, c.commentId asc")
+    List<CommentDetailData> findCommentPage(@Param("dailyId") Long dailyId, Pageable pageable);
+
+    // 커서 (createdAt, commentId) 이후의 댓글 페이지
+    @Query("select new da_ni_ni.backend.daily.dto.CommentDetailData(" +
+            "c.commentId, u.id, coalesce(u.nickName, u.name), coalesce(c.content, '내용 없음'), c.createdAt) " +
+            "from Comment c join c.user u " +
+            "where c.daily.id = :dailyId " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.commentId > :commentId)) " +
+            "order by c.createdAt asc, c.commentId asc")
+    List<CommentDetailData> findCommentPageAfter(@Param("dailyId") Long dailyId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("commentId") Long commentId,
+                                                 Pageable pageable);
+
+    // 게시글의 댓글 일괄 삭제
+    @Modifying
+    @Query("delete from Comment c where c.daily.id = :dailyId")
+    int deleteAllByDailyId(@Param("dailyId") Long dailyId);
 }
@@ -0,0 +1,47 @@
+package da_ni_ni.backend.daily.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class DailyCounterRepository {
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE daily SET like_count = like_count + ?, comment_count = comment_count + ?, updated_at = ? WHERE daily_id = ?";
+    private static final String BUMP_VERSION_SQL_PREFIX =
+            "UPDATE family_group SET feed_version = feed_version + 1 WHERE family_group_id IN " +
+            "(SELECT family_group_id FROM daily WHERE daily_id IN (";
+    private static final int BUMP_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 게시글별 좋아요/댓글 증감분을 한 번의 배치 UPDATE로 반영
+     *
+     * @param deltas daily_id → {좋아요 증감, 댓글 증감}
+     */
+    public void applyDeltas(Map<Long, long[]> deltas) {
+        // 수 변경도 동기화 대상이 되도록 updated_at 갱신
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((dailyId, delta) -> batchArgs.add(new Object[]{delta[0], delta[1], now, dailyId}));
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batchArgs);
+
+        // 수가 바뀐 게시글의 그룹 버전도 올려서, 다른 인스턴스의 ETag(304)가 이전 수를 붙잡고 있지 않게 한다
+        List<Long> dailyIds = new ArrayList<>(deltas.keySet());
+        for (int from = 0; from < dailyIds.size(); from += BUMP_CHUNK_SIZE) {
+            List<Long> chunk = dailyIds.subList(from, Math.min(from + BUMP_CHUNK_SIZE, dailyIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.update(BUMP_VERSION_SQL_PREFIX + placeholders + "))", chunk.toArray());
+        }
+    }
+}
@@ -1,16 +1,60 @@
 package da_ni_ni.backend.daily.repository;
 
 import da_ni_ni.backend.daily.domain.Daily;
+import da_ni_ni.backend.daily.dto.DailyFeedRow;
+import da_ni_ni.backend.daily.dto.DailySourceRow;
+import da_ni_ni.backend.daily.dto.DailySyncData;
 import da_ni_ni.backend.group.domain.FamilyGroup;
 import da_ni_ni.backend.user.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DailyRepository extends JpaRepository<Daily, Long> {
     List<Daily> findDailyByUser(User user);
     List<Daily> findAllByFamilyGroupIdAndDateBetween(Long familyGroupId, LocalDate startDate, LocalDate endDate);
-}
 
+    // 게시글 + 작성자 함께 조회
+    @Query("select d from Daily d join fetch d.user where d.id = :dailyId")
+    Optional<Daily> findWithUserById(@Param("dailyId") Long dailyId);
+
+    // 게시글 단건 삭제 (댓글 컬렉션 cascade 로딩 없이)
+    @Modifying
+    @Query("delete from Daily d where d.id = :dailyId")
+    int deleteDailyById(@Param("dailyId") Long dailyId);
+
+    // 주간 피드: 게시글 + 작성자 닉네임 + 좋아요/댓글 수(카운터 컬럼)를 한 번에 조회
+    @Query("select d.id as dailyId, d.createdAt as createdAt, " +
+            "coalesce(u.nickName, u.name) as authorName, d.content as content, " +
+            "d.likeCount as likeCount, d.commentCount as commentCount " +
+            "from Daily d join d.user u " +
+            "where d.familyGroup.id = :familyGroupId and d.date between :startDate and :endDate")
+    List<DailyFeedRow> findWeeklyFeed(@Param("familyGroupId") Long familyGroupId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
 
+    // 검색 인덱스 적재용 그룹 게시글
+    @Query("select d.id as dailyId, d.date as date, d.content as content " +
+            "from Daily d where d.familyGroup.id = :familyGroupId")
+    List<DailySourceRow> findSearchSources(@Param("familyGroupId") Long familyGroupId);
+
+    // 동기화: since 이후 수정된 그룹 게시글 (목록을 만들지 않고 스트리밍)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("select new da_ni_ni.backend.daily.dto.DailySyncData(d.id, coalesce(u.nickName, u.name), d.content, " +
+            "d.createdAt, d.updatedAt, d.likeCount, d.commentCount) " +
+            "from Daily d join d.user u " +
+            "where d.familyGroup.id = :familyGroupId and d.updatedAt > :since " +
+            "order by d.updatedAt, d.id")
+    Stream<DailySyncData> streamChangedSince(@Param("familyGroupId") Long familyGroupId,
+                                             @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,35 @@
+package da_ni_ni.backend.daily.repository;
+
+import da_ni_ni.backend.daily.domain.DailyTombstone;
+import da_ni_ni.backend.daily.dto.TombstoneData;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface DailyTombstoneRepository extends JpaRepository<DailyTombstone, Long> {
+
+    // 마지막 토큰 이후의 삭제 기록 (id 기준 + 커밋 지연 대비 시각 기준)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("select new da_ni_ni.backend.daily.dto.TombstoneData(t.id, t.type, t.targetId, t.dailyId, t.createdAt) " +
+            "from DailyTombstone t " +
+            "where t.familyGroupId = :familyGroupId and (t.id > :afterId or t.createdAt > :since) " +
+            "order by t.id")
+    Stream<TombstoneData> streamChanges(@Param("familyGroupId") Long familyGroupId,
+                                        @Param("afterId") long afterId,
+                                        @Param("since") LocalDateTime since);
+
+    @Query("select coalesce(max(t.id), 0) from DailyTombstone t where t.familyGroupId = :familyGroupId")
+    long findLastId(@Param("familyGroupId") Long familyGroupId);
+
+    // 보관 기간이 지난 삭제 기록 정리
+    @Modifying
+    @Query("delete from DailyTombstone t where t.createdAt < :before")
+    int deleteAllCreatedBefore(@Param("before") LocalDateTime before);
+}
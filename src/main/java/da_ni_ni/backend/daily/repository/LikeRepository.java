@@ -4,14 +4,39 @@ import da_ni_ni.backend.daily.domain.Daily;
 import da_ni_ni.backend.daily.domain.DailyLike;
 import da_ni_ni.backend.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface LikeRepository extends JpaRepository<DailyLike, Long> {
     List<DailyLike> findAllByDaily(Daily daily);
     boolean existsByDailyAndUser(Daily daily, User user);
+    boolean existsByDailyIdAndUserId(Long dailyId, Long userId);
     Optional<DailyLike> findByDailyAndUser(Daily daily, User user);
     // daily와 연관된 DailyLike 개수 세기
     long countByDaily(Daily daily);
-}
\ No newline at end of file
+
+    // 사용자가 좋아요 누른 게시글 id (주어진 게시글 중에서)
+    @Query("select l.daily.id from DailyLike l where l.user.id = :userId and l.daily.id in :dailyIds")
+    List<Long> findLikedDailyIds(@Param("userId") Long userId, @Param("dailyIds") List<Long> dailyIds);
+
+    // 좋아요 추가 (이미 눌렀으면 유니크 제약에 걸려 아무것도 하지 않음) → 추가된 행 수
+    @Modifying
+    @Query(value = "INSERT INTO daily_like (daily_id, user_id, created_at, updated_at) " +
+            "VALUES (:dailyId, :userId, :now, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("dailyId") Long dailyId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // 좋아요 취소 → 삭제된 행 수
+    @Modifying
+    @Query("delete from DailyLike l where l.daily.id = :dailyId and l.user.id = :userId")
+    int deleteByDailyIdAndUserId(@Param("dailyId") Long dailyId, @Param("userId") Long userId);
+
+    // 게시글의 좋아요 일괄 삭제
+    @Modifying
+    @Query("delete from DailyLike l where l.daily.id = :dailyId")
+    int deleteAllByDailyId(@Param("dailyId") Long dailyId);
+}
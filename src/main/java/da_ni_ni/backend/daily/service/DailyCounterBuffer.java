@@ -0,0 +1,239 @@
+package da_ni_ni.backend.daily.service;
+
+import da_ni_ni.backend.common.AfterCommit;
+import da_ni_ni.backend.daily.repository.DailyCounterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 좋아요/댓글 수 write-behind 버퍼
+ *
+ * 요청 스레드는 daily_id별 LongAdder에 증감분만 더하고,
+ * 스케줄러가 주기적으로 한 번의 배치 UPDATE로 DB에 반영한다 (요청 스레드에서는 flush하지 않는다).
+ * 조회 시에는 아직 반영되지 않은 증감분을 DB 값에 더해서 보여준다.
+ *
+ * flush마다 세대 번호를 붙이고, 반영 중이거나 최근에 커밋된 증감분을 세대별로 잠시 남겨 둔다.
+ * 조회는 DB를 읽기 직전에 stamp()로 커밋된 세대를 받아 두고, 그보다 뒤 세대의 증감분만 더한다.
+ * 그래서 DB 트랜잭션 동안 조회를 막지 않고도, 커밋 전에 읽은 행에는 증감분이 더해지고 커밋 후에 읽은 행에는 더해지지 않는다.
+ * stamp와 DB 읽기 사이에 커밋이 끼면 잠깐 두 번 셀 수 있다 (다음 조회에서 바로잡히고, 덜 세는 경우는 없다).
+ */
+@Slf4j
+@Component
+public class DailyCounterBuffer {
+
+    private static final int STRIPE_COUNT = 16;
+
+    private final DailyCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retainedFlushes;
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 마지막으로 커밋된 flush 세대
+    private volatile long committedGeneration;
+    // 반영 중이거나 최근에 커밋된 증감분 (세대 오름차순, flush 스레드만 새 리스트로 교체한다)
+    private volatile List<Batch> batches = List.of();
+    private long lastGeneration;
+
+    public DailyCounterBuffer(DailyCounterRepository counterRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${daily.counter.retained-flushes:30}") int retainedFlushes) {
+        this.counterRepository = counterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retainedFlushes = retainedFlushes;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // 좋아요 증감 (현재 트랜잭션이 커밋된 뒤 반영)
+    public void addLikes(Long dailyId, long delta) {
+        AfterCommit.run(() -> accumulate(dailyId, delta, 0));
+    }
+
+    // 댓글 증감 (현재 트랜잭션이 커밋된 뒤 반영)
+    public void addComments(Long dailyId, long delta) {
+        AfterCommit.run(() -> accumulate(dailyId, 0, delta));
+    }
+
+    // 삭제된 게시글의 증감분 제거 (현재 트랜잭션이 커밋된 뒤 반영)
+    public void discard(Long dailyId) {
+        AfterCommit.run(() -> stripeOf(dailyId).live.remove(dailyId));
+    }
+
+    // DB 조회 직전에 받아두는 시점 값 (pendingLikes/pendingComments에 그대로 넘긴다)
+    public long stamp() {
+        return committedGeneration;
+    }
+
+    // stamp 시점 이후 DB에 반영된 것으로 볼 수 없는 좋아요 증감분
+    public long pendingLikes(Long dailyId, long stamp) {
+        // 버퍼를 먼저 읽어야 flush가 옮기는 중인 증감분을 놓치지 않는다
+        long pending = likesOf(stripeOf(dailyId).live.get(dailyId));
+        for (Batch batch : batches) {
+            if (batch.generation() > stamp) {
+                pending += likesOf(batch.deltas().get(dailyId));
+            }
+        }
+        return pending;
+    }
+
+    // stamp 시점 이후 DB에 반영된 것으로 볼 수 없는 댓글 증감분
+    public long pendingComments(Long dailyId, long stamp) {
+        long pending = commentsOf(stripeOf(dailyId).live.get(dailyId));
+        for (Batch batch : batches) {
+            if (batch.generation() > stamp) {
+                pending += commentsOf(batch.deltas().get(dailyId));
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 쌓인 증감분을 배치 UPDATE로 반영
+     * 동시에 하나의 flush만 실행되고, 실패하면 증감분을 버퍼에 되돌린다.
+     * DB 작업 동안 조회나 증감을 막지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${daily.counter.flush-interval-ms:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            Batch batch = new Batch(lastGeneration + 1, new ConcurrentHashMap<>());
+            // 조회에 먼저 보이게 한 뒤 버퍼에서 옮긴다
+            publish(batch);
+            drainInto(batch.deltas());
+            if (batch.deltas().isEmpty()) {
+                unpublish(batch);
+                return;
+            }
+            lastGeneration = batch.generation();
+            try {
+                transactionTemplate.executeWithoutResult(status -> counterRepository.applyDeltas(batch.deltas()));
+                committedGeneration = batch.generation();
+                trim();
+            } catch (RuntimeException e) {
+                log.error("[DailyCounterBuffer] 카운터 반영 실패, 다음 주기에 재시도합니다. 대상 게시글 수={}", batch.deltas().size(), e);
+                // 되돌린 뒤에 빼므로 그 사이 조회는 잠깐 두 번 셀 수 있다
+                batch.deltas().forEach((dailyId, delta) -> accumulate(dailyId, delta[0], delta[1]));
+                unpublish(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void accumulate(Long dailyId, long likeDelta, long commentDelta) {
+        Stripe stripe = stripeOf(dailyId);
+        // 읽기 락: 증감끼리는 동시에 진행되고, flush가 맵을 옮기는 순간만 배제된다
+        stripe.lock.readLock().lock();
+        try {
+            Delta delta = stripe.live.computeIfAbsent(dailyId, id -> new Delta());
+            if (likeDelta != 0) {
+                delta.likes.add(likeDelta);
+            }
+            if (commentDelta != 0) {
+                delta.comments.add(commentDelta);
+            }
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 스트라이프별로 합계를 배치에 넣은 뒤 맵을 새 것으로 교체한다
+     * 쓰기 락 동안에는 증감이 없으므로 합계가 고정되고, 넣은 뒤 교체하므로 조회가 증감분을 놓치는 순간이 없다.
+     */
+    private void drainInto(Map<Long, long[]> target) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.writeLock().lock();
+            try {
+                stripe.live.forEach((dailyId, delta) -> {
+                    long likes = delta.likes.sum();
+                    long comments = delta.comments.sum();
+                    if (likes != 0 || comments != 0) {
+                        target.put(dailyId, new long[]{likes, comments});
+                    }
+                });
+                stripe.live = new ConcurrentHashMap<>();
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void publish(Batch batch) {
+        List<Batch> next = new ArrayList<>(batches);
+        next.add(batch);
+        batches = List.copyOf(next);
+    }
+
+    private void unpublish(Batch batch) {
+        List<Batch> next = new ArrayList<>(batches);
+        next.remove(batch);
+        batches = List.copyOf(next);
+    }
+
+    // 커밋된 세대는 최근 retainedFlushes개만 남긴다 (그보다 오래 걸린 조회는 그만큼 덜 셀 수 있다)
+    private void trim() {
+        List<Batch> current = batches;
+        if (current.size() > retainedFlushes) {
+            batches = List.copyOf(current.subList(current.size() - retainedFlushes, current.size()));
+        }
+    }
+
+    private Stripe stripeOf(Long dailyId) {
+        return stripes[(Long.hashCode(dailyId) & 0x7fffffff) % STRIPE_COUNT];
+    }
+
+    private static long likesOf(Delta delta) {
+        return delta == null ? 0 : delta.likes.sum();
+    }
+
+    private static long commentsOf(Delta delta) {
+        return delta == null ? 0 : delta.comments.sum();
+    }
+
+    private static long likesOf(long[] delta) {
+        return delta == null ? 0 : delta[0];
+    }
+
+    private static long commentsOf(long[] delta) {
+        return delta == null ? 0 : delta[1];
+    }
+
+    // 한 번의 flush로 옮긴 증감분 (daily_id → {좋아요 증감, 댓글 증감})
+    private record Batch(long generation, Map<Long, long[]> deltas) {
+    }
+
+    private static final class Stripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile Map<Long, Delta> live = new ConcurrentHashMap<>();
+    }
+
+    private static final class Delta {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder comments = new LongAdder();
+    }
+}
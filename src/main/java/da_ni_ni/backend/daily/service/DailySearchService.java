@@ -0,0 +1,181 @@
+package da_ni_ni.backend.daily.service;
+
+import da_ni_ni.backend.common.AfterCommit;
+import da_ni_ni.backend.daily.dto.CommentSourceRow;
+import da_ni_ni.backend.daily.dto.DailySearchResponse;
+import da_ni_ni.backend.daily.dto.DailySourceRow;
+import da_ni_ni.backend.daily.repository.CommentRepository;
+import da_ni_ni.backend.daily.repository.DailyRepository;
+import da_ni_ni.backend.daily.exception.InvalidDailyRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 가족 그룹별 게시글 검색
+ *
+ * 그룹 인덱스는 처음 검색될 때 DB에서 한 번 적재하고(재기동 후에도 동일),
+ * 이후에는 DailyService의 변경 경로에서 커밋 후 증분으로 갱신한다.
+ * 증분 갱신은 이 인스턴스의 변경만 받으므로, 적재한 지 max-age가 지난 인덱스는 다음 검색 때 DB에서 새로 적재한다
+ * (다른 인스턴스에서 쓴 게시글/댓글은 길어도 max-age 안에 검색된다).
+ * 한동안 검색되지 않은 그룹의 인덱스는 내려놓고, 다시 검색되면 DB에서 새로 적재한다.
+ */
+@Slf4j
+@Service
+public class DailySearchService {
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_RESULT_WINDOW = 1000;
+
+    private final DailyRepository dailyRepository;
+    private final CommentRepository commentRepository;
+    private final Clock clock;
+    private final int maxGroups;
+    private final long idleMillis;
+    private final long maxAgeMillis;
+
+    private record Entry(GroupSearchIndex index, CompletableFuture<Void> loaded, long loadedAt, AtomicLong lastAccessedAt) {
+    }
+
+    private final Map<Long, Entry> indexes = new ConcurrentHashMap<>();
+
+    public DailySearchService(DailyRepository dailyRepository,
+                              CommentRepository commentRepository,
+                              Clock clock,
+                              @Value("${daily.search.max-groups:200}") int maxGroups,
+                              @Value("${daily.search.idle-minutes:30}") long idleMinutes,
+                              @Value("${daily.search.max-age-minutes:5}") long maxAgeMinutes) {
+        this.dailyRepository = dailyRepository;
+        this.commentRepository = commentRepository;
+        this.clock = clock;
+        this.maxGroups = maxGroups;
+        this.idleMillis = idleMinutes * 60_000;
+        this.maxAgeMillis = maxAgeMinutes * 60_000;
+    }
+
+    // 검색 (page는 0부터)
+    public DailySearchResponse search(Long familyGroupId, String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidDailyRequestException("검색어를 입력해주세요.");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = Math.max(page, 0) * pageSize;
+        if (offset + pageSize > MAX_RESULT_WINDOW) {
+            throw new InvalidDailyRequestException("검색 결과는 " + MAX_RESULT_WINDOW + "건까지만 조회할 수 있습니다.");
+        }
+        GroupSearchIndex.Result result = loadedIndex(familyGroupId).search(query, offset, pageSize);
+        return DailySearchResponse.createWith(query, Math.max(page, 0), pageSize, result);
+    }
+
+    // 아래 갱신 메서드는 현재 트랜잭션이 커밋된 뒤 반영되며, 아직 적재되지 않은 그룹은 건너뛴다
+
+    public void dailySaved(Long familyGroupId, Long dailyId, LocalDate date, String content) {
+        update(familyGroupId, index -> index.upsertDaily(dailyId, date, content));
+    }
+
+    public void dailyDeleted(Long familyGroupId, Long dailyId) {
+        update(familyGroupId, index -> index.removeDaily(dailyId));
+    }
+
+    public void commentSaved(Long familyGroupId, Long dailyId, Long commentId, String content) {
+        update(familyGroupId, index -> index.upsertComment(dailyId, commentId, content));
+    }
+
+    public void commentDeleted(Long familyGroupId, Long dailyId, Long commentId) {
+        update(familyGroupId, index -> index.removeComment(dailyId, commentId));
+    }
+
+    private void update(Long familyGroupId, Consumer<GroupSearchIndex> change) {
+        if (familyGroupId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            Entry entry = indexes.get(familyGroupId);
+            if (entry != null) {
+                change.accept(entry.index());
+            }
+        });
+    }
+
+    // 인덱스를 먼저 등록해 적재 중 변경도 받게 한 뒤 DB에서 적재 (같은 그룹의 다른 요청은 적재 완료를 기다린다)
+    private GroupSearchIndex loadedIndex(Long familyGroupId) {
+        long now = clock.millis();
+        Entry current = indexes.get(familyGroupId);
+        if (current != null && isExpired(current, now)) {
+            // 다른 인스턴스의 변경을 받기 위해 새로 적재 (동시에 들어온 요청은 새 항목의 적재를 기다린다)
+            indexes.remove(familyGroupId, current);
+        }
+        Entry created = new Entry(new GroupSearchIndex(), new CompletableFuture<>(), now, new AtomicLong(now));
+        Entry entry = indexes.putIfAbsent(familyGroupId, created);
+        if (entry != null) {
+            entry.lastAccessedAt().set(now);
+        } else {
+            entry = created;
+            if (indexes.size() > maxGroups) {
+                evictOverflow();
+            }
+            try {
+                load(familyGroupId, created.index());
+                created.loaded().complete(null);
+            } catch (RuntimeException e) {
+                indexes.remove(familyGroupId, created);
+                created.loaded().completeExceptionally(e);
+                throw e;
+            }
+        }
+        entry.loaded().join();
+        return entry.index();
+    }
+
+    private void load(Long familyGroupId, GroupSearchIndex index) {
+        long started = System.currentTimeMillis();
+        for (DailySourceRow row : dailyRepository.findSearchSources(familyGroupId)) {
+            index.loadDaily(row.getDailyId(), row.getDate(), row.getContent());
+        }
+        for (CommentSourceRow row : commentRepository.findSearchSources(familyGroupId)) {
+            index.loadComment(row.getDailyId(), row.getCommentId(), row.getContent());
+        }
+        index.finishLoading();
+        log.info("그룹 {} 검색 인덱스 적재: 게시글 {}건, {}ms",
+                familyGroupId, index.size(), System.currentTimeMillis() - started);
+    }
+
+    // 유휴 시간이나 max-age가 지난 그룹 인덱스 정리 (적재 중인 인덱스는 건드리지 않는다)
+    @Scheduled(fixedDelayString = "${daily.search.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = clock.millis();
+        long cutoff = now - idleMillis;
+        indexes.forEach((familyGroupId, entry) -> {
+            if (entry.loaded().isDone() && (entry.lastAccessedAt().get() <= cutoff || isExpired(entry, now))) {
+                indexes.remove(familyGroupId, entry);
+            }
+        });
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return entry.loaded().isDone() && entry.loadedAt() + maxAgeMillis <= now;
+    }
+
+    // 그룹 수가 상한을 넘으면 가장 오래 검색되지 않은 인덱스부터 정리
+    private void evictOverflow() {
+        int overflow = indexes.size() - maxGroups;
+        if (overflow <= 0) {
+            return;
+        }
+        indexes.entrySet().stream()
+                .filter(e -> e.getValue().loaded().isDone())
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccessedAt().get()))
+                .limit(overflow)
+                .toList()
+                .forEach(e -> indexes.remove(e.getKey(), e.getValue()));
+    }
+}
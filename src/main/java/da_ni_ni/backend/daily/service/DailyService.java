@@ -3,37 +3,49 @@ package da_ni_ni.backend.daily.service;
 import da_ni_ni.backend.daily.domain.Comment;
 import da_ni_ni.backend.daily.domain.Daily;
 import da_ni_ni.backend.daily.domain.DailyLike;
+import da_ni_ni.backend.daily.domain.DailyTombstone;
 import da_ni_ni.backend.daily.dto.*;
 import da_ni_ni.backend.daily.exception.CommentNotFoundException;
 import da_ni_ni.backend.daily.exception.DailyNotFoundException;
 import da_ni_ni.backend.daily.exception.LikeNotFoundException;
 import da_ni_ni.backend.daily.repository.CommentRepository;
 import da_ni_ni.backend.daily.repository.DailyRepository;
+import da_ni_ni.backend.daily.repository.DailyTombstoneRepository;
 import da_ni_ni.backend.daily.repository.LikeRepository;
+import da_ni_ni.backend.firebase.NotificationService;
 import da_ni_ni.backend.group.exception.GroupNotFoundException;
 import da_ni_ni.backend.user.domain.User;
 import da_ni_ni.backend.user.exception.UserNotFoundException;
 import da_ni_ni.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class DailyService {
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+
     private final DailyRepository dailyRepository;
     private final UserRepository userRepository;
     private final LikeRepository likeRepository;
     private final CommentRepository commentRepository;
+    private final DailyTombstoneRepository tombstoneRepository;
+    private final DailyCounterBuffer dailyCounterBuffer;
+    private final WeeklyFeedCache weeklyFeedCache;
+    private final DailyVersionStamps dailyVersionStamps;
+    private final DailySearchService dailySearchService;
+    private final NotificationService notificationService;
 
 
     // daily_id로 게시글 조회
@@ -90,6 +102,8 @@ public class DailyService {
                 .familyGroup(user.getFamilyGroup())
                 .build();
         dailyRepository.save(daily);
+        markChanged(daily);
+        dailySearchService.dailySaved(user.getFamilyGroup().getId(), daily.getId(), daily.getDate(), daily.getContent());
         return CreateDailyResponse.createWith(daily);
     }
 
@@ -105,33 +119,31 @@ public class DailyService {
         UpdateDailyData updateDailyData = UpdateDailyData.createWith(request);
         daily.updateDaily(updateDailyData);
         dailyRepository.save(daily);
+        markChanged(daily);
+        dailySearchService.dailySaved(groupIdOf(daily), dailyId, daily.getDate(), daily.getContent());
         return UpdateDailyResponse.createWith(daily);
     }
 
     // 게시글 삭제
+    // 댓글/좋아요는 게시글 단위 bulk DELETE로 지워서 건수와 상관없이 쿼리 수가 일정하다
     public DeleteDailyResponse deleteDaily(Long dailyId, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(UserNotFoundException::new);
         Daily daily = dailyRepository.findById(dailyId)
                 .orElseThrow(DailyNotFoundException::new);
-        if (!daily.getUser().getId().equals(user.getId())) {
+        if (!daily.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("본인의 게시글만 삭제할 수 있습니다.");
         }
 
-        // 게시글에 달린 댓글 삭제 (없어도 상관 없음)
-        List<Comment> comments = findCommentAllByDailyId(dailyId);
-        if (comments != null && !comments.isEmpty()) {
-            commentRepository.deleteAll(comments);
-        }
-
-        // 게시글에 달린 좋아요 삭제 (없어도 상관 없음)
-        List<DailyLike> dailyLikes = findLikeAllByDailyId(dailyId);
-        if (dailyLikes != null && !dailyLikes.isEmpty()) {
-            likeRepository.deleteAll(dailyLikes);
+        likeRepository.deleteAllByDailyId(dailyId);
+        commentRepository.deleteAllByDailyId(dailyId);
+        dailyRepository.deleteDailyById(dailyId);
+        // 동기화 API용 삭제 기록 (댓글은 게시글과 함께 지워진 것으로 처리)
+        if (daily.getFamilyGroup() != null) {
+            tombstoneRepository.save(DailyTombstone.ofDaily(daily));
         }
-
-        // 게시글 삭제
-        dailyRepository.delete(daily);
+        dailyCounterBuffer.discard(dailyId);
+        dailyVersionStamps.forget(dailyId);
+        dailySearchService.dailyDeleted(groupIdOf(daily), dailyId);
+        markChanged(daily);
         return DeleteDailyResponse.createWith(daily);
     }
 
@@ -148,7 +160,10 @@ public class DailyService {
                 .build();
         commentRepository.save(comment);
         // 댓글 + 1
-        daily.setCommentCount(daily.getCommentCount() + 1);
+        dailyCounterBuffer.addComments(dailyId, 1);
+        markChanged(daily);
+        dailySearchService.commentSaved(groupIdOf(daily), dailyId, comment.getCommentId(), comment.getContent());
+        notificationService.sendDailyCommentNotification(comment, daily);
         return CreateCommentResponse.createWith(comment);
     }
 
@@ -165,6 +180,9 @@ public class DailyService {
         UpdateCommentData updateCommentData = UpdateCommentData.createWith(request);
         comment.updateComment(updateCommentData);
         commentRepository.save(comment);
+        // 댓글 내용만 바뀌므로 피드 캐시는 그대로 두고 버전만 올린다
+        dailyVersionStamps.bump(groupIdOf(daily));
+        dailySearchService.commentSaved(groupIdOf(daily), dailyId, commentId, comment.getContent());
 
         return UpdateCommentResponse.createWith(comment);
     }
@@ -188,91 +206,146 @@ public class DailyService {
         }
 
         // 댓글 - 1
-        daily.setCommentCount(daily.getCommentCount() - 1);
+        dailyCounterBuffer.addComments(dailyId, -1);
         commentRepository.delete(comment);
+        if (daily.getFamilyGroup() != null) {
+            tombstoneRepository.save(DailyTombstone.ofComment(daily, comment));
+        }
+        dailySearchService.commentDeleted(groupIdOf(daily), dailyId, commentId);
+        markChanged(daily);
         return DeleteCommentResponse.createWith(comment);
     }
 
     // 좋아요 토글
+    // 추가를 먼저 시도하고, 이미 누른 좋아요라면(유니크 제약 충돌) 삭제한다 → 최대 2개의 쿼리
     public ToggleLikeResponse toggleLike(Long dailyId, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(UserNotFoundException::new);
-        Daily daily = findById(dailyId);
-
-        Optional<DailyLike> existingLike = likeRepository.findByDailyAndUser(daily, user);
-
-        // 좋아요가 이미 존재하면
-        if (existingLike.isPresent()) {
-            DailyLike dailyLike = existingLike.get();
-            // 내가 누른 좋아요일 경우 -> 좋아요 삭제
-            if (dailyLike.getUser().getId().equals(userId)) {
-                likeRepository.delete(dailyLike);
-                // 좋아요 - 1
-                daily.setLikeCount(daily.getLikeCount() - 1);
-                return new ToggleLikeResponse(false);
-            }
-            // 다른 사람이 누른 좋아요일 경우 -> 좋아요 등록
-            else {
-                DailyLike myDailyLike = DailyLike.builder()
-                        .daily(daily)
-                        .user(user)
-                        .build();
-                likeRepository.save(myDailyLike);
-                // 좋아요 + 1
-                daily.setLikeCount(daily.getLikeCount() + 1);
-                return new ToggleLikeResponse(true);
-            }
-
-        } else {
-            // 좋아요가 존재하지 않을 경우 -> 좋아요 등록
-            DailyLike newDailyLike = DailyLike.builder()
-                    .daily(daily)
-                    .user((user))
-                    .build();
-            likeRepository.save(newDailyLike);
+        int inserted;
+        try {
+            inserted = likeRepository.insertIfAbsent(dailyId, userId, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // 존재하지 않는 게시글 (FK 위반)
+            throw new DailyNotFoundException(dailyId);
+        }
+        if (inserted > 0) {
             // 좋아요 + 1
-            daily.setLikeCount(daily.getLikeCount() + 1);
+            dailyCounterBuffer.addLikes(dailyId, 1);
+            likeChanged(dailyId);
             return new ToggleLikeResponse(true);
         }
+
+        int deleted = likeRepository.deleteByDailyIdAndUserId(dailyId, userId);
+        if (deleted > 0) {
+            // 좋아요 - 1
+            dailyCounterBuffer.addLikes(dailyId, -1);
+            likeChanged(dailyId);
+        }
+        return new ToggleLikeResponse(false);
     }
 
-    // 게시글 상세 조회
+    // 게시글 상세 조회 (댓글은 커서 기반 페이지)
     @Transactional(readOnly = true)
-    public FindDailyDetailResponse getDailyDetail(Long dailyId, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(UserNotFoundException::new);
-        Daily daily = dailyRepository.findById(dailyId)
+    public FindDailyDetailResponse getDailyDetail(Long dailyId, Long userId, String cursor, int size) {
+        // 게시글 행을 읽기 전에 받아 두어야 그 뒤에 커밋된 flush를 두 번 세지 않는다
+        long counterStamp = dailyCounterBuffer.stamp();
+        Daily daily = dailyRepository.findWithUserById(dailyId)
                 .orElseThrow(DailyNotFoundException::new);
 
-        List<Comment> comments = commentRepository.findAllByDailyId(dailyId);
-        List<CommentDetailData> commentContents = comments.stream()
-                .map(CommentDetailData::from)
-                .collect(Collectors.toList());
-        boolean liked = likeRepository.existsByDailyAndUser(daily, user);
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        int pageSize = Math.min(Math.max(size, 1), MAX_COMMENT_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<CommentDetailData> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findCommentPage(dailyId, limit);
+        } else {
+            CommentCursor after = CommentCursor.decode(cursor);
+            comments = commentRepository.findCommentPageAfter(dailyId, after.createdAt(), after.commentId(), limit);
+        }
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            nextCursor = CommentCursor.from(comments.get(pageSize - 1)).encode();
+        }
+
+        if (daily.getFamilyGroup() != null) {
+            dailyVersionStamps.remember(dailyId, daily.getFamilyGroup().getId());
+        }
+
+        boolean liked = likeRepository.existsByDailyIdAndUserId(dailyId, userId);
+        // 아직 DB에 반영되지 않은 증감분 포함
+        long likeCount = daily.getLikeCount() + dailyCounterBuffer.pendingLikes(dailyId, counterStamp);
+        long commentCount = daily.getCommentCount() + dailyCounterBuffer.pendingComments(dailyId, counterStamp);
 
-        return FindDailyDetailResponse.createWith(daily, commentContents, liked);
+        return FindDailyDetailResponse.createWith(daily, likeCount, commentCount, comments, nextCursor, liked);
     }
 
     // 주간 게시글 조회
+    // 같은 그룹/같은 주의 피드는 캐시된 응답을 재사용하고, 좋아요 여부만 조회자별로 채운다
+    // feedVersion은 ETag를 만든 그룹 버전이다 (그보다 오래된 캐시 항목은 쓰지 않으므로 본문이 ETag보다 오래되지 않는다)
     @Transactional(readOnly = true)
-    public FindWeekDailyResponse getWeeklyDailies (Long userId, LocalDate date){
+    public FindWeekDailyResponse getWeeklyDailies (Long userId, LocalDate date, long feedVersion){
         User user = userRepository.findById(userId)
                 .orElseThrow(UserNotFoundException::new);
+        if (user.getFamilyGroup() == null) {
+            throw new GroupNotFoundException();
+        }
 
-        LocalDate startDate = date.with(DayOfWeek.MONDAY);
+        WeeklyFeedCache.FeedKey key = WeeklyFeedCache.FeedKey.of(user.getFamilyGroup().getId(), date);
+        FindWeekDailyResponse cached = weeklyFeedCache.get(key, feedVersion);
+        if (cached != null) {
+            return withLikedFlags(cached, userId);
+        }
+        long stamp = weeklyFeedCache.stamp();
+
+        LocalDate startDate = key.weekStart();
         LocalDate endDate = startDate.plusDays(6);
 
-        List<Daily> dailies = dailyRepository.findAllByFamilyGroupIdAndDateBetween(user.getFamilyGroup().getId(), startDate, endDate);
+        // 작성자, 좋아요/댓글 수까지 한 번의 쿼리로 조회 (미반영 증감분 포함)
+        long counterStamp = dailyCounterBuffer.stamp();
+        List<DailySimpleData> dailyList = dailyRepository.findWeeklyFeed(user.getFamilyGroup().getId(), startDate, endDate)
+                .stream()
+                .map(row -> DailySimpleData.createWith(row,
+                        row.getLikeCount() + dailyCounterBuffer.pendingLikes(row.getDailyId(), counterStamp),
+                        row.getCommentCount() + dailyCounterBuffer.pendingComments(row.getDailyId(), counterStamp)))
+                .toList();
+
+        dailyList.forEach(data -> dailyVersionStamps.remember(data.getDailyId(), key.familyGroupId()));
+        FindWeekDailyResponse response = FindWeekDailyResponse.createWith(dailyList);
+        weeklyFeedCache.put(key, stamp, feedVersion, response);
+        return withLikedFlags(response, userId);
+    }
+
+    // 조회자가 좋아요 누른 게시글 표시 (IN 쿼리 한 번 → 정렬된 long 배열에서 이진 탐색)
+    private FindWeekDailyResponse withLikedFlags(FindWeekDailyResponse feed, Long userId) {
+        List<DailySimpleData> dailyList = feed.getDailyList();
+        if (dailyList.isEmpty()) {
+            return feed;
+        }
+        List<Long> dailyIds = dailyList.stream().map(DailySimpleData::getDailyId).toList();
+        long[] likedIds = likeRepository.findLikedDailyIds(userId, dailyIds).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        return FindWeekDailyResponse.createWith(dailyList.stream()
+                .map(data -> data.withLiked(Arrays.binarySearch(likedIds, data.getDailyId()) >= 0))
+                .toList());
+    }
 
-        List<DailySimpleData> dailyList = dailies.stream()
-                .map(daily -> {
-                    long likeCount = likeRepository.countByDaily(daily);
-                    long commentCount = commentRepository.countByDaily(daily);
-                    return DailySimpleData.createWith(daily, likeCount, commentCount);
-                })
-                .collect(Collectors.toList());
+    // 게시글이 속한 주간 피드 캐시 무효화 + 그룹 버전 증가
+    private void markChanged(Daily daily) {
+        if (daily.getFamilyGroup() != null) {
+            weeklyFeedCache.invalidate(daily.getFamilyGroup().getId(), daily.getDate());
+            dailyVersionStamps.bump(daily.getFamilyGroup().getId());
+        }
+    }
+
+    private Long groupIdOf(Daily daily) {
+        return daily.getFamilyGroup() != null ? daily.getFamilyGroup().getId() : null;
+    }
 
-        return FindWeekDailyResponse.createWith(dailyList);
+    // 좋아요는 이 인스턴스의 피드 캐시만 무효화한다
+    // 그룹 버전은 좋아요 수가 flush될 때 함께 올라가므로 토글 트랜잭션에서는 올리지 않는다
+    private void likeChanged(Long dailyId) {
+        weeklyFeedCache.invalidateDaily(dailyId);
     }
 
 }
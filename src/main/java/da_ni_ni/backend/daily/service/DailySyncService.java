@@ -0,0 +1,157 @@
+package da_ni_ni.backend.daily.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import da_ni_ni.backend.common.ScheduledJobLock;
+import da_ni_ni.backend.daily.dto.CommentSyncData;
+import da_ni_ni.backend.daily.dto.DailySyncData;
+import da_ni_ni.backend.daily.dto.SyncToken;
+import da_ni_ni.backend.daily.dto.TombstoneData;
+import da_ni_ni.backend.daily.repository.CommentRepository;
+import da_ni_ni.backend.daily.repository.DailyRepository;
+import da_ni_ni.backend.daily.repository.DailyTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 게시글/댓글/삭제 기록 변경분 동기화
+ *
+ * 토큰의 기준 시각 이후 updatedAt이 바뀐 게시글과 댓글, 그리고 삭제 기록만 내려준다.
+ * 행은 DB 커서에서 읽는 즉시 JSON으로 써서 변경량과 상관없이 메모리를 일정하게 쓴다.
+ */
+@Slf4j
+@Service
+public class DailySyncService {
+
+    // 이 시각 이전의 토큰은 삭제 기록이 정리되었을 수 있으므로 전체 동기화로 돌린다
+    private static final LocalDateTime FULL_SYNC_SINCE = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final String PURGE_LOCK = "daily-tombstone-purge";
+    private static final Duration PURGE_LOCK_AT_MOST = Duration.ofMinutes(30);
+    private static final Duration PURGE_LOCK_AT_LEAST = Duration.ofSeconds(30);
+
+    private final DailyRepository dailyRepository;
+    private final CommentRepository commentRepository;
+    private final DailyTombstoneRepository tombstoneRepository;
+    private final DailyCounterBuffer dailyCounterBuffer;
+    private final ObjectMapper objectMapper;
+    private final ScheduledJobLock scheduledJobLock;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long overlapSeconds;
+    private final long tombstoneRetentionDays;
+
+    public DailySyncService(DailyRepository dailyRepository,
+                            CommentRepository commentRepository,
+                            DailyTombstoneRepository tombstoneRepository,
+                            DailyCounterBuffer dailyCounterBuffer,
+                            ObjectMapper objectMapper,
+                            ScheduledJobLock scheduledJobLock,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${daily.sync.overlap-seconds:5}") long overlapSeconds,
+                            @Value("${daily.sync.tombstone-retention-days:30}") long tombstoneRetentionDays) {
+        this.dailyRepository = dailyRepository;
+        this.commentRepository = commentRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.dailyCounterBuffer = dailyCounterBuffer;
+        this.objectMapper = objectMapper;
+        this.scheduledJobLock = scheduledJobLock;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.overlapSeconds = overlapSeconds;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+    }
+
+    /**
+     * 변경분 응답 본문
+     * 토큰은 여기서 먼저 검증하고(잘못된 토큰은 400), 실제 조회는 응답을 쓰는 시점에 한다.
+     *
+     * 다음 토큰의 기준 시각은 조회 시작 시각보다 조금 이르게 잡는다.
+     * 조회 도중 커밋된 변경이 빠지지 않는 대신, 겹치는 구간의 행은 다음 동기화에 한 번 더 올 수 있다(클라이언트는 id로 덮어쓴다).
+     */
+    public StreamingResponseBody sync(Long familyGroupId, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        SyncToken since = (token == null || token.isBlank()) ? null : SyncToken.decode(token);
+        boolean reset = since == null || since.watermark().isBefore(now.minusDays(tombstoneRetentionDays));
+        LocalDateTime watermark = reset ? FULL_SYNC_SINCE : since.watermark();
+        LocalDateTime nextWatermark = now.minusSeconds(overlapSeconds);
+
+        return outputStream -> readOnlyTransaction.executeWithoutResult(status ->
+                write(outputStream, familyGroupId, reset, watermark, reset ? 0L : since.tombstoneSeq(), nextWatermark));
+    }
+
+    private void write(OutputStream outputStream, Long familyGroupId, boolean reset,
+                       LocalDateTime watermark, long tombstoneSeq, LocalDateTime nextWatermark) {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(outputStream)) {
+            json.writeStartObject();
+            json.writeBooleanField("reset", reset);
+
+            json.writeArrayFieldStart("dailies");
+            long counterStamp = dailyCounterBuffer.stamp();
+            try (Stream<DailySyncData> dailies = dailyRepository.streamChangedSince(familyGroupId, watermark)) {
+                Iterator<DailySyncData> it = dailies.iterator();
+                while (it.hasNext()) {
+                    DailySyncData daily = it.next();
+                    json.writeObject(daily.withPending(
+                            dailyCounterBuffer.pendingLikes(daily.getDailyId(), counterStamp),
+                            dailyCounterBuffer.pendingComments(daily.getDailyId(), counterStamp)));
+                }
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("comments");
+            try (Stream<CommentSyncData> comments = commentRepository.streamChangedSince(familyGroupId, watermark)) {
+                Iterator<CommentSyncData> it = comments.iterator();
+                while (it.hasNext()) {
+                    json.writeObject(it.next());
+                }
+            }
+            json.writeEndArray();
+
+            // 전체 동기화면 클라이언트가 기존 데이터를 버리므로 삭제 기록은 필요 없다
+            long lastTombstoneId = tombstoneSeq;
+            json.writeArrayFieldStart("deleted");
+            if (reset) {
+                lastTombstoneId = tombstoneRepository.findLastId(familyGroupId);
+            } else {
+                try (Stream<TombstoneData> tombstones = tombstoneRepository.streamChanges(familyGroupId, tombstoneSeq, watermark)) {
+                    Iterator<TombstoneData> it = tombstones.iterator();
+                    while (it.hasNext()) {
+                        TombstoneData tombstone = it.next();
+                        lastTombstoneId = Math.max(lastTombstoneId, tombstone.getTombstoneId());
+                        json.writeObject(tombstone);
+                    }
+                }
+            }
+            json.writeEndArray();
+
+            json.writeStringField("next_token", new SyncToken(nextWatermark, lastTombstoneId).encode());
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 보관 기간이 지난 삭제 기록 정리 (매일 새벽 4시, 서울 시간 / 여러 인스턴스 중 한 곳에서만 실행)
+    @Scheduled(cron = "0 0 4 * * *", zone = "Asia/Seoul")
+    public void purgeTombstones() {
+        scheduledJobLock.runLocked(PURGE_LOCK, PURGE_LOCK_AT_MOST, PURGE_LOCK_AT_LEAST, () -> {
+            Integer deleted = transaction.execute(status ->
+                    tombstoneRepository.deleteAllCreatedBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays)));
+            log.info("보관 기간이 지난 삭제 기록 {}건 정리", deleted);
+        });
+    }
+}
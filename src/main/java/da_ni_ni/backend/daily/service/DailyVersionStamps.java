@@ -0,0 +1,81 @@
+package da_ni_ni.backend.daily.service;
+
+import da_ni_ni.backend.group.repository.GroupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가족 그룹별 게시글 버전 스탬프
+ *
+ * 게시글 작성/수정/삭제와 댓글 작성/수정/삭제는 변경한 트랜잭션 안에서 family_group.feed_version을 1씩 올린다.
+ * 좋아요는 토글마다 올리지 않는다 (그룹 행 하나에 좋아요가 줄을 서지 않도록).
+ * 좋아요/댓글 수는 DailyCounterBuffer가 flush 트랜잭션에서 반영하면서 버전을 같이 올리므로, 좋아요도 flush 주기 안에 버전에 반영된다.
+ * 주간 피드/상세 조회 ETag를 이 값으로 만들어서, 바뀐 것이 없으면 본문 조회 없이 304로 응답한다.
+ * 버전은 DB에 있으므로 어느 인스턴스가 바꿨든 모든 인스턴스가 같은 값을 본다.
+ * 그래서 304 판단 전에 PK 조회 한 번은 필요하다 (인스턴스별 메모리 값으로는 다른 인스턴스의 변경을 알 수 없다).
+ */
+@Component
+public class DailyVersionStamps {
+
+    private final GroupRepository groupRepository;
+    // 상세 조회 시 게시글의 그룹을 DB 없이 알기 위한 매핑 (게시글의 그룹은 바뀌지 않는다, 넘치면 비우고 다시 채운다)
+    private final Map<Long, Long> groupByDailyId = new ConcurrentHashMap<>();
+    private final int maxTrackedDailies;
+
+    public DailyVersionStamps(GroupRepository groupRepository,
+                              @Value("${daily.version.max-tracked-dailies:100000}") int maxTrackedDailies) {
+        this.groupRepository = groupRepository;
+        this.maxTrackedDailies = maxTrackedDailies;
+    }
+
+    public long version(Long familyGroupId) {
+        return groupRepository.findFeedVersion(familyGroupId).orElse(0L);
+    }
+
+    // 그룹 버전 증가 (호출한 쪽 트랜잭션 안에서, 롤백되면 함께 되돌아간다)
+    @Transactional
+    public void bump(Long familyGroupId) {
+        if (familyGroupId == null) {
+            return;
+        }
+        groupRepository.bumpFeedVersion(familyGroupId);
+    }
+
+    public void remember(Long dailyId, Long familyGroupId) {
+        if (dailyId == null || familyGroupId == null) {
+            return;
+        }
+        if (groupByDailyId.size() >= maxTrackedDailies) {
+            groupByDailyId.clear();
+        }
+        groupByDailyId.put(dailyId, familyGroupId);
+    }
+
+    // 알고 있는 게시글이면 그룹 id, 아니면 null
+    public Long groupOf(Long dailyId) {
+        return groupByDailyId.get(dailyId);
+    }
+
+    public void forget(Long dailyId) {
+        groupByDailyId.remove(dailyId);
+    }
+
+    // 주간 피드 ETag (조회자별 응답이므로 userId 포함, feedVersion은 본문을 만들 때도 같은 값을 쓴다)
+    public String weeklyFeedTag(long feedVersion, Long familyGroupId, Long userId, LocalDate weekStart) {
+        return "\"w-" + feedVersion + "-" + familyGroupId
+                + "-" + userId + "-" + weekStart + "\"";
+    }
+
+    // 게시글 상세 ETag (댓글 페이지별로 다르므로 cursor/size 포함)
+    public String detailTag(Long familyGroupId, Long dailyId, Long userId, String cursor, int size) {
+        // 커서는 Base64url 문자열이라 그대로 ETag에 넣을 수 있다
+        String cursorPart = (cursor == null || cursor.isBlank()) ? "" : cursor;
+        return "\"d-" + version(familyGroupId) + "-" + dailyId
+                + "-" + userId + "-" + cursorPart + "-" + size + "\"";
+    }
+}
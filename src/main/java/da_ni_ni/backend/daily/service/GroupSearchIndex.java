@@ -0,0 +1,280 @@
+package da_ni_ni.backend.daily.service;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 가족 그룹 하나의 게시글 검색용 역색인 (메모리)
+ *
+ * 게시글 본문과 댓글을 음절 bigram으로 잘라 게시글 단위로 색인한다.
+ * 한국어는 조사가 붙어도("가족이", "가족을") bigram이 겹치므로 형태소 분석 없이도 검색된다.
+ * 점수는 BM25의 tf 포화 + idf 합이며, 본문에 나온 단어는 댓글보다 가중치를 더 준다.
+ *
+ * 처음 만들어진 인덱스는 적재 중 상태다. 적재 중 들어온 변경(upsert/remove)은 DB에서 읽어 온 값(load)보다 우선한다.
+ * 적재 중에는 본문과 댓글만 모아 두고, finishLoading에서 게시글마다 한 번씩 색인한다 (댓글마다 다시 색인하지 않는다).
+ * Spring에 의존하지 않으므로 벤치마크에서 그대로 쓸 수 있다.
+ */
+public class GroupSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final int CONTENT_WEIGHT = 2;
+    private static final int COMMENT_WEIGHT = 1;
+
+    public record Hit(Long dailyId, LocalDate date, String content, double score) {
+    }
+
+    public record Result(long totalCount, List<Hit> hits) {
+    }
+
+    private static final class Doc {
+        private LocalDate date;
+        private String content;
+        private final Map<Long, String> comments = new HashMap<>();
+        private Map<String, Integer> terms = Map.of();
+    }
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+    // bigram → (게시글 id → 가중 빈도)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean loading = true;
+    // 적재 중 모아 두기만 하고 아직 색인하지 않은 게시글
+    private final Set<Long> unindexed = new HashSet<>();
+    private final Set<Long> touchedDailies = new HashSet<>();
+    private final Set<Long> touchedComments = new HashSet<>();
+
+    // 게시글 작성/수정
+    public void upsertDaily(Long dailyId, LocalDate date, String content) {
+        write(() -> {
+            markTouched(touchedDailies, dailyId);
+            putDaily(dailyId, date, content);
+        });
+    }
+
+    // 게시글 삭제 (댓글 포함)
+    public void removeDaily(Long dailyId) {
+        write(() -> {
+            markTouched(touchedDailies, dailyId);
+            unindexed.remove(dailyId);
+            Doc doc = docs.remove(dailyId);
+            if (doc != null) {
+                unindex(dailyId, doc.terms);
+            }
+        });
+    }
+
+    // 댓글 작성/수정
+    public void upsertComment(Long dailyId, Long commentId, String content) {
+        write(() -> {
+            markTouched(touchedComments, commentId);
+            putComment(dailyId, commentId, content);
+        });
+    }
+
+    // 댓글 삭제
+    public void removeComment(Long dailyId, Long commentId) {
+        write(() -> {
+            markTouched(touchedComments, commentId);
+            Doc doc = docs.get(dailyId);
+            if (doc != null && doc.comments.remove(commentId) != null) {
+                reindexOrDefer(dailyId, doc);
+            }
+        });
+    }
+
+    // 적재: 적재 중에 이미 변경된 게시글이면 무시
+    public void loadDaily(Long dailyId, LocalDate date, String content) {
+        write(() -> {
+            if (!touchedDailies.contains(dailyId)) {
+                putDaily(dailyId, date, content);
+            }
+        });
+    }
+
+    // 적재: 적재 중에 이미 변경된 댓글이거나 삭제된 게시글의 댓글이면 무시
+    public void loadComment(Long dailyId, Long commentId, String content) {
+        write(() -> {
+            boolean dailyRemoved = touchedDailies.contains(dailyId) && !docs.containsKey(dailyId);
+            if (!touchedComments.contains(commentId) && !dailyRemoved) {
+                putComment(dailyId, commentId, content);
+            }
+        });
+    }
+
+    // 적재 완료: 모아 둔 게시글을 한 번씩 색인
+    public void finishLoading() {
+        write(() -> {
+            for (Long dailyId : unindexed) {
+                Doc doc = docs.get(dailyId);
+                if (doc != null) {
+                    reindex(dailyId, doc);
+                }
+            }
+            unindexed.clear();
+            loading = false;
+            touchedDailies.clear();
+            touchedComments.clear();
+        });
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색 (점수 내림차순, 같은 점수면 최신 게시글 먼저)
+     * 질의 bigram의 절반 이상이 들어 있는 게시글만 결과에 포함한다.
+     * offset + limit 개만 힙에 유지하므로 결과 전체를 정렬하지 않는다.
+     */
+    public Result search(String query, int offset, int limit) {
+        List<String> grams = tokenize(query).stream().distinct().toList();
+        if (grams.isEmpty() || limit <= 0) {
+            return new Result(0, List.of());
+        }
+        int minMatch = Math.max(1, (grams.size() + 1) / 2);
+        Comparator<Hit> order = Comparator.comparingDouble(Hit::score).thenComparing(Hit::dailyId);
+
+        lock.readLock().lock();
+        try {
+            int docCount = docs.size();
+            Map<Long, double[]> scores = new HashMap<>();
+            for (String gram : grams) {
+                Map<Long, Integer> posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                int df = posting.size();
+                double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+                posting.forEach((dailyId, tf) -> {
+                    double[] score = scores.computeIfAbsent(dailyId, id -> new double[2]);
+                    score[0] += idf * tf * (K1 + 1) / (tf + K1);
+                    score[1]++;
+                });
+            }
+
+            int k = offset + limit;
+            PriorityQueue<Hit> top = new PriorityQueue<>(k + 1, order);
+            long total = 0;
+            for (Map.Entry<Long, double[]> entry : scores.entrySet()) {
+                Doc doc = docs.get(entry.getKey());
+                if (entry.getValue()[1] < minMatch || doc == null || doc.content == null) {
+                    continue;
+                }
+                total++;
+                top.offer(new Hit(entry.getKey(), doc.date, doc.content, entry.getValue()[0]));
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(order.reversed());
+            List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new Result(total, List.copyOf(page));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 음절 bigram 토큰화
+     * NFKC 정규화 + 소문자화 후 글자/숫자 연속 구간마다 2글자씩 자른다 (한 글자 구간은 그대로).
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        List<String> grams = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                addGrams(normalized, start, i, grams);
+                start = -1;
+            }
+        }
+        return grams;
+    }
+
+    private static void addGrams(String text, int start, int end, List<String> grams) {
+        if (end - start == 1) {
+            grams.add(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            grams.add(text.substring(i, i + 2));
+        }
+    }
+
+    private void putDaily(Long dailyId, LocalDate date, String content) {
+        Doc doc = docs.computeIfAbsent(dailyId, id -> new Doc());
+        doc.date = date;
+        doc.content = content;
+        reindexOrDefer(dailyId, doc);
+    }
+
+    private void putComment(Long dailyId, Long commentId, String content) {
+        Doc doc = docs.computeIfAbsent(dailyId, id -> new Doc());
+        doc.comments.put(commentId, content);
+        reindexOrDefer(dailyId, doc);
+    }
+
+    // 적재 중이면 finishLoading까지 미룬다 (적재 전에는 검색되지 않으므로)
+    private void reindexOrDefer(Long dailyId, Doc doc) {
+        if (loading) {
+            unindexed.add(dailyId);
+        } else {
+            reindex(dailyId, doc);
+        }
+    }
+
+    // 게시글 단위로 bigram 빈도를 다시 계산해 색인 교체
+    private void reindex(Long dailyId, Doc doc) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(doc.content).forEach(gram -> terms.merge(gram, CONTENT_WEIGHT, Integer::sum));
+        doc.comments.values().forEach(comment ->
+                tokenize(comment).forEach(gram -> terms.merge(gram, COMMENT_WEIGHT, Integer::sum)));
+
+        unindex(dailyId, doc.terms);
+        terms.forEach((gram, tf) -> postings.computeIfAbsent(gram, g -> new HashMap<>()).put(dailyId, tf));
+        doc.terms = terms;
+    }
+
+    private void unindex(Long dailyId, Map<String, Integer> terms) {
+        for (String gram : terms.keySet()) {
+            Map<Long, Integer> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(dailyId);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void markTouched(Set<Long> touched, Long id) {
+        if (loading) {
+            touched.add(id);
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
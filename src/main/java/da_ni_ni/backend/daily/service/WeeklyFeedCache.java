@@ -0,0 +1,209 @@
+package da_ni_ni.backend.daily.service;
+
+import da_ni_ni.backend.common.AfterCommit;
+import da_ni_ni.backend.daily.dto.DailySimpleData;
+import da_ni_ni.backend.daily.dto.FindWeekDailyResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (가족 그룹, 주) 단위 주간 피드 캐시
+ *
+ * 같은 그룹 구성원은 같은 주간 피드를 보므로 조립된 응답을 그대로 재사용한다.
+ * 항목에는 조회 직전에 읽은 그룹 버전(family_group.feed_version)을 함께 저장하고,
+ * 조회 때 DB 버전이 더 새로우면 쓰지 않는다 (다른 인스턴스에서 바뀐 그룹도 다음 조회에 다시 읽는다).
+ * 같은 인스턴스의 변경은 커밋 직후 해당 (그룹, 주) 항목만 바로 무효화한다.
+ */
+@Component
+public class WeeklyFeedCache {
+
+    public record FeedKey(Long familyGroupId, LocalDate weekStart) {
+        public static FeedKey of(Long familyGroupId, LocalDate date) {
+            return new FeedKey(familyGroupId, date.with(DayOfWeek.MONDAY));
+        }
+    }
+
+    private record Entry(FindWeekDailyResponse response, long feedVersion, long expiresAt) {
+    }
+
+    // 무효화 순번과 무효화된 시각
+    private record Invalidation(long sequence, long at) {
+    }
+
+    private final Clock clock;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Map<FeedKey, Entry> entries = new ConcurrentHashMap<>();
+    // 캐시된 피드에 들어 있는 게시글 → 피드 키 (좋아요 토글처럼 게시글 id만 아는 경우 무효화용)
+    private final Map<Long, FeedKey> keyByDailyId = new ConcurrentHashMap<>();
+    // 키별 마지막 무효화 시점 (조회 중에 무효화되면 오래된 응답을 넣지 않기 위함)
+    private final Map<FeedKey, Invalidation> invalidatedAt = new ConcurrentHashMap<>();
+    // 정리된 무효화 기록 중 가장 큰 순번 (이보다 오래된 stamp의 응답은 저장하지 않는다)
+    private final AtomicLong prunedSequence = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long dailyInvalidatedAt;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public WeeklyFeedCache(Clock clock,
+                           MeterRegistry meterRegistry,
+                           @Value("${daily.feed-cache.max-size:1000}") int maxSize,
+                           @Value("${daily.feed-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.clock = clock;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.hits = Counter.builder("daily.feed.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("daily.feed.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("daily.feed.cache.evictions").register(meterRegistry);
+        Gauge.builder("daily.feed.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    // 캐시 조회 (없거나 만료되었거나 그룹 버전이 feedVersion보다 오래되었으면 null)
+    public FindWeekDailyResponse get(FeedKey key, long feedVersion) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAt() <= clock.millis() || entry.feedVersion() < feedVersion) {
+            if (entry != null) {
+                remove(key);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response();
+    }
+
+    // DB 조회 직전에 받아두는 시점 값 (put에 그대로 넘긴다)
+    public long stamp() {
+        return sequence.get();
+    }
+
+    /**
+     * 조립한 피드 저장
+     * feedVersion은 피드를 DB에서 읽기 전에 받아 둔 그룹 버전이다 (응답은 적어도 그 버전만큼 새롭다).
+     * stamp 이후에 같은 키(또는 위치를 모르는 게시글)가 무효화되었다면 오래된 응답일 수 있으므로 저장하지 않는다.
+     */
+    public void put(FeedKey key, long stamp, long feedVersion, FindWeekDailyResponse response) {
+        invalidatedAt.compute(key, (k, at) -> {
+            if ((at == null || at.sequence() <= stamp)
+                    && dailyInvalidatedAt <= stamp
+                    && prunedSequence.get() <= stamp) {
+                entries.put(k, new Entry(response, feedVersion, clock.millis() + ttlMillis));
+                for (DailySimpleData daily : response.getDailyList()) {
+                    keyByDailyId.put(daily.getDailyId(), k);
+                }
+            }
+            return at;
+        });
+        if (entries.size() > maxSize) {
+            evictOverflow();
+        }
+    }
+
+    // 그룹의 해당 날짜가 속한 주 무효화 (현재 트랜잭션이 커밋된 뒤 반영)
+    public void invalidate(Long familyGroupId, LocalDate date) {
+        if (familyGroupId == null || date == null) {
+            return;
+        }
+        FeedKey key = FeedKey.of(familyGroupId, date);
+        AfterCommit.run(() -> invalidateNow(key));
+    }
+
+    // 게시글이 속한 피드 무효화 (현재 트랜잭션이 커밋된 뒤 반영)
+    public void invalidateDaily(Long dailyId) {
+        AfterCommit.run(() -> {
+            // 위치를 모르는 게시글도 있으므로 진행 중인 조회는 먼저 모두 무효 처리한다
+            dailyInvalidatedAt = sequence.incrementAndGet();
+            FeedKey key = keyByDailyId.get(dailyId);
+            if (key != null) {
+                invalidateNow(key);
+            }
+        });
+    }
+
+    private void invalidateNow(FeedKey key) {
+        invalidatedAt.put(key, new Invalidation(sequence.incrementAndGet(), clock.millis()));
+        remove(key);
+        if (invalidatedAt.size() > maxSize) {
+            pruneInvalidations();
+        }
+    }
+
+    /**
+     * 무효화 기록 정리
+     * TTL보다 오래된 기록부터 지우고, 그래도 넘치면 순번이 오래된 기록부터 지운다.
+     * 지운 기록의 순번은 prunedSequence로 올려 두므로 그 이전에 시작한 조회 결과는 여전히 저장되지 않는다.
+     */
+    private void pruneInvalidations() {
+        long cutoff = clock.millis() - ttlMillis;
+        invalidatedAt.forEach((key, at) -> {
+            if (at.at() <= cutoff) {
+                dropInvalidation(key, at);
+            }
+        });
+        int overflow = invalidatedAt.size() - maxSize;
+        if (overflow <= 0) {
+            return;
+        }
+        invalidatedAt.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().sequence()))
+                .limit(overflow)
+                .toList()
+                .forEach(e -> dropInvalidation(e.getKey(), e.getValue()));
+    }
+
+    private void dropInvalidation(FeedKey key, Invalidation at) {
+        // 순번을 먼저 올려야 기록이 사라지는 사이에 오래된 응답이 들어오지 않는다
+        prunedSequence.accumulateAndGet(at.sequence(), Math::max);
+        invalidatedAt.remove(key, at);
+    }
+
+    private void remove(FeedKey key) {
+        Entry removed = entries.remove(key);
+        if (removed == null) {
+            return;
+        }
+        for (DailySimpleData daily : removed.response().getDailyList()) {
+            keyByDailyId.remove(daily.getDailyId(), key);
+        }
+    }
+
+    // 만료된 항목부터 지우고, 그래도 넘치면 가장 먼저 만료될 항목부터 제거
+    private void evictOverflow() {
+        pruneInvalidations();
+        long now = clock.millis();
+        entries.forEach((key, entry) -> {
+            if (entry.expiresAt() <= now) {
+                remove(key);
+                evictions.increment();
+            }
+        });
+        int overflow = entries.size() - maxSize;
+        if (overflow <= 0) {
+            return;
+        }
+        List<FeedKey> oldest = entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList();
+        oldest.forEach(key -> {
+            remove(key);
+            evictions.increment();
+        });
+    }
+}
@@ -1,9 +1,11 @@
 package da_ni_ni.backend.emotion.service;
 
 import da_ni_ni.backend.emotion.domain.Emotion;
+import da_ni_ni.backend.emotion.domain.EmotionType;
 import da_ni_ni.backend.emotion.dto.*;
 import da_ni_ni.backend.emotion.exception.EmotionNotFoundException;
 import da_ni_ni.backend.emotion.repository.EmotionRepository;
+import da_ni_ni.backend.firebase.NotificationService;
 import da_ni_ni.backend.group.domain.FamilyGroup;
 import da_ni_ni.backend.group.dto.UpdateGroupNameData;
 import da_ni_ni.backend.group.dto.UpdateGroupNameRequest;
@@ -30,6 +32,7 @@ public class EmotionService {
     private final EmotionRepository emotionRepository;
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
+    private final NotificationService notificationService;
 
     // 감정 생성
     public CreateEmotionResponse addEmotion(CreateEmotionRequest request, Long userId) {
@@ -73,10 +76,16 @@ public class EmotionService {
             throw new IllegalArgumentException("본인의 감정만 수정할 수 있습니다.");
         }
         UpdateEmotionData updateEmotionData = UpdateEmotionData.createWith(request);
+        EmotionType previousType = emotion.getEmotionType();
         emotion.updateType(updateEmotionData);
         if (updateEmotionData.hasNickname()) {
             user.updateNickname(updateEmotionData.getNickName());
         }
+        // 감정이 실제로 바뀐 경우에만 그룹원에게 알림
+        EmotionType newType = emotion.getEmotionType();
+        if (previousType != null && newType != null && previousType != newType) {
+            notificationService.sendEmotionChangeNotification(user, previousType.getEmoji(), newType.getEmoji());
+        }
         return UpdateEmotionResponse.createWith(emotion);
     }
 
@@ -0,0 +1,162 @@
+package da_ni_ni.backend.firebase;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 만료된 FCM 토큰 정리
+ *
+ * 전송 응답(단일 전송 예외, 멀티캐스트 토큰별 응답)에서 UNREGISTERED 토큰을 모아 두었다가,
+ * 주기마다 batchSize개씩 UPDATE users SET fcm_token = NULL WHERE fcm_token IN (...) 으로 지운다.
+ * 그 사이 사용자가 새 토큰을 등록했다면 값이 달라 지워지지 않는다.
+ * 모아 둔 토큰은 인스턴스 메모리에만 있으므로 maxPending을 넘으면 더 받지 않는다 (다음 전송에서 다시 걸러짐).
+ * 중간에 DB 갱신이 실패하면 아직 지우지 못한 토큰은 다시 모아 두고 다음 주기에 시도한다.
+ */
+@Slf4j
+@Component
+public class FcmTokenPruner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GroupTokenRegistry groupTokenRegistry;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxPending;
+    private final Set<String> pending = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    public FcmTokenPruner(JdbcTemplate jdbcTemplate,
+                          GroupTokenRegistry groupTokenRegistry,
+                          MeterRegistry meterRegistry,
+                          @Value("${notification.token-prune.batch-size:500}") int batchSize,
+                          @Value("${notification.token-prune.max-pending:100000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.groupTokenRegistry = groupTokenRegistry;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        meterRegistry.gauge("notification.tokens.prune.pending", pending, Set::size);
+    }
+
+    /** 단일 기기 전송이 실패했을 때 */
+    public void collect(String token, Throwable failure) {
+        if (token != null && isUnregistered(failure)) {
+            add(token);
+        }
+    }
+
+    /** 멀티캐스트 응답 (토큰별 결과는 tokens와 같은 순서) */
+    public void collect(List<String> tokens, BatchResponse response) {
+        if (response == null || response.getFailureCount() == 0) {
+            return;
+        }
+        // 나눠 보낸 결과는 토큰을 함께 들고 있다
+        if (response instanceof MulticastReport report) {
+            report.results().forEach(result -> collect(result.token(), result.error()));
+            return;
+        }
+        List<SendResponse> responses = response.getResponses();
+        for (int i = 0; i < responses.size() && i < tokens.size(); i++) {
+            if (!responses.get(i).isSuccessful() && isUnregistered(responses.get(i).getException())) {
+                add(tokens.get(i));
+            }
+        }
+    }
+
+    /** 발송 대기열/아웃박스의 전송 결과 (result는 메시지 ID 또는 BatchResponse) */
+    public void collect(NotificationCommand command, Object result, Throwable failure) {
+        switch (command.type()) {
+            case TOKEN -> collect(command.target(), failure);
+            case MULTICAST -> {
+                if (result instanceof BatchResponse batch) {
+                    collect(command.tokens(), batch);
+                }
+            }
+            case TOPIC -> {
+                // 토픽은 기기 토큰이 없다
+            }
+        }
+    }
+
+    /**
+     * 모아 둔 토큰을 사용자에게서 지운다
+     *
+     * @return 토큰이 지워진 사용자 수
+     */
+    @Scheduled(fixedDelayString = "${notification.token-prune.interval-ms:60000}")
+    public int prune() {
+        List<String> tokens;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            tokens = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        int cleared = 0;
+        int processed = 0;
+        try {
+            while (processed < tokens.size()) {
+                List<String> chunk = tokens.subList(processed, Math.min(processed + batchSize, tokens.size()));
+                String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                cleared += jdbcTemplate.update(
+                        "UPDATE users SET fcm_token = NULL WHERE fcm_token IN (" + placeholders + ")", chunk.toArray());
+                processed += chunk.size();
+            }
+        } catch (RuntimeException e) {
+            requeue(tokens.subList(processed, tokens.size()));
+            log.warn("만료된 FCM 토큰 정리 중단, {}개는 다음 주기에 다시 시도: {}", tokens.size() - processed, e.getMessage());
+        }
+        if (processed > 0) {
+            groupTokenRegistry.removeTokens(tokens.subList(0, processed));
+        }
+        meterRegistry.counter("notification.tokens.pruned").increment(cleared);
+        log.info("만료된 FCM 토큰 정리: 수집 {}개 중 {}개 처리, 사용자 {}명에서 해제", tokens.size(), processed, cleared);
+        return cleared;
+    }
+
+    // 지우지 못한 토큰을 다시 모아 둔다 (그 사이 새로 모인 토큰과 합쳐 maxPending까지만)
+    private void requeue(List<String> tokens) {
+        synchronized (pending) {
+            for (String token : tokens) {
+                if (pending.size() >= maxPending) {
+                    return;
+                }
+                pending.add(token);
+            }
+        }
+    }
+
+    private void add(String token) {
+        synchronized (pending) {
+            if (pending.size() < maxPending) {
+                pending.add(token);
+            }
+        }
+    }
+
+    private static boolean isUnregistered(Throwable failure) {
+        return failure instanceof FirebaseMessagingException e
+                && e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED;
+    }
+
+    // 종료 전에 남은 토큰을 정리한다
+    @PreDestroy
+    public void shutdown() {
+        try {
+            prune();
+        } catch (RuntimeException e) {
+            log.warn("종료 중 FCM 토큰 정리 실패: {}", e.getMessage());
+        }
+    }
+}
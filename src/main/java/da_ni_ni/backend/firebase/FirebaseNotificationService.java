@@ -17,9 +17,13 @@ import java.util.concurrent.ExecutionException;
 public class FirebaseNotificationService {
 
     private final FirebaseMessaging firebaseMessaging;
+    private final FcmTokenPruner fcmTokenPruner;
+    private final MulticastFanOut multicastFanOut;
 
     /**
-     * 단일 기기로 알림 메시지 전송
+     * 단일 기기로 알림 메시지 전송 (결과를 기다림)
+     * 메시지 ID가 필요한 호출용이며, 전송은 sendNotificationAsync 한 번으로만 한다.
+     * 일반 발송 경로는 NotificationDispatcher가 sendNotificationAsync를 직접 쓴다.
      *
      * @param token 사용자 FCM 토큰
      * @param title 알림 제목
@@ -28,52 +32,22 @@ public class FirebaseNotificationService {
      * @return 메시지 ID
      */
     public String sendNotification(String token, String title, String body, Map<String, String> data) {
-        log.info("[FirebaseNotificationService.sendNotification] 진입 → token={}, title={}, body={}, data={}",
-                token, title, body, data);
-
         if (token == null || token.isEmpty()) {
             log.warn("유효하지 않은 FCM 토큰: {}", token);
             return null;
         }
 
-        // 1) Message 객체 생성
-        Message message = Message.builder()
-                .setNotification(Notification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .build())
-                .putAllData(data)
-                .setToken(token)
-                .build();
-
-        // 2) 우선 비동기(sendAsync) 시도
-        try {
-            ApiFuture<String> future = firebaseMessaging.sendAsync(message);
-
-            // sendAsync(...)가 모킹되어 null이 아니면 get()을 호출해 결과를 바로 리턴
-            if (future != null) {
-                String asyncResponse = future.get();
-                log.info("Async 알림 전송 성공: {}", asyncResponse);
-                return asyncResponse;
-            }
-        } catch (ExecutionException | InterruptedException e) {
-            // 비동기 도중 예외가 발생하면, 이어서 동기 방식으로 전환
-            log.warn("Async sendAsync 중 예외 발생: {}", e.getMessage());
-            // (InterruptedException이 섞였을 때 스레드를 리셋해야 할 경우엔 아래처럼:)
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-            }
-        }
-
-        // 3) 비동기(sendAsync)가 null을 반환하거나 get()에서 예외가 발생했을 때 동기 send() 시도
         try {
-            String syncResponse = firebaseMessaging.send(message);
-            log.info("Sync 알림 전송 성공: {}", syncResponse);
-            return syncResponse;
-        } catch (FirebaseMessagingException e) {
-            // 동기 send()에서 예외(FirebaseMessagingException)가 발생하면 RuntimeException으로 래핑
-            log.error("동기 send 중 FirebaseMessagingException 발생: {}", e.getMessage());
-            throw new RuntimeException(e);
+            String messageId = sendNotificationAsync(token, title, body, data).get();
+            log.info("알림 전송 성공: {}", messageId);
+            return messageId;
+        } catch (ExecutionException e) {
+            log.error("알림 전송 중 오류 발생: {}", e.getCause().getMessage());
+            fcmTokenPruner.collect(token, e.getCause());
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("알림 전송 결과를 기다리는 중 인터럽트되었습니다.", e);
         }
     }
 
@@ -105,41 +79,82 @@ public class FirebaseNotificationService {
             return null;
         }
 
+        // 500개씩 나눠 보내고 토큰별 결과를 하나로 모은다
+        MulticastReport report;
         try {
-            MulticastMessage message = MulticastMessage.builder()
-                    .setNotification(Notification.builder()
-                            .setTitle(title)
-                            .setBody(body)
-                            .build())
-                    .putAllData(data)
-                    .addAllTokens(validTokens)
-                    .build();
+            report = multicastFanOut.send(validTokens, title, body, data).get();
+        } catch (ExecutionException e) {
+            log.error("Multicast 알림 전송 중 오류 발생: ", e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Multicast 알림 전송 중 인터럽트 발생");
+            return null;
+        }
+        log.info("Multicast 알림 전송 결과: 성공: {}, 실패: {} (묶음 {}개 중 {}개 실패)",
+                report.getSuccessCount(), report.getFailureCount(), report.chunks(), report.failedChunks());
 
-            BatchResponse response = firebaseMessaging.sendMulticast(message);
-            log.info("Multicast 알림 전송 결과: 성공: {}, 실패: {}",
-                    response.getSuccessCount(), response.getFailureCount());
-
-            if (response.getFailureCount() > 0) {
-                List<SendResponse> responses = response.getResponses();
-                for (int i = 0; i < responses.size(); i++) {
-                    if (!responses.get(i).isSuccessful()) {
-                        FirebaseMessagingException e = responses.get(i).getException();
-                        log.error("토큰 [{}]에 대한 알림 전송 실패: {}", validTokens.get(i), e.getMessage());
-
-                        // 만료된 토큰인 경우 처리
-                        if (e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
-                            log.warn("FCM 토큰이 더 이상 유효하지 않습니다: {}", validTokens.get(i));
-                            // 필요시 만료된 토큰 처리 로직 추가
-                        }
-                    }
+        if (report.getFailureCount() > 0) {
+            for (MulticastReport.Result result : report.results()) {
+                if (result.isSuccessful()) {
+                    continue;
                 }
-            }
+                log.error("토큰 [{}]에 대한 알림 전송 실패: {}", result.token(), result.error().getMessage());
 
-            return response;
-        } catch (FirebaseMessagingException e) {
-            log.error("Multicast 알림 전송 중 오류 발생: ", e);
-            return null;
+                // 만료된 토큰인 경우 처리
+                if (result.error() instanceof FirebaseMessagingException e
+                        && e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
+                    log.warn("FCM 토큰이 더 이상 유효하지 않습니다: {}", result.token());
+                }
+            }
+            // 만료된 토큰은 모아 두었다가 주기적으로 사용자에게서 지운다
+            fcmTokenPruner.collect(validTokens, report);
         }
+
+        return report;
+    }
+
+    /**
+     * 단일 기기로 알림 메시지 비동기 전송 (호출 스레드를 막지 않음)
+     *
+     * @return 메시지 ID를 담은 ApiFuture
+     */
+    public ApiFuture<String> sendNotificationAsync(String token, String title, String body, Map<String, String> data) {
+        Message message = Message.builder()
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .putAllData(data)
+                .setToken(token)
+                .build();
+        return firebaseMessaging.sendAsync(message);
+    }
+
+    /**
+     * 여러 기기로 동일한 알림 메시지 비동기 전송 (500개씩 나눠 보내고 토큰별 결과를 하나로 모음)
+     *
+     * @return 토큰 순서대로 결과를 담은 MulticastReport의 ApiFuture
+     */
+    public ApiFuture<MulticastReport> sendMulticastAsync(List<String> tokens, String title, String body, Map<String, String> data) {
+        return multicastFanOut.send(tokens, title, body, data);
+    }
+
+    /**
+     * 토픽에 알림 메시지 비동기 전송
+     *
+     * @return 메시지 ID를 담은 ApiFuture
+     */
+    public ApiFuture<String> sendToTopicAsync(String topic, String title, String body, Map<String, String> data) {
+        Message message = Message.builder()
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .putAllData(data)
+                .setTopic(topic)
+                .build();
+        return firebaseMessaging.sendAsync(message);
     }
 
     /**
@@ -0,0 +1,161 @@
+package da_ni_ni.backend.firebase;
+
+import da_ni_ni.backend.common.AfterCommit;
+import da_ni_ni.backend.common.SingleFlight;
+import da_ni_ni.backend.user.dto.MemberTokenRow;
+import da_ni_ni.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가족 그룹별 FCM 토큰 (그룹 id → userId → 토큰)
+ *
+ * 알림을 보낼 때마다 구성원을 다시 읽지 않도록 그룹 단위로 처음 쓸 때 한 번 읽어 들고 있는다.
+ * 토큰 등록, 가입 승인, 만료 토큰 정리가 커밋되면 들고 있는 그룹에 바로 반영한다.
+ * 다른 인스턴스에서 바뀐 토큰은 ttl이 지나 다시 읽을 때 반영된다.
+ * ttl이 지난 그룹은 주기적으로 내려놓아, 한동안 알림이 없는 그룹의 토큰을 계속 들고 있지 않는다.
+ */
+@Slf4j
+@Component
+public class GroupTokenRegistry {
+
+    // tokenByUserId가 null이면 적재 중인 자리표시
+    private record Entry(Map<Long, String> tokenByUserId, Instant loadedAt) {
+    }
+
+    private final UserRepository userRepo;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Counter loads;
+
+    private final Map<Long, Entry> groups = new ConcurrentHashMap<>();
+    private final SingleFlight<Long, Map<Long, String>> groupLoads = new SingleFlight<>();
+
+    public GroupTokenRegistry(UserRepository userRepo,
+                              Clock clock,
+                              MeterRegistry meterRegistry,
+                              @Value("${notification.token-registry.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepo = userRepo;
+        this.clock = clock;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.loads = meterRegistry.counter("notification.token_registry.loads");
+    }
+
+    /** 그룹 구성원의 토큰 (userId → 토큰, 토큰이 없는 구성원은 빠짐) */
+    public Map<Long, String> tokens(Long familyGroupId) {
+        Entry entry = groups.get(familyGroupId);
+        if (isFresh(entry)) {
+            return entry.tokenByUserId();
+        }
+        // 같은 그룹의 동시 적재는 한 번으로 합치고, 조회는 맵 잠금 밖에서 한다
+        return groupLoads.execute(familyGroupId, () -> loadAndCache(familyGroupId));
+    }
+
+    /** excludedUserId(알림을 일으킨 본인)를 뺀 구성원 토큰 */
+    public List<String> tokensExcept(Long familyGroupId, Long excludedUserId) {
+        List<String> tokens = new ArrayList<>();
+        tokens(familyGroupId).forEach((userId, token) -> {
+            if (!userId.equals(excludedUserId)) {
+                tokens.add(token);
+            }
+        });
+        return tokens;
+    }
+
+    /**
+     * 구성원 토큰 등록/변경/가입 (현재 트랜잭션이 커밋된 뒤 반영, 들고 있지 않은 그룹은 다음에 읽을 때 반영)
+     * token이 null이거나 비어 있으면 구성원 토큰을 지운다.
+     */
+    public void updateToken(Long familyGroupId, Long userId, String token) {
+        AfterCommit.run(() -> groups.computeIfPresent(familyGroupId, (k, old) -> {
+            if (old.tokenByUserId() == null) {
+                // 적재 중이면 자리표시를 지워, 변경 전 값을 읽었을 수 있는 적재 결과가 들어가지 않게 한다
+                return null;
+            }
+            Map<Long, String> tokens = new HashMap<>(old.tokenByUserId());
+            if (token == null || token.isEmpty()) {
+                tokens.remove(userId);
+            } else {
+                tokens.put(userId, token);
+            }
+            return new Entry(Map.copyOf(tokens), old.loadedAt());
+        }));
+    }
+
+    /** 만료된 토큰을 모든 그룹에서 지운다 (DB에서 지운 뒤 호출) */
+    public void removeTokens(Collection<String> expired) {
+        Set<String> expiredSet = Set.copyOf(expired);
+        for (Long groupId : groups.keySet()) {
+            groups.computeIfPresent(groupId, (k, old) -> {
+                if (old.tokenByUserId() == null) {
+                    return null;
+                }
+                if (old.tokenByUserId().values().stream().noneMatch(expiredSet::contains)) {
+                    return old;
+                }
+                Map<Long, String> tokens = new HashMap<>(old.tokenByUserId());
+                tokens.values().removeIf(expiredSet::contains);
+                return new Entry(Map.copyOf(tokens), old.loadedAt());
+            });
+        }
+    }
+
+    // ttl이 지난 그룹 정리 (적재 중인 자리표시는 적재한 쪽이 정리한다)
+    @Scheduled(fixedDelayString = "${notification.token-registry.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        groups.forEach((groupId, entry) -> {
+            if (entry.tokenByUserId() != null && !isFresh(entry)) {
+                groups.remove(groupId, entry);
+            }
+        });
+    }
+
+    private boolean isFresh(Entry entry) {
+        return entry != null
+                && entry.tokenByUserId() != null
+                && clock.instant().isBefore(entry.loadedAt().plus(ttl));
+    }
+
+    /**
+     * 자리표시를 먼저 넣고 DB에서 읽은 뒤, 자리표시가 그대로일 때만 결과로 바꾼다
+     * 읽는 도중 토큰 변경/정리가 들어오면 자리표시가 지워지므로, 읽은 값은 이번 호출에만 쓰고 들고 있지 않는다.
+     */
+    private Map<Long, String> loadAndCache(Long familyGroupId) {
+        Entry current = groups.get(familyGroupId);
+        if (isFresh(current)) {
+            return current.tokenByUserId();
+        }
+        Entry loading = new Entry(null, clock.instant());
+        groups.put(familyGroupId, loading);
+        Map<Long, String> tokens;
+        try {
+            tokens = load(familyGroupId);
+        } catch (RuntimeException e) {
+            groups.remove(familyGroupId, loading);
+            throw e;
+        }
+        groups.replace(familyGroupId, loading, new Entry(tokens, clock.instant()));
+        return tokens;
+    }
+
+    private Map<Long, String> load(Long familyGroupId) {
+        loads.increment();
+        Map<Long, String> tokens = new HashMap<>();
+        for (MemberTokenRow row : userRepo.findMemberTokens(familyGroupId)) {
+            if (row.getFcmToken() != null && !row.getFcmToken().isEmpty()) {
+                tokens.put(row.getUserId(), row.getFcmToken());
+            }
+        }
+        return Map.copyOf(tokens);
+    }
+}
@@ -0,0 +1,187 @@
+package da_ni_ni.backend.firebase;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 멀티캐스트 나눠 보내기
+ *
+ * FCM 멀티캐스트는 한 번에 토큰 500개까지만 받으므로, 토큰을 chunkSize(최대 500)개씩 묶어 sendEachForMulticastAsync로 보낸다.
+ * 한 번의 발송에서 동시에 진행하는 묶음은 maxConcurrentChunks개로 제한하고, 묶음이 끝날 때마다 다음 묶음을 시작한다.
+ * 호출 스레드는 기다리지 않으며, 모든 묶음이 끝나면 토큰별 결과를 MulticastReport 하나로 모아 돌려준다.
+ */
+@Slf4j
+@Component
+public class MulticastFanOut {
+
+    public static final int MAX_TOKENS_PER_MULTICAST = 500;
+
+    private final FirebaseMessaging firebaseMessaging;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int maxConcurrentChunks;
+
+    public MulticastFanOut(FirebaseMessaging firebaseMessaging,
+                           MeterRegistry meterRegistry,
+                           @Value("${notification.fanout.chunk-size:500}") int chunkSize,
+                           @Value("${notification.fanout.max-concurrent-chunks:4}") int maxConcurrentChunks) {
+        this.firebaseMessaging = firebaseMessaging;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, Math.min(chunkSize, MAX_TOKENS_PER_MULTICAST));
+        this.maxConcurrentChunks = Math.max(1, maxConcurrentChunks);
+    }
+
+    /**
+     * tokens 전체에 같은 알림을 보낸다 (비어 있는 토큰은 건너뜀)
+     *
+     * @return 모든 묶음이 끝나면 완료되는 ApiFuture (묶음이 실패해도 실패로 끝나지 않고 결과에 담긴다)
+     */
+    public ApiFuture<MulticastReport> send(List<String> tokens, String title, String body, Map<String, String> data) {
+        List<String> validTokens = tokens.stream()
+                .filter(token -> token != null && !token.isEmpty())
+                .toList();
+        if (validTokens.isEmpty()) {
+            return ApiFutures.immediateFuture(MulticastReport.empty());
+        }
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < validTokens.size(); from += chunkSize) {
+            chunks.add(validTokens.subList(from, Math.min(from + chunkSize, validTokens.size())));
+        }
+        FanOut fanOut = new FanOut(chunks, title, body, data);
+        fanOut.start();
+        return fanOut.result;
+    }
+
+    // 한 번의 발송 상태 (묶음별 결과는 BatchResponse 또는 Throwable)
+    private final class FanOut {
+        private final List<List<String>> chunks;
+        private final String title;
+        private final String body;
+        private final Map<String, String> data;
+        private final AtomicReferenceArray<Object> outcomes;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final SettableApiFuture<MulticastReport> result = SettableApiFuture.create();
+
+        FanOut(List<List<String>> chunks, String title, String body, Map<String, String> data) {
+            this.chunks = chunks;
+            this.title = title;
+            this.body = body;
+            this.data = data;
+            this.outcomes = new AtomicReferenceArray<>(chunks.size());
+            this.remaining = new AtomicInteger(chunks.size());
+        }
+
+        void start() {
+            for (int i = 0; i < Math.min(maxConcurrentChunks, chunks.size()); i++) {
+                launchNext();
+            }
+        }
+
+        private void launchNext() {
+            int index = next.getAndIncrement();
+            if (index >= chunks.size()) {
+                return;
+            }
+            ApiFuture<BatchResponse> future;
+            try {
+                future = firebaseMessaging.sendEachForMulticastAsync(message(chunks.get(index)));
+                if (future == null) {
+                    throw new IllegalStateException("전송 결과(ApiFuture)가 없습니다.");
+                }
+            } catch (RuntimeException e) {
+                done(index, e);
+                return;
+            }
+            ApiFutures.addCallback(future, new ApiFutureCallback<BatchResponse>() {
+                @Override
+                public void onSuccess(BatchResponse response) {
+                    done(index, response);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    done(index, t);
+                }
+            }, MoreExecutors.directExecutor());
+        }
+
+        private MulticastMessage message(List<String> chunk) {
+            return MulticastMessage.builder()
+                    .setNotification(Notification.builder()
+                            .setTitle(title)
+                            .setBody(body)
+                            .build())
+                    .putAllData(data)
+                    .addAllTokens(chunk)
+                    .build();
+        }
+
+        private void done(int index, Object outcome) {
+            outcomes.set(index, outcome);
+            boolean failed = outcome instanceof Throwable;
+            meterRegistry.counter("notification.fanout.chunks", "outcome", failed ? "failure" : "success").increment();
+            if (failed) {
+                log.error("멀티캐스트 묶음 {}/{} 전송 실패: {}", index + 1, chunks.size(), ((Throwable) outcome).getMessage());
+            }
+            launchNext();
+            if (remaining.decrementAndGet() == 0) {
+                try {
+                    result.set(report());
+                } catch (RuntimeException e) {
+                    result.setException(e);
+                }
+            }
+        }
+
+        private MulticastReport report() {
+            List<MulticastReport.Result> results = new ArrayList<>();
+            List<SendResponse> responses = new ArrayList<>();
+            int failedChunks = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                List<String> chunk = chunks.get(i);
+                Object outcome = outcomes.get(i);
+                if (outcome instanceof BatchResponse batch) {
+                    List<SendResponse> chunkResponses = batch.getResponses();
+                    for (int j = 0; j < chunk.size(); j++) {
+                        SendResponse response = j < chunkResponses.size() ? chunkResponses.get(j) : null;
+                        if (response == null) {
+                            results.add(new MulticastReport.Result(chunk.get(j), null,
+                                    new IllegalStateException("토큰별 응답이 없습니다.")));
+                            continue;
+                        }
+                        responses.add(response);
+                        results.add(response.isSuccessful()
+                                ? new MulticastReport.Result(chunk.get(j), response.getMessageId(), null)
+                                : new MulticastReport.Result(chunk.get(j), null, response.getException()));
+                    }
+                } else {
+                    failedChunks++;
+                    Throwable failure = (Throwable) outcome;
+                    for (String token : chunk) {
+                        results.add(new MulticastReport.Result(token, null, failure));
+                    }
+                }
+            }
+            return new MulticastReport(List.copyOf(results), List.copyOf(responses), chunks.size(), failedChunks);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package da_ni_ni.backend.firebase;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.SendResponse;
+
+import java.util.List;
+
+/**
+ * 나눠 보낸 멀티캐스트의 결과를 토큰 하나당 한 건으로 모은 것
+ *
+ * results는 요청한 토큰 순서와 같고, 묶음 전체가 실패한 토큰도 그 예외와 함께 들어 있다.
+ * BatchResponse로도 쓸 수 있지만, getResponses()에는 FCM이 응답한 묶음의 토큰만 들어 있다 (토큰 순서로 보려면 results 사용).
+ */
+public record MulticastReport(
+        List<Result> results,
+        List<SendResponse> responses,
+        int chunks,
+        int failedChunks
+) implements BatchResponse {
+
+    /** 토큰 하나의 결과 (성공이면 messageId, 실패면 error) */
+    public record Result(String token, String messageId, Throwable error) {
+        public boolean isSuccessful() {
+            return error == null;
+        }
+    }
+
+    public static MulticastReport empty() {
+        return new MulticastReport(List.of(), List.of(), 0, 0);
+    }
+
+    @Override
+    public List<SendResponse> getResponses() {
+        return responses;
+    }
+
+    @Override
+    public int getSuccessCount() {
+        return (int) results.stream().filter(Result::isSuccessful).count();
+    }
+
+    @Override
+    public int getFailureCount() {
+        return results.size() - getSuccessCount();
+    }
+}
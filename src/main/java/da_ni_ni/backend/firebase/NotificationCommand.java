@@ -0,0 +1,33 @@
+package da_ni_ni.backend.firebase;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 발송 대기열에 넣는 알림 한 건
+ * TOKEN: 기기 하나(target), MULTICAST: 여러 기기(tokens), TOPIC: 토픽 구독자 전체(target)
+ */
+public record NotificationCommand(
+        Type type,
+        String target,
+        List<String> tokens,
+        String title,
+        String body,
+        Map<String, String> data
+) {
+    public enum Type {
+        TOKEN, MULTICAST, TOPIC
+    }
+
+    public static NotificationCommand toToken(String token, String title, String body, Map<String, String> data) {
+        return new NotificationCommand(Type.TOKEN, token, List.of(), title, body, Map.copyOf(data));
+    }
+
+    public static NotificationCommand toTokens(List<String> tokens, String title, String body, Map<String, String> data) {
+        return new NotificationCommand(Type.MULTICAST, null, List.copyOf(tokens), title, body, Map.copyOf(data));
+    }
+
+    public static NotificationCommand toTopic(String topic, String title, String body, Map<String, String> data) {
+        return new NotificationCommand(Type.TOPIC, topic, List.of(), title, body, Map.copyOf(data));
+    }
+}
@@ -0,0 +1,228 @@
+package da_ni_ni.backend.firebase;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 알림 발송 파이프라인
+ *
+ * 호출한 쪽은 NotificationCommand를 고정 크기 대기열에 넣고 바로 돌아간다 (FCM 응답을 기다리지 않음).
+ * 전용 워커 스레드가 대기열을 비우며 비동기 전송(ApiFuture)에 콜백만 걸고, 동시에 진행 중인 전송 수는 maxInFlight로 제한한다.
+ * 전송이 밀리면 대기열이 차고, 찬 대기열은 overflowPolicy에 따라 처리한다.
+ * - REJECT_NEW: 새 알림을 버린다
+ * - DROP_OLDEST: 가장 오래된 알림을 버리고 새 알림을 넣는다 (기본값)
+ * - WAIT: enqueueTimeoutMs 동안 자리가 나기를 기다리고, 그래도 없으면 새 알림을 버린다
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+
+    public enum OverflowPolicy {
+        REJECT_NEW, DROP_OLDEST, WAIT
+    }
+
+    private record Envelope(NotificationCommand command, long enqueuedAt) {
+    }
+
+    private final FirebaseNotificationService firebaseNotificationService;
+    private final FcmTokenPruner fcmTokenPruner;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<Envelope> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long enqueueTimeoutMs;
+    private final Semaphore inFlight;
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final int workerCount;
+    private final ExecutorService workers;
+    private volatile boolean running = true;
+
+    public NotificationDispatcher(FirebaseNotificationService firebaseNotificationService,
+                                  FcmTokenPruner fcmTokenPruner,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.dispatch.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${notification.dispatch.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                                  @Value("${notification.dispatch.enqueue-timeout-ms:50}") long enqueueTimeoutMs,
+                                  @Value("${notification.dispatch.workers:2}") int workerCount,
+                                  @Value("${notification.dispatch.max-in-flight:64}") int maxInFlight) {
+        this.firebaseNotificationService = firebaseNotificationService;
+        this.fcmTokenPruner = fcmTokenPruner;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.workerCount = workerCount;
+
+        meterRegistry.gauge("notification.dispatch.queue.depth", queue, BlockingQueue::size);
+        meterRegistry.gauge("notification.dispatch.in_flight", inFlightCount);
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatch-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 워커는 빈 생성이 끝난 뒤에 시작한다 (생성 중인 객체를 다른 스레드에 넘기지 않도록)
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drain);
+        }
+    }
+
+    /**
+     * 알림을 대기열에 넣는다
+     *
+     * @return 대기열에 들어갔으면 true, 넘쳐서 버려졌으면 false
+     */
+    public boolean enqueue(NotificationCommand command) {
+        if (!running) {
+            dropped(command, "shutdown");
+            return false;
+        }
+        Envelope envelope = new Envelope(command, System.nanoTime());
+        boolean accepted = switch (overflowPolicy) {
+            case REJECT_NEW -> queue.offer(envelope);
+            case DROP_OLDEST -> offerDroppingOldest(envelope);
+            case WAIT -> offerWaiting(envelope);
+        };
+        if (accepted) {
+            meterRegistry.counter("notification.dispatch.enqueued", "type", command.type().name()).increment();
+        } else {
+            dropped(command, "rejected");
+        }
+        return accepted;
+    }
+
+    /** 대기 중인 알림 수 */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private boolean offerDroppingOldest(Envelope envelope) {
+        while (!queue.offer(envelope)) {
+            Envelope oldest = queue.poll();
+            if (oldest != null) {
+                dropped(oldest.command(), "evicted");
+            }
+        }
+        return true;
+    }
+
+    private boolean offerWaiting(Envelope envelope) {
+        try {
+            return queue.offer(envelope, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 워커: 대기열에서 꺼내 비동기 전송을 시작하고 콜백만 건다
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Envelope envelope = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (envelope == null) {
+                    continue;
+                }
+                inFlight.acquire();
+                dispatch(envelope);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void dispatch(Envelope envelope) {
+        NotificationCommand command = envelope.command();
+        inFlightCount.incrementAndGet();
+        ApiFuture<?> future;
+        try {
+            future = send(command);
+            if (future == null) {
+                throw new IllegalStateException("전송 결과(ApiFuture)가 없습니다.");
+            }
+        } catch (RuntimeException e) {
+            completed(envelope, e);
+            return;
+        }
+        ApiFutures.addCallback(future, new ApiFutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object result) {
+                fcmTokenPruner.collect(command, result, null);
+                completed(envelope, null);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                fcmTokenPruner.collect(command, null, t);
+                completed(envelope, t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private ApiFuture<?> send(NotificationCommand command) {
+        return switch (command.type()) {
+            case TOKEN -> firebaseNotificationService.sendNotificationAsync(
+                    command.target(), command.title(), command.body(), command.data());
+            case MULTICAST -> firebaseNotificationService.sendMulticastAsync(
+                    command.tokens(), command.title(), command.body(), command.data());
+            case TOPIC -> firebaseNotificationService.sendToTopicAsync(
+                    command.target(), command.title(), command.body(), command.data());
+        };
+    }
+
+    private void completed(Envelope envelope, Throwable failure) {
+        inFlightCount.decrementAndGet();
+        inFlight.release();
+        String type = envelope.command().type().name();
+        String outcome = failure == null ? "success" : "failure";
+        Timer.builder("notification.dispatch.latency")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - envelope.enqueuedAt(), TimeUnit.NANOSECONDS);
+        if (failure == null) {
+            meterRegistry.counter("notification.dispatch.sent", "type", type).increment();
+        } else {
+            meterRegistry.counter("notification.dispatch.failed", "type", type).increment();
+            log.error("알림 전송 실패 ({}): {}", type, failure.getMessage());
+        }
+    }
+
+    private void dropped(NotificationCommand command, String reason) {
+        meterRegistry.counter("notification.dispatch.dropped", "type", command.type().name(), "reason", reason).increment();
+        log.warn("알림을 보내지 못하고 버립니다 ({}, {})", command.type(), reason);
+    }
+
+    // 종료 시 남은 알림을 잠시 더 보내고, 그래도 남으면 버린다
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        List<Envelope> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(envelope -> dropped(envelope.command(), "shutdown"));
+    }
+}
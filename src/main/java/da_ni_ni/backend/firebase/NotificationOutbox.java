@@ -0,0 +1,48 @@
+package da_ni_ni.backend.firebase;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import da_ni_ni.backend.common.AfterCommit;
+import da_ni_ni.backend.qna.service.TodayQuestionHolder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * 알림 아웃박스
+ *
+ * 알림을 일으킨 변경(댓글, 답변, 감정, 가입 요청)과 같은 트랜잭션에서 알림을 한 행으로 남긴다.
+ * 변경이 롤백되면 알림도 남지 않고, 커밋되면 FCM이 잠시 죽어 있어도 릴레이가 재시도해 결국 보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationOutboxRelay relay;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    /**
+     * 알림을 아웃박스에 쌓는다 (호출한 쪽 트랜잭션 안에서)
+     * 커밋되면 릴레이를 바로 깨워, 다음 주기를 기다리지 않고 보낸다.
+     */
+    @Transactional
+    public void append(NotificationCommand command) {
+        LocalDateTime now = LocalDateTime.now(clock.withZone(TodayQuestionHolder.ZONE));
+        String tokensJson = command.tokens().isEmpty() ? null : toJson(command.tokens());
+        outboxRepository.save(NotificationOutboxMessage.pending(command, tokensJson, toJson(command.data()), now));
+        AfterCommit.run(relay::wakeUp);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
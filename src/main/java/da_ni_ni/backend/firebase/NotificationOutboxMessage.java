@@ -0,0 +1,101 @@
+package da_ni_ni.backend.firebase;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 아웃박스 한 행
+ *
+ * 알림을 일으킨 트랜잭션 안에서 PENDING으로 쌓이고, 릴레이가 가져갈 때 SENDING(임대 lockedUntil, claimToken)으로 바뀐다.
+ * 전송 결과에 따라 SENT, 다시 PENDING(nextAttemptAt까지 대기), DEAD(재시도 포기) 중 하나가 된다.
+ * 임대가 끝나도록 SENDING이면 릴레이가 죽은 것으로 보고 다시 가져간다.
+ */
+@Entity
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_notification_outbox_status_next", columnList = "status, next_attempt_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationOutboxMessage {
+
+    public enum Status {
+        PENDING, SENDING, SENT, DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 20, nullable = false)
+    private NotificationCommand.Type type;
+
+    @Column(name = "target")
+    private String target;
+
+    @Column(name = "tokens_json", columnDefinition = "TEXT")
+    private String tokensJson;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "body", columnDefinition = "TEXT", nullable = false)
+    private String body;
+
+    @Column(name = "data_json", columnDefinition = "TEXT")
+    private String dataJson;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public static NotificationOutboxMessage pending(NotificationCommand command, String tokensJson, String dataJson,
+                                                    LocalDateTime now) {
+        NotificationOutboxMessage message = new NotificationOutboxMessage();
+        message.type = command.type();
+        message.target = command.target();
+        message.tokensJson = tokensJson;
+        message.title = command.title();
+        message.body = command.body();
+        message.dataJson = dataJson;
+        message.status = Status.PENDING;
+        message.nextAttemptAt = now;
+        message.createdAt = now;
+        message.updatedAt = now;
+        return message;
+    }
+
+    // 릴레이가 가져감 (시도 횟수는 전송 전에 올려, 전송 중 죽어도 횟수에 들어가게 한다)
+    public void claim(String claimToken, LocalDateTime lockedUntil, LocalDateTime now) {
+        this.status = Status.SENDING;
+        this.claimToken = claimToken;
+        this.lockedUntil = lockedUntil;
+        this.attempts++;
+        this.updatedAt = now;
+    }
+}
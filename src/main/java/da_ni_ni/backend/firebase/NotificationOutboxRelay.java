@@ -0,0 +1,365 @@
+package da_ni_ni.backend.firebase;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFuture;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import da_ni_ni.backend.qna.service.TodayQuestionHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 아웃박스 릴레이
+ *
+ * 1) 보낼 차례가 된 행을 batchSize개 잠가(FOR UPDATE SKIP LOCKED) SENDING으로 바꾸고 바로 커밋한다.
+ *    여러 인스턴스가 동시에 돌아도 같은 행을 가져가지 않고, FCM을 기다리는 동안 DB 잠금을 잡고 있지 않는다.
+ * 2) 가져온 알림을 한꺼번에 비동기 전송하고 sendTimeoutMs 안에서 결과를 기다린다.
+ * 3) 결과를 claimToken 조건으로 기록한다: SENT / 재시도(지수 백오프 + 지터) / DEAD(maxAttempts 도달 또는 영구 오류).
+ *    멀티캐스트가 일부 기기에서만 일시 오류로 실패하면, 그 토큰만 남겨 같은 행을 다시 보낸다.
+ * 전송 후 기록 전에 죽으면 임대가 끝난 뒤 다시 보내므로 "최소 한 번" 전달이다.
+ *
+ * 폴링은 전용 스레드 하나에서만 돌고, 주기(pollIntervalMs)마다 또는 아웃박스에 쌓인 트랜잭션이 커밋될 때 깨어난다.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxRelay {
+
+    // 다시 보내도 성공할 수 없는 오류 (토큰 만료, 잘못된 메시지)
+    private static final Set<MessagingErrorCode> PERMANENT_ERRORS = EnumSet.of(
+            MessagingErrorCode.UNREGISTERED,
+            MessagingErrorCode.INVALID_ARGUMENT,
+            MessagingErrorCode.SENDER_ID_MISMATCH);
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final TypeReference<List<String>> TOKENS_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<Map<String, String>> DATA_TYPE = new TypeReference<>() {
+    };
+
+    private record Claimed(Long id, String claimToken, int attempts, NotificationCommand command) {
+    }
+
+    // retryTokens: 멀티캐스트에서 다시 보낼 토큰 (null이면 행의 토큰을 그대로 둔다)
+    private record Outcome(Claimed claimed, Throwable failure, boolean permanent, List<String> retryTokens) {
+        Outcome(Claimed claimed, Throwable failure, boolean permanent) {
+            this(claimed, failure, permanent, null);
+        }
+
+        static Outcome sent(Claimed claimed) {
+            return new Outcome(claimed, null, false);
+        }
+    }
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final FirebaseNotificationService firebaseNotificationService;
+    private final FcmTokenPruner fcmTokenPruner;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final long sendTimeoutMs;
+    private final int maxAttempts;
+    private final long backoffBaseSeconds;
+    private final long backoffMaxSeconds;
+    private final int retentionDays;
+    private final ExecutorService poller = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+                                   FirebaseNotificationService firebaseNotificationService,
+                                   FcmTokenPruner fcmTokenPruner,
+                                   ObjectMapper objectMapper,
+                                   Clock clock,
+                                   MeterRegistry meterRegistry,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${notification.outbox.batch-size:100}") int batchSize,
+                                   @Value("${notification.outbox.lease-seconds:60}") long leaseSeconds,
+                                   @Value("${notification.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                                   @Value("${notification.outbox.max-attempts:8}") int maxAttempts,
+                                   @Value("${notification.outbox.backoff-base-seconds:10}") long backoffBaseSeconds,
+                                   @Value("${notification.outbox.backoff-max-seconds:3600}") long backoffMaxSeconds,
+                                   @Value("${notification.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.firebaseNotificationService = firebaseNotificationService;
+        this.fcmTokenPruner = fcmTokenPruner;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseSeconds = backoffBaseSeconds;
+        this.backoffMaxSeconds = backoffMaxSeconds;
+        this.retentionDays = retentionDays;
+    }
+
+    /** 주기적으로 릴레이를 깨운다 (커밋 직후 깨우기를 놓쳤거나 재시도 시각이 된 행을 보냄) */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /** 폴링 스레드에 한 바퀴를 요청한다 (이미 요청이 걸려 있으면 합쳐짐) */
+    public void wakeUp() {
+        if (!wakeRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            poller.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            wakeRequested.set(false);
+        }
+    }
+
+    // 보낼 행이 batchSize보다 적게 나올 때까지 반복
+    private void drain() {
+        wakeRequested.set(false);
+        try {
+            while (relayBatch() >= batchSize) {
+                if (poller.isShutdown()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("아웃박스 릴레이 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // 한 묶음을 가져와 보내고 결과를 기록한다 → 가져온 행 수
+    int relayBatch() {
+        String claimToken = UUID.randomUUID().toString();
+        List<Claimed> claimed = transaction.execute(status -> {
+            LocalDateTime now = now();
+            List<NotificationOutboxMessage> rows = outboxRepository.findClaimable(now, batchSize);
+            List<Claimed> result = new ArrayList<>(rows.size());
+            for (NotificationOutboxMessage row : rows) {
+                row.claim(claimToken, now.plusSeconds(leaseSeconds), now);
+                result.add(new Claimed(row.getId(), claimToken, row.getAttempts(), toCommand(row)));
+            }
+            return result;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        // 한꺼번에 보내고 나서 결과를 모은다
+        List<ApiFuture<?>> futures = new ArrayList<>(claimed.size());
+        for (Claimed c : claimed) {
+            futures.add(send(c.command()));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<Outcome> outcomes = new ArrayList<>(claimed.size());
+        for (int i = 0; i < claimed.size(); i++) {
+            outcomes.add(await(claimed.get(i), futures.get(i), deadline));
+        }
+
+        transaction.executeWithoutResult(status -> outcomes.forEach(this::record));
+        return claimed.size();
+    }
+
+    // 전송을 시작한다 (payload를 읽지 못했거나 바로 실패하면 null)
+    private ApiFuture<?> send(NotificationCommand command) {
+        if (command == null) {
+            return null;
+        }
+        try {
+            return switch (command.type()) {
+                case TOKEN -> firebaseNotificationService.sendNotificationAsync(
+                        command.target(), command.title(), command.body(), command.data());
+                case MULTICAST -> firebaseNotificationService.sendMulticastAsync(
+                        command.tokens(), command.title(), command.body(), command.data());
+                case TOPIC -> firebaseNotificationService.sendToTopicAsync(
+                        command.target(), command.title(), command.body(), command.data());
+            };
+        } catch (RuntimeException e) {
+            log.warn("아웃박스 알림 전송 시작 실패 ({}): {}", command.type(), e.getMessage());
+            return null;
+        }
+    }
+
+    private Outcome await(Claimed claimed, ApiFuture<?> future, long deadline) {
+        if (claimed.command() == null) {
+            return new Outcome(claimed, new IllegalStateException("알림 내용을 읽을 수 없습니다."), true);
+        }
+        if (future == null) {
+            return new Outcome(claimed, new IllegalStateException("전송을 시작하지 못했습니다."), false);
+        }
+        try {
+            Object result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            fcmTokenPruner.collect(claimed.command(), result, null);
+            if (result instanceof MulticastReport report) {
+                return ofMulticast(claimed, report);
+            }
+            return Outcome.sent(claimed);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            fcmTokenPruner.collect(claimed.command(), null, cause);
+            return new Outcome(claimed, cause, isPermanent(cause));
+        } catch (TimeoutException e) {
+            return new Outcome(claimed, e, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Outcome(claimed, e, false);
+        }
+    }
+
+    /**
+     * 멀티캐스트 결과
+     * 일시 오류로 실패한 토큰이 있으면 그 토큰만 다시 보낸다 (이미 받은 기기에는 다시 보내지 않음).
+     * 영구 오류 토큰은 다시 보내지 않으며, 모든 토큰이 영구 오류로 실패했을 때만 DEAD로 본다.
+     */
+    private Outcome ofMulticast(Claimed claimed, MulticastReport report) {
+        List<String> retryTokens = new ArrayList<>();
+        Throwable firstRetryable = null;
+        Throwable firstPermanent = null;
+        for (MulticastReport.Result result : report.results()) {
+            if (result.isSuccessful()) {
+                continue;
+            }
+            if (isPermanent(result.error())) {
+                if (firstPermanent == null) {
+                    firstPermanent = result.error();
+                }
+                continue;
+            }
+            retryTokens.add(result.token());
+            if (firstRetryable == null) {
+                firstRetryable = result.error();
+            }
+        }
+        if (!retryTokens.isEmpty()) {
+            return new Outcome(claimed, firstRetryable, false, retryTokens);
+        }
+        if (report.getSuccessCount() == 0 && firstPermanent != null) {
+            return new Outcome(claimed, firstPermanent, true);
+        }
+        return Outcome.sent(claimed);
+    }
+
+    private static boolean isPermanent(Throwable failure) {
+        return failure instanceof FirebaseMessagingException e
+                && PERMANENT_ERRORS.contains(e.getMessagingErrorCode());
+    }
+
+    private void record(Outcome outcome) {
+        Claimed claimed = outcome.claimed();
+        String type = claimed.command() == null ? "UNKNOWN" : claimed.command().type().name();
+        LocalDateTime now = now();
+        if (outcome.failure() == null) {
+            outboxRepository.markDone(claimed.id(), claimed.claimToken(), NotificationOutboxMessage.Status.SENT, now);
+            meterRegistry.counter("notification.outbox.sent", "type", type).increment();
+            return;
+        }
+
+        String error = errorOf(outcome.failure());
+        if (outcome.permanent() || claimed.attempts() >= maxAttempts) {
+            markFailed(outcome, NotificationOutboxMessage.Status.DEAD, now, error, now);
+            meterRegistry.counter("notification.outbox.dead", "type", type).increment();
+            log.error("아웃박스 알림 {} 재시도 포기 ({}회 시도): {}", claimed.id(), claimed.attempts(), error);
+            return;
+        }
+        LocalDateTime nextAttemptAt = now.plusSeconds(backoffSeconds(claimed.attempts()));
+        markFailed(outcome, NotificationOutboxMessage.Status.PENDING, nextAttemptAt, error, now);
+        meterRegistry.counter("notification.outbox.retried", "type", type).increment();
+        if (outcome.retryTokens() != null) {
+            log.warn("아웃박스 알림 {} 일부 기기 전송 실패 ({}회 시도), {}개 기기에 {}에 다시 보냄: {}", claimed.id(),
+                    claimed.attempts(), outcome.retryTokens().size(), nextAttemptAt, error);
+            return;
+        }
+        log.warn("아웃박스 알림 {} 전송 실패 ({}회 시도), {}에 다시 보냄: {}", claimed.id(), claimed.attempts(),
+                nextAttemptAt, error);
+    }
+
+    // 다시 보낼 토큰이 정해졌으면 행의 토큰도 그것으로 바꾼다 (DEAD면 받지 못한 기기 기록용)
+    private void markFailed(Outcome outcome, NotificationOutboxMessage.Status status, LocalDateTime nextAttemptAt,
+                            String error, LocalDateTime now) {
+        Claimed claimed = outcome.claimed();
+        if (outcome.retryTokens() == null) {
+            outboxRepository.markFailed(claimed.id(), claimed.claimToken(), status, nextAttemptAt, error, now);
+            return;
+        }
+        outboxRepository.markFailedWithTokens(claimed.id(), claimed.claimToken(), status,
+                toJson(outcome.retryTokens()), nextAttemptAt, error, now);
+    }
+
+    // base * 2^(attempts-1)을 max로 자르고, 그 절반~전체 사이에서 무작위로 고른다 (재시도가 한꺼번에 몰리지 않게)
+    private long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(Math.max(attempts - 1, 0), 20);
+        delay = Math.min(delay, backoffMaxSeconds);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /**
+     * 매일 오전 3시 40분(서울 시간)에 호출.
+     * 보관 기간이 지난 SENT 행을 지운다 (DEAD 행은 확인용으로 남겨 둔다).
+     */
+    @Scheduled(cron = "0 40 3 * * *", zone = "Asia/Seoul")
+    public void purgeSent() {
+        LocalDateTime before = now().minusDays(retentionDays);
+        Integer deleted = transaction.execute(status ->
+                outboxRepository.deleteByStatusBefore(NotificationOutboxMessage.Status.SENT, before));
+        log.info("아웃박스 정리 ({} 이전 SENT): {}건", before, deleted);
+    }
+
+    private NotificationCommand toCommand(NotificationOutboxMessage row) {
+        try {
+            List<String> tokens = row.getTokensJson() == null
+                    ? List.of()
+                    : objectMapper.readValue(row.getTokensJson(), TOKENS_TYPE);
+            Map<String, String> data = row.getDataJson() == null
+                    ? Map.of()
+                    : objectMapper.readValue(row.getDataJson(), DATA_TYPE);
+            return new NotificationCommand(row.getType(), row.getTarget(), tokens, row.getTitle(), row.getBody(), data);
+        } catch (JsonProcessingException e) {
+            log.error("아웃박스 알림 {} 내용을 읽을 수 없습니다: {}", row.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String toJson(List<String> tokens) {
+        try {
+            return objectMapper.writeValueAsString(tokens);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String errorOf(Throwable failure) {
+        String message = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock.withZone(TodayQuestionHolder.ZONE));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        poller.shutdown();
+        if (!poller.awaitTermination(sendTimeoutMs + 5000, TimeUnit.MILLISECONDS)) {
+            poller.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package da_ni_ni.backend.firebase;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxMessage, Long> {
+
+    // 보낼 차례가 된 행 + 임대가 끝난 SENDING 행 (다른 릴레이가 잠근 행은 건너뛴다)
+    @Query(value = "SELECT * FROM notification_outbox " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+            "OR (status = 'SENDING' AND locked_until <= :now) " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutboxMessage> findClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 아래 갱신은 모두 claimToken이 같을 때만 (임대가 끝나 다른 릴레이가 다시 가져간 행은 건드리지 않음)
+    @Modifying
+    @Query("update NotificationOutboxMessage m set m.status = :status, m.lockedUntil = null, m.updatedAt = :now " +
+            "where m.id = :id and m.claimToken = :claimToken")
+    int markDone(@Param("id") Long id,
+                 @Param("claimToken") String claimToken,
+                 @Param("status") NotificationOutboxMessage.Status status,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update NotificationOutboxMessage m set m.status = :status, m.nextAttemptAt = :nextAttemptAt, " +
+            "m.lockedUntil = null, m.lastError = :error, m.updatedAt = :now " +
+            "where m.id = :id and m.claimToken = :claimToken")
+    int markFailed(@Param("id") Long id,
+                   @Param("claimToken") String claimToken,
+                   @Param("status") NotificationOutboxMessage.Status status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error,
+                   @Param("now") LocalDateTime now);
+
+    // 멀티캐스트 일부 실패: 다시 보낼 토큰만 남기고 상태를 바꾼다
+    @Modifying
+    @Query("update NotificationOutboxMessage m set m.status = :status, m.tokensJson = :tokensJson, " +
+            "m.nextAttemptAt = :nextAttemptAt, m.lockedUntil = null, m.lastError = :error, m.updatedAt = :now " +
+            "where m.id = :id and m.claimToken = :claimToken")
+    int markFailedWithTokens(@Param("id") Long id,
+                             @Param("claimToken") String claimToken,
+                             @Param("status") NotificationOutboxMessage.Status status,
+                             @Param("tokensJson") String tokensJson,
+                             @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                             @Param("error") String error,
+                             @Param("now") LocalDateTime now);
+
+    // 보관 기간이 지난 SENT 행 정리
+    @Modifying
+    @Query("delete from NotificationOutboxMessage m where m.status = :status and m.updatedAt < :before")
+    int deleteByStatusBefore(@Param("status") NotificationOutboxMessage.Status status,
+                             @Param("before") LocalDateTime before);
+}
@@ -19,14 +19,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
-    private final FirebaseNotificationService firebaseNotificationService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationOutbox notificationOutbox;
+    private final GroupTokenRegistry groupTokenRegistry;
     private final UserRepository userRepository;
     private final GroupRepository groupRepository;
     private final DailyQuestionRepository dailyQuestionRepository;
@@ -59,8 +60,8 @@ public class NotificationService {
         data.put("dailyId", daily.getId().toString());
         data.put("commentId", comment.getCommentId().toString());
 
-        // 알림 전송
-        firebaseNotificationService.sendNotification(ownerToken, title, body, data);
+        // 댓글 트랜잭션과 함께 아웃박스에 쌓기
+        notificationOutbox.append(NotificationCommand.toToken(ownerToken, title, body, data));
     }
 
     /**
@@ -75,12 +76,8 @@ public class NotificationService {
 
         String userName = user.getName();
 
-        // 같은 그룹의 다른 구성원들에게 알림
-        List<String> targetTokens = group.getUsers().stream()
-                .filter(m -> !m.getId().equals(user.getId())) // 감정이 변한 본인 제외
-                .map(User::getFcmToken)
-                .filter(token -> token != null && !token.isEmpty())
-                .collect(Collectors.toList());
+        // 같은 그룹의 다른 구성원들에게 알림 (감정이 변한 본인 제외)
+        List<String> targetTokens = groupTokenRegistry.tokensExcept(group.getId(), user.getId());
 
         if (targetTokens.isEmpty()) {
             log.warn("알림을 보낼 그룹 구성원이 없습니다.");
@@ -97,8 +94,8 @@ public class NotificationService {
         data.put("previousEmotion", previousEmotion);
         data.put("newEmotion", newEmotion);
 
-        // 알림 전송
-        firebaseNotificationService.sendMulticastNotification(targetTokens, title, body, data);
+        // 감정 변경 트랜잭션과 함께 아웃박스에 쌓기
+        notificationOutbox.append(NotificationCommand.toTokens(targetTokens, title, body, data));
     }
 
     /**
@@ -108,7 +105,13 @@ public class NotificationService {
         // answer.getUser() 대신 userRepository 사용
         User answerUser = userRepository.findById(answer.getUserId())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + answer.getUserId()));
+        sendDailyAnswerNotification(answerUser, question.getId(), question.getQuestion(), question.getActivationDate());
+    }
 
+    /**
+     * 3-1. 답변을 엔티티 없이 저장한 경우 (답변 작성자와 질문 정보만으로 알림)
+     */
+    public void sendDailyAnswerNotification(User answerUser, Long questionId, String questionText, LocalDate questionDate) {
         // GroupRepository의 findByUserId 대신 User에서 직접 그룹 정보 가져오기
         FamilyGroup group = answerUser.getFamilyGroup();
         if (group == null) {
@@ -116,29 +119,24 @@ public class NotificationService {
             return;
         }
 
-        // 그룹에 속한 모든 사용자 가져오기
-        List<User> groupMembers = userRepository.findAllByFamilyGroup(group);
-
-        List<String> tokens = groupMembers.stream()
-                .filter(member -> !member.getId().equals(answerUser.getId())) // 답변 작성자 제외
-                .map(User::getFcmToken)
-                .filter(token -> token != null && !token.isEmpty())
-                .collect(Collectors.toList());
+        // 그룹 구성원 토큰 (답변 작성자 제외)
+        List<String> tokens = groupTokenRegistry.tokensExcept(group.getId(), answerUser.getId());
 
         if (!tokens.isEmpty()) {
             Map<String, String> data = new HashMap<>();
             data.put("type", "DAILY_ANSWER");
-            data.put("questionId", question.getId().toString());
-            data.put("questionText", question.getQuestion()); // getContent() 대신 getQuestion() 사용
-            data.put("questionDate", question.getActivationDate().toString()); // getDate() 대신 getActivationDate() 사용
+            data.put("questionId", questionId.toString());
+            data.put("questionText", questionText);
+            data.put("questionDate", questionDate.toString());
 
-            firebaseNotificationService.sendMulticastNotification(
+            // 답변 트랜잭션과 함께 아웃박스에 쌓기
+            notificationOutbox.append(NotificationCommand.toTokens(
                     tokens,
                     "새로운 답변이 등록되었습니다",
                     // getNickname() 대신 getNickName() 사용
                     answerUser.getNickName() + "님이 오늘의 질문에 답변했습니다.",
                     data
-            );
+            ));
         }
     }
 
@@ -162,8 +160,8 @@ public class NotificationService {
         data.put("newUserId", newUser.getId().toString());
         data.put("groupId", adminUser.getFamilyGroup().getId().toString());
 
-        // 알림 전송
-        firebaseNotificationService.sendNotification(adminToken, title, body, data);
+        // 가입 요청 트랜잭션과 함께 아웃박스에 쌓기
+        notificationOutbox.append(NotificationCommand.toToken(adminToken, title, body, data));
     }
     /**
      * 5. 오늘의 새로운 질문이 생성되었을 때 알림
@@ -191,9 +189,9 @@ public class NotificationService {
             data.put("questionId", todayQuestion.getId().toString());
             data.put("type", "NEW_QUESTION");
 
-            log.info("[NotificationService] FCM 토픽 전송 전 → topic={}, title={}, body={}", topic, title, body);
-            String messageId = firebaseNotificationService.sendNotificationToTopic(topic, title, body, data);
-            log.info("[NotificationService] FCM 전송 응답(messageId)={}", messageId);
+            log.info("[NotificationService] FCM 토픽 발송 대기열에 넣기 → topic={}, title={}, body={}", topic, title, body);
+            boolean accepted = notificationDispatcher.enqueue(NotificationCommand.toTopic(topic, title, body, data));
+            log.info("[NotificationService] 대기열 등록 결과={}", accepted);
         } catch (Exception e) {
             log.error("[NotificationService.sendNewDailyQuestionNotification] 예외 발생: ", e);
         }
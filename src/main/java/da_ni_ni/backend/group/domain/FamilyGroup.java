@@ -25,6 +25,10 @@ public class FamilyGroup extends BaseTime {
     private String name;
     private String inviteCode;
 
+    // 그룹 게시글 버전 (게시글/댓글/좋아요가 바뀔 때 GroupRepository.bumpFeedVersion으로만 증가)
+    @Column(name = "feed_version", insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long feedVersion;
+
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "admin_user_id")
     private User adminUser;
@@ -3,6 +3,9 @@ package da_ni_ni.backend.group.repository;
 import da_ni_ni.backend.group.domain.FamilyGroup;
 import da_ni_ni.backend.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -11,4 +14,14 @@ public interface GroupRepository extends JpaRepository<FamilyGroup, Long> {
     Optional<FamilyGroup>findById(Long id);
     Optional<FamilyGroup>findByInviteCode(String inviteCode);
     Optional<FamilyGroup>findByAdminUser(User user);
+
+    // 그룹 게시글 버전 (ETag 비교용, PK 조회 한 번)
+    @Query("select g.feedVersion from FamilyGroup g where g.id = :familyGroupId")
+    Optional<Long> findFeedVersion(@Param("familyGroupId") Long familyGroupId);
+
+    // 그룹 게시글 버전 증가 (변경한 트랜잭션 안에서, 커밋되면 모든 인스턴스가 같은 값을 본다)
+    @Modifying
+    @Query(value = "UPDATE family_group SET feed_version = feed_version + 1 WHERE family_group_id = :familyGroupId",
+            nativeQuery = true)
+    int bumpFeedVersion(@Param("familyGroupId") Long familyGroupId);
 }
@@ -1,5 +1,7 @@
 package da_ni_ni.backend.group.service;
 
+import da_ni_ni.backend.firebase.GroupTokenRegistry;
+import da_ni_ni.backend.firebase.NotificationService;
 import da_ni_ni.backend.group.domain.FamilyGroup;
 import da_ni_ni.backend.group.domain.JoinReq;
 import da_ni_ni.backend.group.dto.*;
@@ -26,6 +28,8 @@ public class GroupService {
     private final GroupRepository groupRepository;
     private final JoinRequestRepository joinRequestRepository;
     private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final GroupTokenRegistry groupTokenRegistry;
 
     // 그룹 생성 (O)
     public CreateGroupResponse createGroup(Long userId, CreateGroupRequest request) {
@@ -59,6 +63,10 @@ public class GroupService {
                 .status(JoinReq.RequestStatus.PENDING)
                 .build();
         joinRequestRepository.save(joinReq);
+        // 그룹 생성자에게 가입 요청 알림
+        if (familyGroup.getAdminUser() != null) {
+            notificationService.sendGroupJoinNotification(user, familyGroup.getAdminUser());
+        }
 
         return JoinGroupResponse.createWith(joinReq);
     }
@@ -108,6 +116,8 @@ public class GroupService {
         if (request.getStatus() == JoinReq.RequestStatus.APPROVED) {
             targetRequest.setStatus(JoinReq.RequestStatus.APPROVED); // 상태 업데이트
             familyGroup.addUser(targetRequest.getUser()); // 그룹에 요청 유저 추가
+            groupTokenRegistry.updateToken(familyGroup.getId(), targetRequest.getUser().getId(),
+                    targetRequest.getUser().getFcmToken()); // 그룹 알림 토큰 목록에 추가 (커밋 후)
             // joinRequestRepository.delete(targetRequest); // 요청 목록에서 처리 완료된 요청 삭제
         }
         // 요청 거절
@@ -1,18 +1,27 @@
 package da_ni_ni.backend.qna.controller;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import da_ni_ni.backend.qna.dto.AnswerMatrixDto;
 import da_ni_ni.backend.qna.dto.AnswerRequestDto;
+import da_ni_ni.backend.qna.dto.AnswerStatsDto;
 import da_ni_ni.backend.qna.dto.DailyQuestionDto;
-import da_ni_ni.backend.qna.dto.MonthlyQuestionDto;
+import da_ni_ni.backend.qna.dto.GroupAnswerStatsDto;
+import da_ni_ni.backend.qna.dto.QnaArchivePageDto;
 import da_ni_ni.backend.qna.dto.QuestionDetailDto;
+import da_ni_ni.backend.qna.dto.QuestionImportReport;
 import da_ni_ni.backend.qna.service.QnaService;
+import da_ni_ni.backend.qna.service.QuestionImportService;
 import da_ni_ni.backend.user.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +32,7 @@ public class QnaController {
 
     private final QnaService qnaService;
     private final AuthService authService;
+    private final QuestionImportService questionImportService;
 
     /** 1) 일일 질문 생성 */
     @GetMapping("/everyday")
@@ -31,21 +41,46 @@ public class QnaController {
         return ResponseEntity.ok(new QuestionResponseDto(dto.dailyId(), dto.dailyQuestion()));
     }
 
-    /** 2) 월간 질문 조회 */
+    /** 2) 월간 질문 조회 (캐시된 JSON을 그대로 응답) */
     @GetMapping("/monthly")
-    public ResponseEntity<List<MonthlyQuestionResponseDto>> getMonthlyQuestions(
+    public ResponseEntity<byte[]> getMonthlyQuestions(
             @RequestParam int year,
             @RequestParam int month
     ) {
-        List<MonthlyQuestionDto> list = qnaService.getMonthlyQuestions(year, month);
-        List<MonthlyQuestionResponseDto> resp = list.stream()
-                .map(q -> new MonthlyQuestionResponseDto(
-                        q.dailyId(),
-                        q.date(),
-                        q.dailyQuestion()
-                ))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(resp);
+        byte[] body = qnaService.getMonthlyQuestions(year, month);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /** 월간 가족 답변 현황 (구성원별 답변한 날 비트셋) */
+    @GetMapping("/monthly/answers")
+    public ResponseEntity<AnswerMatrixDto> getMonthlyAnswerMatrix(
+            @RequestParam int year,
+            @RequestParam int month
+    ) {
+        return ResponseEntity.ok(qnaService.getMonthlyAnswerMatrix(year, month));
+    }
+
+    /** 내 답변 통계 (연속 일수, 참여율) */
+    @GetMapping("/stats/me")
+    public ResponseEntity<AnswerStatsDto> getMyAnswerStats() {
+        return ResponseEntity.ok(qnaService.getMyAnswerStats());
+    }
+
+    /** 가족 답변 통계 (가족 + 구성원별) */
+    @GetMapping("/stats/family")
+    public ResponseEntity<GroupAnswerStatsDto> getFamilyAnswerStats() {
+        return ResponseEntity.ok(qnaService.getFamilyAnswerStats());
+    }
+
+    /** 지난 문답 보관함 (활성화 날짜 최신순, 다음 페이지는 next_before를 before로 전달) */
+    @GetMapping("/archive")
+    public ResponseEntity<QnaArchivePageDto> getArchive(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(qnaService.getArchive(before, size));
     }
 
     /** 3) 문답 상세 조회 */
@@ -107,6 +142,17 @@ public class QnaController {
         return ResponseEntity.ok(new DeletedResponse(deletedId));
     }
 
+    /** 질문 은행 가져오기 (관리자, 요청 본문을 CSV/NDJSON으로 스트리밍) */
+    @PostMapping("/admin/import")
+    public ResponseEntity<QuestionImportReport> importQuestions(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body
+    ) {
+        QuestionImportReport report = questionImportService.importAsAdmin(
+                authService.getCurrentUser(), body, QuestionImportService.Format.of(format));
+        return ResponseEntity.ok(report);
+    }
+
     // —— DTOs for controller responses —— //
 
     // 수정할 코드:
@@ -115,12 +161,6 @@ public class QnaController {
             String question
     ) {}
 
-    public record MonthlyQuestionResponseDto(
-            @JsonProperty("question_id") Long questionId,
-            String date,
-            String question
-    ) {}
-
     public record QuestionDetailResponseDto(
             String date,
             @JsonProperty("question_id") Long questionId,
@@ -0,0 +1,86 @@
+package da_ni_ni.backend.qna.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 가족 그룹별 답변 통계 (구성원 중 한 명이라도 답변한 날 기준)
+ *
+ * streak/totalAnswers: 마감된 날(오늘 이전)까지의 누적 값
+ * liveDate/liveAnswers: 아직 확정되지 않은 날과 그날 답변 수 (삭제되면 줄어들고, 0이 되면 그날은 빠진다)
+ */
+@Entity
+@Table(name = "answer_group_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AnswerGroupStats {
+
+    @Id
+    @Column(name = "family_group_id")
+    private Long familyGroupId;
+
+    @Embedded
+    private AnswerStreak streak;
+
+    @Column(name = "total_answers", nullable = false)
+    private long totalAnswers;
+
+    @Column(name = "live_date")
+    private LocalDate liveDate;
+
+    @Column(name = "live_answers", nullable = false)
+    private int liveAnswers;
+
+    public static AnswerGroupStats empty(Long familyGroupId) {
+        AnswerGroupStats stats = new AnswerGroupStats();
+        stats.familyGroupId = familyGroupId;
+        stats.streak = AnswerStreak.EMPTY;
+        return stats;
+    }
+
+    // 구성원이 day 질문에 답변
+    public void answered(LocalDate day) {
+        if (liveDate != null && liveDate.isBefore(day)) {
+            settle();
+        }
+        if (liveDate == null) {
+            liveDate = day;
+        }
+        if (liveDate.equals(day)) {
+            liveAnswers++;
+        }
+    }
+
+    // 구성원이 day 질문 답변 삭제
+    public void unanswered(LocalDate day) {
+        if (day.equals(liveDate) && liveAnswers > 0 && --liveAnswers == 0) {
+            liveDate = null;
+        }
+    }
+
+    /** 확정 전 답변까지 포함한 현재 값 */
+    public AnswerStreak current() {
+        AnswerStreak base = base();
+        return liveDate == null ? base : base.plus(liveDate);
+    }
+
+    /** 확정 전 답변까지 포함한 전체 답변 수 */
+    public long currentTotalAnswers() {
+        return totalAnswers + liveAnswers;
+    }
+
+    private void settle() {
+        streak = base().plus(liveDate);
+        totalAnswers += liveAnswers;
+        liveDate = null;
+        liveAnswers = 0;
+    }
+
+    private AnswerStreak base() {
+        return streak == null ? AnswerStreak.EMPTY : streak;
+    }
+}
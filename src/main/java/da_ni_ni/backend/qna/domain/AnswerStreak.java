@@ -0,0 +1,71 @@
+package da_ni_ni.backend.qna.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 답변한 날(질문 활성화 날짜) 누적 값: 처음/마지막 날, 답변한 날 수, 연속 일수
+ * 날짜 순으로 plus 하면 전체 이력을 다시 읽지 않고 이어서 계산할 수 있다.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AnswerStreak {
+
+    public static final AnswerStreak EMPTY = new AnswerStreak(null, null, 0, 0, 0);
+
+    @Column(name = "first_date")
+    private LocalDate firstDate;
+
+    @Column(name = "last_date")
+    private LocalDate lastDate;
+
+    @Column(name = "days", nullable = false)
+    private int days;
+
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak;
+
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+
+    public static AnswerStreak of(LocalDate firstDate, LocalDate lastDate, int days, int currentStreak, int longestStreak) {
+        return new AnswerStreak(firstDate, lastDate, days, currentStreak, longestStreak);
+    }
+
+    /** day에 답변한 것을 더한 값 (마지막 날 이전 날짜는 무시) */
+    public AnswerStreak plus(LocalDate day) {
+        if (lastDate != null && !day.isAfter(lastDate)) {
+            return this;
+        }
+        int streak = lastDate != null && lastDate.plusDays(1).equals(day) ? currentStreak + 1 : 1;
+        return new AnswerStreak(firstDate == null ? day : firstDate, day, days + 1, streak,
+                Math.max(longestStreak, streak));
+    }
+
+    /** today 기준 연속 일수 (어제도 오늘도 답변하지 않았으면 끊긴 것) */
+    public int currentStreakAsOf(LocalDate today) {
+        return lastDate != null && !lastDate.isBefore(today.minusDays(1)) ? currentStreak : 0;
+    }
+
+    /** 처음 답변한 날부터 today까지 답변한 날의 비율 (오늘은 답변했을 때만 센다) */
+    public double participationRateAsOf(LocalDate today) {
+        if (firstDate == null) {
+            return 0.0;
+        }
+        LocalDate end = today.equals(lastDate) ? today : today.minusDays(1);
+        long elapsed = ChronoUnit.DAYS.between(firstDate, end) + 1;
+        if (elapsed <= 0) {
+            return 0.0;
+        }
+        return Math.round(Math.min(1.0, (double) days / elapsed) * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,63 @@
+package da_ni_ni.backend.qna.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별 답변 통계
+ *
+ * streak: 마감된 날(오늘 이전)까지의 누적 값
+ * pendingDate: 아직 확정되지 않은 답변 날짜 (당일 답변은 삭제될 수 있어 따로 들고 있다가 다음 답변/정산 때 streak에 합친다)
+ */
+@Entity
+@Table(name = "answer_user_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AnswerUserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Embedded
+    private AnswerStreak streak;
+
+    @Column(name = "pending_date")
+    private LocalDate pendingDate;
+
+    public static AnswerUserStats empty(Long userId) {
+        AnswerUserStats stats = new AnswerUserStats();
+        stats.userId = userId;
+        stats.streak = AnswerStreak.EMPTY;
+        return stats;
+    }
+
+    // day 질문에 답변
+    public void answered(LocalDate day) {
+        if (pendingDate != null && pendingDate.isBefore(day)) {
+            streak = base().plus(pendingDate);
+        }
+        pendingDate = day;
+    }
+
+    // day 질문 답변 삭제 (당일 답변만 삭제할 수 있으므로 확정 전 값만 되돌린다)
+    public void unanswered(LocalDate day) {
+        if (day.equals(pendingDate)) {
+            pendingDate = null;
+        }
+    }
+
+    /** 확정 전 답변까지 포함한 현재 값 */
+    public AnswerStreak current() {
+        AnswerStreak base = base();
+        return pendingDate == null ? base : base.plus(pendingDate);
+    }
+
+    private AnswerStreak base() {
+        return streak == null ? AnswerStreak.EMPTY : streak;
+    }
+}
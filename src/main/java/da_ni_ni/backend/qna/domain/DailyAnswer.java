@@ -6,7 +6,8 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 
 @Entity
-@Table(name = "ANSWERS")
+@Table(name = "ANSWERS",
+        uniqueConstraints = @UniqueConstraint(name = "uk_answers_question_user", columnNames = {"question_id", "user_id"}))
 public class DailyAnswer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,14 +20,21 @@ public class DailyQuestion {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    // ★ 새로 추가
-    @Column(name = "activation_date")
+    // ★ 새로 추가 (하루에 질문 하나)
+    @Column(name = "activation_date", unique = true)
     private LocalDate activationDate;
 
+    // 정규화한 질문 문장의 해시 (중복 질문 방지)
+    @Column(name = "text_hash", unique = true, length = 64)
+    private String textHash;
+
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now(ZoneId.of("Asia/Seoul")
         );
+        if (this.textHash == null && this.question != null) {
+            this.textHash = QuestionText.hash(this.question);
+        }
     }
 
     // getters / setters
@@ -64,4 +71,8 @@ public class DailyQuestion {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
-}
\ No newline at end of file
+
+    public String getTextHash() {
+        return textHash;
+    }
+}
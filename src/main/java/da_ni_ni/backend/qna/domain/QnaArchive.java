@@ -0,0 +1,47 @@
+package da_ni_ni.backend.qna.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 지난 문답 보관함 읽기 모델 (가족 그룹 × 질문 한 행)
+ * answersJson: 구성원 답변을 {"userId": "답변", ...} 형태로 묶은 JSON (답변 등록/수정/삭제 때 다시 만든다)
+ */
+@Entity
+@Table(name = "qna_archive",
+        uniqueConstraints = @UniqueConstraint(name = "uk_qna_archive_group_question", columnNames = {"family_group_id", "question_id"}),
+        indexes = @Index(name = "idx_qna_archive_group_date", columnList = "family_group_id, activation_date"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class QnaArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "archive_id")
+    private Long id;
+
+    @Column(name = "family_group_id", nullable = false)
+    private Long familyGroupId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Column(name = "activation_date", nullable = false)
+    private LocalDate activationDate;
+
+    @Column(name = "answers_json", columnDefinition = "TEXT", nullable = false)
+    private String answersJson;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public void updateAnswers(String answersJson, LocalDateTime now) {
+        this.answersJson = answersJson;
+        this.updatedAt = now;
+    }
+}
@@ -0,0 +1,35 @@
+package da_ni_ni.backend.qna.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * 질문 중복 판별용 정규화/해시
+ * 전각·반각, 대소문자, 공백, 끝 문장부호 차이는 같은 질문으로 본다.
+ */
+public final class QuestionText {
+
+    private QuestionText() {
+    }
+
+    public static String normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", "");
+        return normalized.replaceAll("[?!.~…]+$", "");
+    }
+
+    /** 정규화한 문장의 SHA-256 (16진수 64자) */
+    public static String hash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalize(text).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
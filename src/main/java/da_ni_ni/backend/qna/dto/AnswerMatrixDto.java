@@ -0,0 +1,21 @@
+package da_ni_ni.backend.qna.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 한 달 동안 가족 구성원별로 답변한 날 (구성원 × 날짜 행렬)
+ * answered_days의 (d - 1)번째 비트가 1이면 d일 질문에 답변한 것
+ */
+public record AnswerMatrixDto(
+        String month,
+        @JsonProperty("days_in_month") int daysInMonth,
+        List<MemberRow> members
+) {
+    public record MemberRow(
+            @JsonProperty("user_id") Long userId,
+            String nickname,
+            @JsonProperty("answered_days") int answeredDays
+    ) {}
+}
@@ -0,0 +1,32 @@
+package da_ni_ni.backend.qna.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import da_ni_ni.backend.qna.domain.AnswerStreak;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자 답변 통계
+ * participation_rate: 처음 답변한 날부터 답변한 날의 비율 (0 ~ 1)
+ */
+public record AnswerStatsDto(
+        @JsonProperty("user_id") Long userId,
+        String nickname,
+        @JsonProperty("total_answers") int totalAnswers,
+        @JsonProperty("current_streak") int currentStreak,
+        @JsonProperty("longest_streak") int longestStreak,
+        @JsonProperty("participation_rate") double participationRate,
+        @JsonProperty("last_answered_date") LocalDate lastAnsweredDate
+) {
+    public static AnswerStatsDto of(Long userId, String nickname, AnswerStreak streak, LocalDate today) {
+        return new AnswerStatsDto(
+                userId,
+                nickname,
+                streak.getDays(),
+                streak.currentStreakAsOf(today),
+                streak.getLongestStreak(),
+                streak.participationRateAsOf(today),
+                streak.getLastDate()
+        );
+    }
+}
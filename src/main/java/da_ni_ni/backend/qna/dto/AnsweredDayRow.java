@@ -0,0 +1,9 @@
+package da_ni_ni.backend.qna.dto;
+
+import java.time.LocalDate;
+
+// (사용자, 답변한 질문의 활성화 날짜)
+public interface AnsweredDayRow {
+    Long getUserId();
+    LocalDate getActivationDate();
+}
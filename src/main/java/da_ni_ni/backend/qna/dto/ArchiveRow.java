@@ -0,0 +1,11 @@
+package da_ni_ni.backend.qna.dto;
+
+import java.time.LocalDate;
+
+// 보관함 한 줄 (질문 + 그룹 답변 JSON, 답변이 없으면 null)
+public interface ArchiveRow {
+    Long getQuestionId();
+    String getQuestion();
+    LocalDate getActivationDate();
+    String getAnswersJson();
+}
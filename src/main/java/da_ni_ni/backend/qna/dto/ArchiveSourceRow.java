@@ -0,0 +1,12 @@
+package da_ni_ni.backend.qna.dto;
+
+import java.time.LocalDate;
+
+// 보관함 채우기용 답변 (그룹, 질문 순 스트리밍)
+public interface ArchiveSourceRow {
+    Long getFamilyGroupId();
+    Long getQuestionId();
+    LocalDate getActivationDate();
+    Long getUserId();
+    String getAnswerText();
+}
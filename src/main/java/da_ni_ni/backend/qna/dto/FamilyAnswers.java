@@ -0,0 +1,16 @@
+package da_ni_ni.backend.qna.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// 질문 하나에 대한 가족 구성원과 답변 (userId → 답변)
+public record FamilyAnswers(
+        Long questionId,
+        LocalDate activationDate,
+        String question,
+        List<Member> members,
+        Map<Long, String> answerByUserId
+) {
+    public record Member(Long userId, String nickname) {}
+}
@@ -0,0 +1,19 @@
+package da_ni_ni.backend.qna.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 가족 답변 통계 (구성원 중 한 명이라도 답변한 날 기준) + 구성원별 통계
+ */
+public record GroupAnswerStatsDto(
+        @JsonProperty("total_answers") long totalAnswers,
+        @JsonProperty("answered_days") int answeredDays,
+        @JsonProperty("current_streak") int currentStreak,
+        @JsonProperty("longest_streak") int longestStreak,
+        @JsonProperty("participation_rate") double participationRate,
+        @JsonProperty("last_answered_date") LocalDate lastAnsweredDate,
+        List<AnswerStatsDto> members
+) {}
@@ -0,0 +1,10 @@
+package da_ni_ni.backend.qna.dto;
+
+import java.time.LocalDate;
+
+// (가족 그룹, 질문 활성화 날짜, 그날 구성원 답변 수)
+public interface GroupAnsweredDayRow {
+    Long getFamilyGroupId();
+    LocalDate getActivationDate();
+    Long getAnswers();
+}
@@ -1,7 +1,10 @@
 package da_ni_ni.backend.qna.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// 월간 질문 응답 항목 (캐시에 직렬화된 형태로 저장되므로 응답 필드명을 여기서 정한다)
 public record MonthlyQuestionDto(
-        Long dailyId,
+        @JsonProperty("question_id") Long dailyId,
         String date,
-        String dailyQuestion
-) {}
\ No newline at end of file
+        @JsonProperty("question") String dailyQuestion
+) {}
@@ -0,0 +1,27 @@
+package da_ni_ni.backend.qna.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 지난 문답 보관함 한 페이지 (활성화 날짜 내림차순)
+ * next_before: 다음 페이지 요청에 before로 넘길 날짜 (마지막 페이지면 null)
+ */
+public record QnaArchivePageDto(
+        List<Item> items,
+        @JsonProperty("next_before") String nextBefore
+) {
+    public record Item(
+            String date,
+            @JsonProperty("question_id") Long questionId,
+            @JsonProperty("daily_question") String question,
+            List<AnswerInfo> answers
+    ) {}
+
+    public record AnswerInfo(
+            @JsonProperty("user_id") Long userId,
+            String nickname,
+            String answer
+    ) {}
+}
@@ -0,0 +1,16 @@
+package da_ni_ni.backend.qna.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 질문 가져오기 결과
+ * read = inserted + duplicates + skipped
+ */
+public record QuestionImportReport(
+        long read,
+        long inserted,
+        long duplicates,
+        long skipped,
+        @JsonProperty("elapsed_ms") long elapsedMs,
+        @JsonProperty("rows_per_second") long rowsPerSecond
+) {}
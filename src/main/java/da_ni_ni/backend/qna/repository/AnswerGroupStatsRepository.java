@@ -0,0 +1,25 @@
+package da_ni_ni.backend.qna.repository;
+
+import da_ni_ni.backend.qna.domain.AnswerGroupStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AnswerGroupStatsRepository extends JpaRepository<AnswerGroupStats, Long> {
+
+    // 통계 행이 없으면 빈 값으로 만든다 (동시에 만들어도 한 행만 남음)
+    @Modifying
+    @Query(value = "INSERT INTO answer_group_stats (family_group_id, days, current_streak, longest_streak, total_answers, live_answers) " +
+            "VALUES (:familyGroupId, 0, 0, 0, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("familyGroupId") Long familyGroupId);
+
+    // 갱신용 조회 (행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AnswerGroupStats s where s.familyGroupId = :familyGroupId")
+    Optional<AnswerGroupStats> findForUpdate(@Param("familyGroupId") Long familyGroupId);
+}
@@ -0,0 +1,25 @@
+package da_ni_ni.backend.qna.repository;
+
+import da_ni_ni.backend.qna.domain.AnswerUserStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AnswerUserStatsRepository extends JpaRepository<AnswerUserStats, Long> {
+
+    // 통계 행이 없으면 빈 값으로 만든다 (동시에 만들어도 한 행만 남음)
+    @Modifying
+    @Query(value = "INSERT INTO answer_user_stats (user_id, days, current_streak, longest_streak) " +
+            "VALUES (:userId, 0, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    // 갱신용 조회 (행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AnswerUserStats s where s.userId = :userId")
+    Optional<AnswerUserStats> findForUpdate(@Param("userId") Long userId);
+}
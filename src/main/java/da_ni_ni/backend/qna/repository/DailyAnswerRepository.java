@@ -1,10 +1,94 @@
 package da_ni_ni.backend.qna.repository;
 
 import da_ni_ni.backend.qna.domain.DailyAnswer;
+import da_ni_ni.backend.qna.dto.AnsweredDayRow;
+import da_ni_ni.backend.qna.dto.ArchiveSourceRow;
+import da_ni_ni.backend.qna.dto.GroupAnsweredDayRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DailyAnswerRepository extends JpaRepository<DailyAnswer, Long> {
     Optional<DailyAnswer> findByQuestionIdAndUserId(Long questionId, Long userId);
-    void deleteByQuestionIdAndUserId(Long questionId, Long userId);
-}
\ No newline at end of file
+
+    boolean existsByQuestionIdAndUserId(Long questionId, Long userId);
+
+    // 질문 하나에 대한 여러 사용자(가족)의 답변을 한 번에 조회
+    List<DailyAnswer> findAllByQuestionIdAndUserIdIn(Long questionId, Collection<Long> userIds);
+
+    // 질문 하나의 전체 답변 (오늘 질문 답변 현황 일괄 적재용)
+    List<DailyAnswer> findAllByQuestionId(Long questionId);
+
+    // 기간 내 가족 구성원별로 답변한 질문의 활성화 날짜
+    @Query("select a.userId as userId, q.activationDate as activationDate " +
+            "from DailyAnswer a join a.question q, User u " +
+            "where u.id = a.userId and u.familyGroup.id = :familyGroupId " +
+            "and q.activationDate between :start and :end " +
+            "group by a.userId, q.activationDate")
+    List<AnsweredDayRow> findAnsweredDays(@Param("familyGroupId") Long familyGroupId,
+                                          @Param("start") LocalDate start,
+                                          @Param("end") LocalDate end);
+
+    // 답변 등록 (이미 답변했으면 유니크 제약에 걸려 아무것도 하지 않음) → 추가된 행 수
+    @Modifying
+    @Query(value = "INSERT INTO answers (question_id, user_id, answer_text, created_at) " +
+            "VALUES (:questionId, :userId, :answerText, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("questionId") Long questionId,
+                       @Param("userId") Long userId,
+                       @Param("answerText") String answerText,
+                       @Param("now") LocalDateTime now);
+
+    // since 이후 작성된 내 답변 수정 → 수정된 행 수
+    @Modifying
+    @Query("update DailyAnswer a set a.answerText = :answerText, a.updatedAt = :now " +
+            "where a.question.id = :questionId and a.userId = :userId and a.createdAt >= :since")
+    int updateAnswerText(@Param("questionId") Long questionId,
+                         @Param("userId") Long userId,
+                         @Param("answerText") String answerText,
+                         @Param("now") LocalDateTime now,
+                         @Param("since") LocalDateTime since);
+
+    // 내 답변 삭제 → 삭제된 행 수
+    @Modifying
+    @Query("delete from DailyAnswer a where a.question.id = :questionId and a.userId = :userId")
+    int deleteByQuestionIdAndUserId(@Param("questionId") Long questionId, @Param("userId") Long userId);
+
+    // 통계 정산: before 이전(마감된 날) 사용자별 답변 날짜 (사용자, 날짜 순 스트리밍)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select a.userId as userId, q.activationDate as activationDate " +
+            "from DailyAnswer a join a.question q " +
+            "where q.activationDate < :before " +
+            "order by a.userId, q.activationDate")
+    Stream<AnsweredDayRow> streamAnsweredDaysBefore(@Param("before") LocalDate before);
+
+    // 통계 정산: before 이전(마감된 날) 그룹별 날짜별 답변 수 (그룹, 날짜 순 스트리밍)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u.familyGroup.id as familyGroupId, q.activationDate as activationDate, count(a) as answers " +
+            "from DailyAnswer a join a.question q, User u " +
+            "where u.id = a.userId and u.familyGroup is not null and q.activationDate < :before " +
+            "group by u.familyGroup.id, q.activationDate " +
+            "order by u.familyGroup.id, q.activationDate")
+    Stream<GroupAnsweredDayRow> streamGroupAnsweredDaysBefore(@Param("before") LocalDate before);
+
+    // 보관함 채우기: before 이전(마감된 날) 그룹별 답변 중 보관함에 아직 없는 (그룹, 질문)만 (그룹, 질문 순 스트리밍)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u.familyGroup.id as familyGroupId, q.id as questionId, q.activationDate as activationDate, " +
+            "a.userId as userId, a.answerText as answerText " +
+            "from DailyAnswer a join a.question q, User u " +
+            "where u.id = a.userId and u.familyGroup is not null and q.activationDate < :before " +
+            "and not exists (select 1 from QnaArchive x " +
+            "where x.familyGroupId = u.familyGroup.id and x.questionId = q.id) " +
+            "order by u.familyGroup.id, q.id, a.userId")
+    Stream<ArchiveSourceRow> streamArchiveSourcesBefore(@Param("before") LocalDate before);
+}
@@ -1,7 +1,10 @@
 package da_ni_ni.backend.qna.repository;
 
 import da_ni_ni.backend.qna.domain.DailyQuestion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,4 +19,12 @@ public interface DailyQuestionRepository extends JpaRepository<DailyQuestion, Lo
 
     // activationDate가 아직 NULL인 질문 중 ID 순으로 하나만
     Optional<DailyQuestion> findFirstByActivationDateIsNullOrderByIdAsc();
+
+    // 기간 내 이미 배정된 활성화 날짜
+    @Query("select q.activationDate from DailyQuestion q where q.activationDate between :start and :end")
+    List<LocalDate> findActivationDatesBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // 아직 배정되지 않은 질문 ID (오름차순)
+    @Query("select q.id from DailyQuestion q where q.activationDate is null order by q.id")
+    List<Long> findUnassignedIds(Pageable pageable);
 }
@@ -0,0 +1,45 @@
+package da_ni_ni.backend.qna.repository;
+
+import da_ni_ni.backend.qna.domain.QnaArchive;
+import da_ni_ni.backend.qna.dto.ArchiveRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface QnaArchiveRepository extends JpaRepository<QnaArchive, Long> {
+
+    // 보관함 행이 없으면 빈 답변으로 만든다 (동시에 만들어도 한 행만 남음)
+    @Modifying
+    @Query(value = "INSERT INTO qna_archive (family_group_id, question_id, activation_date, answers_json, updated_at) " +
+            "VALUES (:familyGroupId, :questionId, :activationDate, '{}', :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("familyGroupId") Long familyGroupId,
+                       @Param("questionId") Long questionId,
+                       @Param("activationDate") LocalDate activationDate,
+                       @Param("now") LocalDateTime now);
+
+    // 갱신용 조회 (행 잠금, 같은 그룹의 동시 답변은 여기서 차례로 반영된다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from QnaArchive a where a.familyGroupId = :familyGroupId and a.questionId = :questionId")
+    Optional<QnaArchive> findForUpdate(@Param("familyGroupId") Long familyGroupId,
+                                       @Param("questionId") Long questionId);
+
+    // before 이전에 활성화된 질문과 그룹 답변 (활성화 날짜 내림차순, 키셋 페이지)
+    @Query("select q.id as questionId, q.question as question, q.activationDate as activationDate, " +
+            "a.answersJson as answersJson " +
+            "from DailyQuestion q left join QnaArchive a " +
+            "on a.questionId = q.id and a.familyGroupId = :familyGroupId " +
+            "where q.activationDate < :before " +
+            "order by q.activationDate desc")
+    List<ArchiveRow> findPage(@Param("familyGroupId") Long familyGroupId,
+                              @Param("before") LocalDate before,
+                              Pageable pageable);
+}
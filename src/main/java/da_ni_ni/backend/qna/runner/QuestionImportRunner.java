@@ -0,0 +1,71 @@
+package da_ni_ni.backend.qna.runner;
+
+import da_ni_ni.backend.qna.dto.QuestionImportReport;
+import da_ni_ni.backend.qna.service.QuestionImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 명령줄 질문 가져오기
+ *
+ * java -jar backend.jar --import-questions=questions.csv [--import-questions=more.ndjson] [--import-format=csv]
+ * 형식을 지정하지 않으면 확장자(.ndjson/.jsonl → NDJSON, 그 외 CSV)로 정한다.
+ * 가져오기가 끝나면 결과를 출력하고 애플리케이션을 종료한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionImportRunner implements ApplicationRunner {
+
+    private static final String PATH_OPTION = "import-questions";
+    private static final String FORMAT_OPTION = "import-format";
+
+    private final QuestionImportService questionImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> paths = args.getOptionValues(PATH_OPTION);
+        if (paths == null || paths.isEmpty()) {
+            return;
+        }
+        List<String> formats = args.getOptionValues(FORMAT_OPTION);
+        String format = formats == null || formats.isEmpty() ? null : formats.get(0);
+
+        int exitCode = 0;
+        for (String path : paths) {
+            try (InputStream in = Files.newInputStream(Path.of(path))) {
+                QuestionImportReport report = questionImportService.importQuestions(in, formatOf(path, format));
+                log.info("{}: 읽음 {}건, 추가 {}건, 중복 {}건, 건너뜀 {}건, {}ms ({}건/초)", path,
+                        report.read(), report.inserted(), report.duplicates(), report.skipped(),
+                        report.elapsedMs(), report.rowsPerSecond());
+            } catch (Exception e) {
+                log.error("{} 가져오기 실패", path, e);
+                exitCode = 1;
+            }
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static QuestionImportService.Format formatOf(String path, String format) {
+        if (format != null) {
+            return QuestionImportService.Format.of(format);
+        }
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".ndjson") || lower.endsWith(".jsonl")
+                ? QuestionImportService.Format.NDJSON
+                : QuestionImportService.Format.CSV;
+    }
+}
@@ -1,50 +1,121 @@
 package da_ni_ni.backend.qna.scheduler;
 
+import da_ni_ni.backend.common.ScheduledJobLock;
 import da_ni_ni.backend.firebase.NotificationService;
-import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
+import da_ni_ni.backend.qna.service.AnswerStatsService;
+import da_ni_ni.backend.qna.service.FamilyAnswerBoard;
+import da_ni_ni.backend.qna.service.MonthlyQuestionCache;
+import da_ni_ni.backend.qna.service.QnaArchiveService;
+import da_ni_ni.backend.qna.service.QuestionCalendarService;
+import da_ni_ni.backend.qna.service.TodayQuestionHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.YearMonth;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class QuestionActivationScheduler {
-    private final DailyQuestionRepository questionRepo;
+    private static final String CALENDAR_LOCK = "question-calendar";
+    private static final Duration CALENDAR_LOCK_AT_MOST = Duration.ofMinutes(10);
+    private static final Duration CALENDAR_LOCK_AT_LEAST = Duration.ofSeconds(30);
+    private static final String STATS_LOCK = "answer-stats";
+    private static final Duration BATCH_LOCK_AT_MOST = Duration.ofMinutes(30);
+    private static final Duration BATCH_LOCK_AT_LEAST = Duration.ofSeconds(30);
+    private static final String ARCHIVE_LOCK = "qna-archive";
+    private static final String NOTIFICATION_LOCK = "new-question-notification";
+    // 발송이 빨리 끝나도 10분간 잠금을 유지해, 시계가 늦은 인스턴스가 같은 알림을 다시 보내지 않게 한다
+    private static final Duration NOTIFICATION_LOCK_AT_MOST = Duration.ofMinutes(10);
+    private static final Duration NOTIFICATION_LOCK_AT_LEAST = Duration.ofMinutes(10);
+
     private final NotificationService notificationService;
+    private final TodayQuestionHolder todayQuestionHolder;
+    private final MonthlyQuestionCache monthlyQuestionCache;
+    private final QuestionCalendarService questionCalendarService;
+    private final ScheduledJobLock scheduledJobLock;
+    private final FamilyAnswerBoard familyAnswerBoard;
+    private final AnswerStatsService answerStatsService;
+    private final QnaArchiveService qnaArchiveService;
+    private final Clock clock;
 
+    /**
+     * 매일 오전 5시 10분(서울 시간)에 호출.
+     * 오전 5시에 하루가 바뀐 뒤라 방금 마감된 전날까지 포함해,
+     * 마감된 날(논리적 오늘 이전) 답변으로 답변 통계를 다시 계산한다 (여러 인스턴스 중 한 곳에서만 실행).
+     */
+    @Scheduled(cron = "0 10 5 * * *", zone = "Asia/Seoul")
+    public void reconcileAnswerStats() {
+        LocalDate today = todayQuestionHolder.logicalDate();
+        scheduledJobLock.runLocked(STATS_LOCK, BATCH_LOCK_AT_MOST, BATCH_LOCK_AT_LEAST,
+                () -> answerStatsService.reconcile(today));
+    }
+
+    /**
+     * 기동 시 호출.
+     * 보관함 읽기 모델이 생기기 전의 지난 문답을 채운다 (여러 인스턴스 중 한 곳에서만 실행).
+     * 이후 답변은 답변 트랜잭션 안에서 보관함에 반영되므로 매일 다시 돌리지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillQnaArchive() {
+        LocalDate today = todayQuestionHolder.logicalDate();
+        scheduledJobLock.runLocked(ARCHIVE_LOCK, BATCH_LOCK_AT_MOST, BATCH_LOCK_AT_LEAST,
+                () -> qnaArchiveService.backfill(today));
+    }
+
+    /**
+     * 기동 시 + 매일 오전 4시 30분(서울 시간)에 호출.
+     * 앞으로 며칠치 질문 활성화 날짜를 미리 배정한다 (여러 인스턴스 중 한 곳에서만 실행).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 4 * * *", zone = "Asia/Seoul")
+    public void prepareQuestionCalendar() {
+        LocalDate from = LocalDate.now(clock.withZone(TodayQuestionHolder.ZONE));
+        scheduledJobLock.runLocked(CALENDAR_LOCK, CALENDAR_LOCK_AT_MOST, CALENDAR_LOCK_AT_LEAST,
+                () -> questionCalendarService.prepareUpcoming(from));
+    }
 
     /**
      * 매일 오전 5시(서울 시간)에 호출.
-     * 1) 오늘 날짜로 이미 활성화된 질문이 있으면 아무 작업도 하지 않고,
-     * 2) 없으면 activation_date IS NULL 상태인 질문 중 가장 작은 ID 하나를 오늘 날짜로 활성화.
+     * 오늘 질문은 미리 배정되어 있으므로 메모리의 오늘 질문만 교체한다.
+     * 달력 작업이 실패해 오늘 질문이 비어 있으면, 잠금을 잡고 오늘 하루치만 배정한다.
      */
     @Scheduled(cron = "0 0 5 * * *", zone = "Asia/Seoul")
-    @Transactional
     public void activateNextQuestion() {
-        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-        // 이미 오늘 활성화된 질문이 있으면 종료
-        if (questionRepo.findByActivationDate(today).isPresent()) {
-            return;
+        LocalDate today = LocalDate.now(clock.withZone(TodayQuestionHolder.ZONE));
+        todayQuestionHolder.refresh();
+        if (todayQuestionHolder.todayQuestion().isEmpty()) {
+            log.warn("{} 질문이 미리 배정되지 않아 지금 배정합니다.", today);
+            scheduledJobLock.runLocked(CALENDAR_LOCK, CALENDAR_LOCK_AT_MOST, Duration.ZERO,
+                    () -> questionCalendarService.assign(today, 1));
+            todayQuestionHolder.refresh();
         }
-        // 아직 activationDate가 없는 질문 중 ID 오름차순으로 하나 꺼내서 오늘 활성화
-        questionRepo.findFirstByActivationDateIsNullOrderByIdAsc()
-                .ifPresent(q -> {
-                    q.setActivationDate(today);
-                    questionRepo.save(q);
-                });
+        monthlyQuestionCache.evict(YearMonth.from(today));
+    }
+
+    /**
+     * 매일 오전 6시 55분(서울 시간)에 호출.
+     * 오전 7시 알림 직후 몰리는 조회에 대비해 오늘 질문과 그룹별 답변 현황을 미리 메모리에 올린다.
+     */
+    @Scheduled(cron = "0 55 6 * * *", zone = "Asia/Seoul")
+    public void warmUpTodayAnswers() {
+        familyAnswerBoard.warmUp();
     }
+
     /**
      * 매일 오전 7시(서울 시간)에 호출.
-     * 오늘의 질문이 생성되었음을 알리는 푸시 알림 전송
+     * 오늘의 질문이 생성되었음을 알리는 푸시 알림 전송 (여러 인스턴스 중 한 곳에서만 실행).
      */
     @Scheduled(cron = "0 0 7 * * *", zone = "Asia/Seoul")
     public void scheduleNewQuestionNotification() {
-        notificationService.sendNewDailyQuestionNotification();
+        scheduledJobLock.runLocked(NOTIFICATION_LOCK, NOTIFICATION_LOCK_AT_MOST, NOTIFICATION_LOCK_AT_LEAST,
+                notificationService::sendNewDailyQuestionNotification);
     }
 }
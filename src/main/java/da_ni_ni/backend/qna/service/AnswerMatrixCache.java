@@ -0,0 +1,124 @@
+package da_ni_ni.backend.qna.service;
+
+import da_ni_ni.backend.common.AfterCommit;
+import da_ni_ni.backend.common.SingleFlight;
+import da_ni_ni.backend.qna.dto.AnsweredDayRow;
+import da_ni_ni.backend.qna.repository.DailyAnswerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (가족 그룹, 월) 단위 답변 비트셋 캐시
+ *
+ * 사용자 id → 답변한 날 비트마스크((d - 1)번째 비트 = d일)를 한 번의 집계 쿼리로 만든다.
+ * 답변 등록/삭제가 커밋되면 이 인스턴스의 해당 달을 무효화한다.
+ * 다른 인스턴스의 답변은 무효화로 알 수 없으므로, 항목은 조회 여부와 상관없이 적재 후 TTL이 지나면 만료된다.
+ * 항목 수가 상한을 넘으면 가장 먼저 적재된 항목부터 지운다.
+ */
+@Component
+public class AnswerMatrixCache {
+
+    private record Key(Long familyGroupId, YearMonth month) {
+    }
+
+    // masks가 null이면 적재 중인 자리표시
+    private record Entry(Map<Long, Integer> masks, long loadedAt) {
+    }
+
+    private final DailyAnswerRepository answerRepo;
+    private final Clock clock;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<Key, Map<Long, Integer>> loads = new SingleFlight<>();
+
+    public AnswerMatrixCache(DailyAnswerRepository answerRepo,
+                             Clock clock,
+                             @Value("${qna.answer-matrix-cache.max-size:1000}") int maxSize,
+                             @Value("${qna.answer-matrix-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.answerRepo = answerRepo;
+        this.clock = clock;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * 사용자별 답변 비트마스크
+     * 같은 키의 동시 조회는 한 번의 쿼리로 합치고, 쿼리는 맵 잠금 밖에서 실행한다.
+     */
+    public Map<Long, Integer> get(Long familyGroupId, YearMonth month) {
+        Key key = new Key(familyGroupId, month);
+        long now = clock.millis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.masks() != null) {
+            if (now - entry.loadedAt() < ttlMillis) {
+                return entry.masks();
+            }
+            entries.remove(key, entry);
+        }
+        return loads.execute(key, () -> loadAndCache(key));
+    }
+
+    // 답변 등록/삭제 후 호출 (현재 트랜잭션이 커밋된 뒤 반영)
+    public void evict(Long familyGroupId, YearMonth month) {
+        Key key = new Key(familyGroupId, month);
+        AfterCommit.run(() -> entries.remove(key));
+    }
+
+    /**
+     * 자리표시를 먼저 넣고 조회한 뒤, 자리표시가 그대로일 때만 결과로 바꾼다.
+     * 조회 도중 무효화되면 자리표시가 지워지므로 오래된 결과는 캐시에 남지 않는다(이번 호출에는 그대로 돌려준다).
+     */
+    private Map<Long, Integer> loadAndCache(Key key) {
+        Entry loading = new Entry(null, clock.millis());
+        entries.put(key, loading);
+        Map<Long, Integer> masks;
+        try {
+            masks = load(key.familyGroupId(), key.month());
+        } catch (RuntimeException e) {
+            entries.remove(key, loading);
+            throw e;
+        }
+        // 적재 시작 시각 기준으로 만료 (조회 도중 들어온 다른 인스턴스의 답변도 TTL 안에 보인다)
+        if (entries.replace(key, loading, new Entry(masks, loading.loadedAt()))
+                && entries.size() > maxSize) {
+            evictOverflow();
+        }
+        return masks;
+    }
+
+    // 만료된 항목부터 지우고, 그래도 넘치면 가장 먼저 적재된 항목부터 제거
+    private void evictOverflow() {
+        long cutoff = clock.millis() - ttlMillis;
+        entries.forEach((key, entry) -> {
+            if (entry.masks() != null && entry.loadedAt() <= cutoff) {
+                entries.remove(key, entry);
+            }
+        });
+        int overflow = entries.size() - maxSize;
+        if (overflow <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .filter(e -> e.getValue().masks() != null)
+                .sorted(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+                .limit(overflow)
+                .toList()
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    private Map<Long, Integer> load(Long familyGroupId, YearMonth month) {
+        Map<Long, Integer> masks = new HashMap<>();
+        for (AnsweredDayRow row : answerRepo.findAnsweredDays(familyGroupId, month.atDay(1), month.atEndOfMonth())) {
+            masks.merge(row.getUserId(), 1 << (row.getActivationDate().getDayOfMonth() - 1), (a, b) -> a | b);
+        }
+        return Map.copyOf(masks);
+    }
+}
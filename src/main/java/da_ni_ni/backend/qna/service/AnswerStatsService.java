@@ -0,0 +1,255 @@
+package da_ni_ni.backend.qna.service;
+
+import da_ni_ni.backend.qna.domain.AnswerGroupStats;
+import da_ni_ni.backend.qna.domain.AnswerStreak;
+import da_ni_ni.backend.qna.domain.AnswerUserStats;
+import da_ni_ni.backend.qna.dto.AnswerStatsDto;
+import da_ni_ni.backend.qna.dto.AnsweredDayRow;
+import da_ni_ni.backend.qna.dto.GroupAnswerStatsDto;
+import da_ni_ni.backend.qna.dto.GroupAnsweredDayRow;
+import da_ni_ni.backend.qna.repository.AnswerGroupStatsRepository;
+import da_ni_ni.backend.qna.repository.AnswerUserStatsRepository;
+import da_ni_ni.backend.qna.repository.DailyAnswerRepository;
+import da_ni_ni.backend.user.domain.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 답변 연속 일수/참여율 통계
+ *
+ * 답변 등록/삭제 트랜잭션 안에서 사용자/그룹 통계 행을 잠그고 한 건씩 갱신하므로 조회는 행 하나만 읽는다.
+ * 당일 답변은 삭제될 수 있어 확정 전 값으로 따로 들고 있다가, 다음 답변이나 정산 때 누적 값에 합친다.
+ * 정산은 마감된 날(오늘 이전) 답변만 스트리밍으로 다시 계산해 배치로 덮어쓰므로, 진행 중인 당일 답변과 겹치지 않는다.
+ */
+@Slf4j
+@Service
+public class AnswerStatsService {
+
+    private static final String USER_INSERT_SQL =
+            "INSERT INTO answer_user_stats (user_id, days, current_streak, longest_streak) " +
+            "VALUES (?, 0, 0, 0) ON CONFLICT DO NOTHING";
+    private static final String USER_UPDATE_SQL =
+            "UPDATE answer_user_stats SET first_date = ?, last_date = ?, days = ?, current_streak = ?, longest_streak = ?, " +
+            "pending_date = CASE WHEN pending_date >= ? THEN pending_date END " +
+            "WHERE user_id = ?";
+    // 마감된 날 답변이 하나도 없는 사용자 (남아 있던 값이 틀렸다면 비운다)
+    private static final String USER_RESET_SQL =
+            "UPDATE answer_user_stats SET first_date = NULL, last_date = NULL, days = 0, current_streak = 0, longest_streak = 0, " +
+            "pending_date = CASE WHEN pending_date >= ? THEN pending_date END " +
+            "WHERE user_id NOT IN (SELECT a.user_id FROM answers a JOIN questions q ON q.question_id = a.question_id " +
+            "WHERE q.activation_date < ?)";
+
+    private static final String GROUP_INSERT_SQL =
+            "INSERT INTO answer_group_stats (family_group_id, days, current_streak, longest_streak, total_answers, live_answers) " +
+            "VALUES (?, 0, 0, 0, 0, 0) ON CONFLICT DO NOTHING";
+    private static final String GROUP_UPDATE_SQL =
+            "UPDATE answer_group_stats SET first_date = ?, last_date = ?, days = ?, current_streak = ?, longest_streak = ?, " +
+            "total_answers = ?, " +
+            "live_answers = CASE WHEN live_date >= ? THEN live_answers ELSE 0 END, " +
+            "live_date = CASE WHEN live_date >= ? THEN live_date END " +
+            "WHERE family_group_id = ?";
+    private static final String GROUP_RESET_SQL =
+            "UPDATE answer_group_stats SET first_date = NULL, last_date = NULL, days = 0, current_streak = 0, longest_streak = 0, " +
+            "total_answers = 0, " +
+            "live_answers = CASE WHEN live_date >= ? THEN live_answers ELSE 0 END, " +
+            "live_date = CASE WHEN live_date >= ? THEN live_date END " +
+            "WHERE family_group_id NOT IN (SELECT u.family_group_id FROM answers a " +
+            "JOIN questions q ON q.question_id = a.question_id JOIN users u ON u.user_id = a.user_id " +
+            "WHERE q.activation_date < ? AND u.family_group_id IS NOT NULL)";
+
+    private final AnswerUserStatsRepository userStatsRepo;
+    private final AnswerGroupStatsRepository groupStatsRepo;
+    private final DailyAnswerRepository answerRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+
+    public AnswerStatsService(AnswerUserStatsRepository userStatsRepo,
+                              AnswerGroupStatsRepository groupStatsRepo,
+                              DailyAnswerRepository answerRepo,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${qna.stats.batch-size:500}") int batchSize) {
+        this.userStatsRepo = userStatsRepo;
+        this.groupStatsRepo = groupStatsRepo;
+        this.answerRepo = answerRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 스트리밍 읽기와 별개로 배치마다 커밋해 잠금을 오래 잡지 않는다
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    /** 답변 등록 (호출한 쪽 트랜잭션 안에서, 사용자 → 그룹 순으로 잠금) */
+    @Transactional
+    public void answered(Long userId, Long familyGroupId, LocalDate day) {
+        userStatsRepo.insertIfAbsent(userId);
+        userStatsRepo.findForUpdate(userId).ifPresent(stats -> stats.answered(day));
+        if (familyGroupId != null) {
+            groupStatsRepo.insertIfAbsent(familyGroupId);
+            groupStatsRepo.findForUpdate(familyGroupId).ifPresent(stats -> stats.answered(day));
+        }
+    }
+
+    /** 답변 삭제 (호출한 쪽 트랜잭션 안에서, 사용자 → 그룹 순으로 잠금) */
+    @Transactional
+    public void unanswered(Long userId, Long familyGroupId, LocalDate day) {
+        userStatsRepo.findForUpdate(userId).ifPresent(stats -> stats.unanswered(day));
+        if (familyGroupId != null) {
+            groupStatsRepo.findForUpdate(familyGroupId).ifPresent(stats -> stats.unanswered(day));
+        }
+    }
+
+    /** 내 통계 (행 하나 조회) */
+    @Transactional(readOnly = true)
+    public AnswerStatsDto getUserStats(User me, LocalDate today) {
+        AnswerStreak streak = userStatsRepo.findById(me.getId())
+                .map(AnswerUserStats::current)
+                .orElse(AnswerStreak.EMPTY);
+        return AnswerStatsDto.of(me.getId(), me.getNickName(), streak, today);
+    }
+
+    /** 가족 통계 + 구성원별 통계 (그룹 행 하나 + 구성원 행 한 번에 조회) */
+    @Transactional(readOnly = true)
+    public GroupAnswerStatsDto getGroupStats(Long familyGroupId, List<User> members, LocalDate today) {
+        AnswerGroupStats group = groupStatsRepo.findById(familyGroupId)
+                .orElseGet(() -> AnswerGroupStats.empty(familyGroupId));
+        Map<Long, AnswerUserStats> byUserId = userStatsRepo.findAllById(members.stream().map(User::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(AnswerUserStats::getUserId, Function.identity()));
+
+        List<AnswerStatsDto> memberStats = members.stream()
+                .map(member -> AnswerStatsDto.of(member.getId(), member.getNickName(),
+                        byUserId.containsKey(member.getId()) ? byUserId.get(member.getId()).current() : AnswerStreak.EMPTY,
+                        today))
+                .toList();
+        AnswerStreak streak = group.current();
+        return new GroupAnswerStatsDto(
+                group.currentTotalAnswers(),
+                streak.getDays(),
+                streak.currentStreakAsOf(today),
+                streak.getLongestStreak(),
+                streak.participationRateAsOf(today),
+                streak.getLastDate(),
+                memberStats
+        );
+    }
+
+    /**
+     * 마감된 날(today 이전) 답변으로 통계를 다시 계산해 덮어쓴다
+     * 답변을 (사용자/그룹, 날짜) 순으로 스트리밍하며 batchSize 건씩 기록하므로 메모리는 이력 길이와 무관하다.
+     */
+    public void reconcile(LocalDate today) {
+        int users = readOnlyTransaction.execute(status -> reconcileUsers(today));
+        int groups = readOnlyTransaction.execute(status -> reconcileGroups(today));
+        log.info("답변 통계 정산 ({} 이전): 사용자 {}명, 그룹 {}개", today, users, groups);
+    }
+
+    private int reconcileUsers(LocalDate today) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        try (Stream<AnsweredDayRow> rows = answerRepo.streamAnsweredDaysBefore(today)) {
+            Iterator<AnsweredDayRow> it = rows.iterator();
+            Long userId = null;
+            AnswerStreak streak = AnswerStreak.EMPTY;
+            while (it.hasNext()) {
+                AnsweredDayRow row = it.next();
+                if (!row.getUserId().equals(userId)) {
+                    if (userId != null) {
+                        batch.add(userArgs(userId, streak, today));
+                        count++;
+                        if (batch.size() >= batchSize) {
+                            flush(USER_INSERT_SQL, USER_UPDATE_SQL, batch);
+                        }
+                    }
+                    userId = row.getUserId();
+                    streak = AnswerStreak.EMPTY;
+                }
+                streak = streak.plus(row.getActivationDate());
+            }
+            if (userId != null) {
+                batch.add(userArgs(userId, streak, today));
+                count++;
+            }
+        }
+        flush(USER_INSERT_SQL, USER_UPDATE_SQL, batch);
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(USER_RESET_SQL, today, today));
+        return count;
+    }
+
+    private int reconcileGroups(LocalDate today) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        try (Stream<GroupAnsweredDayRow> rows = answerRepo.streamGroupAnsweredDaysBefore(today)) {
+            Iterator<GroupAnsweredDayRow> it = rows.iterator();
+            Long groupId = null;
+            AnswerStreak streak = AnswerStreak.EMPTY;
+            long totalAnswers = 0;
+            while (it.hasNext()) {
+                GroupAnsweredDayRow row = it.next();
+                if (!row.getFamilyGroupId().equals(groupId)) {
+                    if (groupId != null) {
+                        batch.add(groupArgs(groupId, streak, totalAnswers, today));
+                        count++;
+                        if (batch.size() >= batchSize) {
+                            flush(GROUP_INSERT_SQL, GROUP_UPDATE_SQL, batch);
+                        }
+                    }
+                    groupId = row.getFamilyGroupId();
+                    streak = AnswerStreak.EMPTY;
+                    totalAnswers = 0;
+                }
+                streak = streak.plus(row.getActivationDate());
+                totalAnswers += row.getAnswers();
+            }
+            if (groupId != null) {
+                batch.add(groupArgs(groupId, streak, totalAnswers, today));
+                count++;
+            }
+        }
+        flush(GROUP_INSERT_SQL, GROUP_UPDATE_SQL, batch);
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(GROUP_RESET_SQL, today, today, today));
+        return count;
+    }
+
+    // 행이 없으면 만들고 덮어쓴다 (배치 인자의 마지막 값이 키)
+    private void flush(String insertSql, String updateSql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Object[]> keys = batch.stream().map(args -> new Object[]{args[args.length - 1]}).toList();
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(insertSql, keys);
+            jdbcTemplate.batchUpdate(updateSql, batch);
+        });
+        batch.clear();
+    }
+
+    private static Object[] userArgs(Long userId, AnswerStreak streak, LocalDate today) {
+        return new Object[]{streak.getFirstDate(), streak.getLastDate(), streak.getDays(),
+                streak.getCurrentStreak(), streak.getLongestStreak(), today, userId};
+    }
+
+    private static Object[] groupArgs(Long groupId, AnswerStreak streak, long totalAnswers, LocalDate today) {
+        return new Object[]{streak.getFirstDate(), streak.getLastDate(), streak.getDays(),
+                streak.getCurrentStreak(), streak.getLongestStreak(), totalAnswers, today, today, groupId};
+    }
+}
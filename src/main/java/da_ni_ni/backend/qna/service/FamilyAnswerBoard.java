@@ -0,0 +1,208 @@
+package da_ni_ni.backend.qna.service;
+
+import da_ni_ni.backend.common.AfterCommit;
+import da_ni_ni.backend.common.SingleFlight;
+import da_ni_ni.backend.qna.domain.DailyAnswer;
+import da_ni_ni.backend.qna.domain.DailyQuestion;
+import da_ni_ni.backend.qna.dto.FamilyAnswers;
+import da_ni_ni.backend.qna.exception.BadRequestException;
+import da_ni_ni.backend.qna.repository.DailyAnswerRepository;
+import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
+import da_ni_ni.backend.user.dto.FamilyMemberRow;
+import da_ni_ni.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 질문 상세 조회용 가족 답변 현황 (가족 구성원 + userId → 답변)
+ *
+ * 오전 7시 알림 직후에는 모든 가족이 같은 오늘 질문을 동시에 연다.
+ * 오늘 질문은 그룹별로 메모리에 들고 있고(알림 전에 미리 적재), 같은 그룹의 동시 적재는 한 번으로 합친다.
+ * 지난 질문은 보관하지 않고, 같은 (질문, 그룹) 동시 조회만 한 번의 조회로 합친다.
+ * 답변 등록/수정/삭제가 커밋되면 해당 그룹을 무효화한다.
+ */
+@Slf4j
+@Component
+public class FamilyAnswerBoard {
+
+    private record Entry(FamilyAnswers answers, Instant loadedAt) {
+    }
+
+    private record PastKey(Long questionId, Long familyGroupId) {
+    }
+
+    private final DailyQuestionRepository questionRepo;
+    private final DailyAnswerRepository answerRepo;
+    private final UserRepository userRepo;
+    private final TodayQuestionHolder todayQuestionHolder;
+    private final Clock clock;
+    private final Duration ttl;
+
+    // 가족 그룹 id → 오늘 질문 답변 현황
+    private final Map<Long, Entry> today = new ConcurrentHashMap<>();
+    private final SingleFlight<Long, FamilyAnswers> todayLoads = new SingleFlight<>();
+    private final SingleFlight<PastKey, FamilyAnswers> pastLoads = new SingleFlight<>();
+
+    // 미리 적재 중 들어온 무효화를 가려내기 위한 순번 (그룹 id → 마지막 무효화 순번)
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+
+    public FamilyAnswerBoard(DailyQuestionRepository questionRepo,
+                             DailyAnswerRepository answerRepo,
+                             UserRepository userRepo,
+                             TodayQuestionHolder todayQuestionHolder,
+                             Clock clock,
+                             MeterRegistry meterRegistry,
+                             @Value("${qna.board.ttl-seconds:600}") long ttlSeconds) {
+        this.questionRepo = questionRepo;
+        this.answerRepo = answerRepo;
+        this.userRepo = userRepo;
+        this.todayQuestionHolder = todayQuestionHolder;
+        this.clock = clock;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.loads = meterRegistry.counter("qna.board.loads");
+        // 진행 중인 적재에 합류해 DB 조회 없이 응답한 요청 수
+        FunctionCounter.builder("qna.board.coalesced", this,
+                        board -> board.todayLoads.joinedCount() + board.pastLoads.joinedCount())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 질문 하나에 대한 그룹의 답변 현황
+     * 없는 질문이나 아직 활성화되지 않은 질문은 400
+     */
+    public FamilyAnswers get(Long questionId, Long familyGroupId) {
+        Optional<TodayQuestionHolder.TodayQuestion> todayQ = todayQuestionHolder.todayQuestion();
+        if (todayQ.isPresent() && todayQ.get().id().equals(questionId)) {
+            return getToday(todayQ.get(), familyGroupId);
+        }
+        return pastLoads.execute(new PastKey(questionId, familyGroupId), () -> loadPast(questionId, familyGroupId));
+    }
+
+    // 답변 등록/수정/삭제 후 호출 (현재 트랜잭션이 커밋된 뒤 반영)
+    public void evict(Long familyGroupId) {
+        AfterCommit.run(() -> invalidateNow(familyGroupId));
+    }
+
+    /**
+     * 메모리 값을 버리고 DB에서 다시 읽은 답변 현황
+     * 메모리 값이 DB보다 뒤처졌다고 확인된 경우(다른 인스턴스에서 등록한 답변 등)에 쓴다.
+     */
+    public FamilyAnswers reload(Long questionId, Long familyGroupId) {
+        invalidateNow(familyGroupId);
+        return get(questionId, familyGroupId);
+    }
+
+    private void invalidateNow(Long familyGroupId) {
+        invalidatedAt.put(familyGroupId, sequence.incrementAndGet());
+        today.remove(familyGroupId);
+    }
+
+    /**
+     * 오늘 질문의 그룹별 답변 현황을 구성원/답변 두 번의 조회로 한꺼번에 적재
+     * 적재 중 무효화된 그룹은 건너뛴다 (다음 조회 때 다시 읽음)
+     */
+    public void warmUp() {
+        todayQuestionHolder.refresh();
+        Optional<TodayQuestionHolder.TodayQuestion> todayQ = todayQuestionHolder.todayQuestion();
+        if (todayQ.isEmpty()) {
+            log.warn("오늘 질문이 없어 답변 현황을 미리 적재하지 않습니다.");
+            return;
+        }
+        TodayQuestionHolder.TodayQuestion q = todayQ.get();
+        long stamp = sequence.get();
+
+        Map<Long, List<FamilyAnswers.Member>> membersByGroup = new HashMap<>();
+        Map<Long, Long> groupByUserId = new HashMap<>();
+        for (FamilyMemberRow row : userRepo.findAllMemberRows()) {
+            membersByGroup.computeIfAbsent(row.getFamilyGroupId(), k -> new ArrayList<>())
+                    .add(new FamilyAnswers.Member(row.getUserId(), row.getNickName()));
+            groupByUserId.put(row.getUserId(), row.getFamilyGroupId());
+        }
+        Map<Long, Map<Long, String>> answersByGroup = new HashMap<>();
+        for (DailyAnswer answer : answerRepo.findAllByQuestionId(q.id())) {
+            Long groupId = groupByUserId.get(answer.getUserId());
+            if (groupId != null) {
+                answersByGroup.computeIfAbsent(groupId, k -> new HashMap<>())
+                        .put(answer.getUserId(), answer.getAnswerText());
+            }
+        }
+
+        Instant loadedAt = clock.instant();
+        membersByGroup.forEach((groupId, members) -> {
+            FamilyAnswers answers = new FamilyAnswers(q.id(), q.activationDate(), q.question(),
+                    List.copyOf(members), Map.copyOf(answersByGroup.getOrDefault(groupId, Map.of())));
+            today.compute(groupId, (k, old) ->
+                    invalidatedAt.getOrDefault(groupId, 0L) > stamp ? old : new Entry(answers, loadedAt));
+        });
+        log.info("{} 질문 답변 현황 미리 적재: {}개 그룹", q.activationDate(), membersByGroup.size());
+    }
+
+    private FamilyAnswers getToday(TodayQuestionHolder.TodayQuestion q, Long familyGroupId) {
+        Entry entry = today.get(familyGroupId);
+        if (isFresh(entry, q)) {
+            return entry.answers();
+        }
+        // 같은 그룹의 동시 적재는 한 번으로 합치고, 조회는 맵 잠금 밖에서 한다
+        return todayLoads.execute(familyGroupId, () -> loadToday(q, familyGroupId));
+    }
+
+    /**
+     * 앞선 적재가 방금 끝났으면 그 값을 쓰고, 아니면 DB에서 읽어 넣는다
+     * 조회 도중 무효화되었으면 읽은 값은 이번 요청에만 쓰고 맵에는 넣지 않는다.
+     */
+    private FamilyAnswers loadToday(TodayQuestionHolder.TodayQuestion q, Long familyGroupId) {
+        Entry current = today.get(familyGroupId);
+        if (isFresh(current, q)) {
+            return current.answers();
+        }
+        long stamp = sequence.get();
+        Entry loaded = new Entry(load(q.id(), q.activationDate(), q.question(), familyGroupId), clock.instant());
+        today.compute(familyGroupId, (k, old) ->
+                invalidatedAt.getOrDefault(familyGroupId, 0L) > stamp ? old : loaded);
+        return loaded.answers();
+    }
+
+    private boolean isFresh(Entry entry, TodayQuestionHolder.TodayQuestion q) {
+        return entry != null
+                && entry.answers().questionId().equals(q.id())
+                && clock.instant().isBefore(entry.loadedAt().plus(ttl));
+    }
+
+    private FamilyAnswers loadPast(Long questionId, Long familyGroupId) {
+        DailyQuestion q = questionRepo.findById(questionId)
+                .orElseThrow(() -> new BadRequestException("잘못된 질문 ID입니다."));
+        LocalDate activationDate = q.getActivationDate();
+        if (activationDate == null || activationDate.isAfter(todayQuestionHolder.logicalDate())) {
+            throw new BadRequestException("잘못된 질문 ID입니다.");
+        }
+        return load(q.getId(), activationDate, q.getQuestion(), familyGroupId);
+    }
+
+    private FamilyAnswers load(Long questionId, LocalDate activationDate, String question, Long familyGroupId) {
+        loads.increment();
+        List<FamilyAnswers.Member> members = userRepo.findMemberRows(familyGroupId).stream()
+                .map(row -> new FamilyAnswers.Member(row.getUserId(), row.getNickName()))
+                .toList();
+        List<Long> memberIds = members.stream().map(FamilyAnswers.Member::userId).toList();
+        Map<Long, String> answerByUserId = answerRepo.findAllByQuestionIdAndUserIdIn(questionId, memberIds)
+                .stream()
+                .collect(Collectors.toMap(DailyAnswer::getUserId, DailyAnswer::getAnswerText, (a, b) -> a));
+        return new FamilyAnswers(questionId, activationDate, question, members, Map.copyOf(answerByUserId));
+    }
+}
@@ -0,0 +1,94 @@
+package da_ni_ni.backend.qna.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import da_ni_ni.backend.qna.dto.MonthlyQuestionDto;
+import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 월간 활성화 질문 캐시 (JSON 바이트 그대로 보관)
+ *
+ * 지난 달의 질문 목록은 바뀌지 않으므로 만료 없이 보관하고,
+ * 이번 달은 논리적 날짜가 바뀌거나 새 질문이 활성화되면 다시 만든다.
+ * 아직 오지 않은 날짜의 질문(미리 배정된 것)은 내려주지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyQuestionCache {
+
+    private static final byte[] EMPTY_JSON = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final DailyQuestionRepository questionRepo;
+    private final TodayQuestionHolder todayQuestionHolder;
+    private final ObjectMapper objectMapper;
+
+    // builtOn/todayQuestionId: 만들기 직전의 논리적 오늘과 오늘의 질문 id
+    private record Entry(byte[] json, LocalDate builtOn, Long todayQuestionId) {
+    }
+
+    private final Map<YearMonth, Entry> entries = new ConcurrentHashMap<>();
+
+    public byte[] get(YearMonth month) {
+        LocalDate logicalToday = todayQuestionHolder.logicalDate();
+        Long todayQuestionId = todayQuestionHolder.todayQuestion()
+                .map(TodayQuestionHolder.TodayQuestion::id)
+                .orElse(null);
+        YearMonth currentMonth = YearMonth.from(logicalToday);
+        // 미리 배정된 앞으로의 질문은 보여주지 않는다
+        if (month.isAfter(currentMonth)) {
+            return EMPTY_JSON;
+        }
+
+        Entry entry = entries.get(month);
+        if (entry != null && isFresh(entry, month, currentMonth, logicalToday, todayQuestionId)) {
+            return entry.json();
+        }
+        byte[] json = build(month, logicalToday);
+        entries.put(month, new Entry(json, logicalToday, todayQuestionId));
+        return json;
+    }
+
+    // 새 질문이 활성화된 달 무효화
+    public void evict(YearMonth month) {
+        entries.remove(month);
+    }
+
+    // 지난 달: 그 달이 끝난 뒤에 만든 것이면 영구히 유효
+    // 이번 달: 같은 논리적 날짜, 같은 오늘의 질문일 때 만든 것만 유효 (활성화 전에 만든 목록은 다시 만든다)
+    private boolean isFresh(Entry entry, YearMonth month, YearMonth currentMonth,
+                            LocalDate logicalToday, Long todayQuestionId) {
+        if (month.isBefore(currentMonth)) {
+            return entry.builtOn().isAfter(month.atEndOfMonth());
+        }
+        return entry.builtOn().equals(logicalToday) && Objects.equals(entry.todayQuestionId(), todayQuestionId);
+    }
+
+    // 논리적 오늘까지의 질문만 (이후 날짜는 미리 배정만 된 것)
+    private byte[] build(YearMonth month, LocalDate logicalToday) {
+        LocalDate last = month.atEndOfMonth().isAfter(logicalToday) ? logicalToday : month.atEndOfMonth();
+        List<MonthlyQuestionDto> questions = questionRepo
+                .findAllByActivationDateBetweenOrderByActivationDate(month.atDay(1), last)
+                .stream()
+                .map(q -> new MonthlyQuestionDto(
+                        q.getId(),
+                        q.getActivationDate().toString(),
+                        q.getQuestion()
+                ))
+                .toList();
+        try {
+            return objectMapper.writeValueAsBytes(questions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("월간 질문 직렬화에 실패했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package da_ni_ni.backend.qna.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import da_ni_ni.backend.qna.domain.DailyAnswer;
+import da_ni_ni.backend.qna.dto.ArchiveRow;
+import da_ni_ni.backend.qna.dto.ArchiveSourceRow;
+import da_ni_ni.backend.qna.dto.QnaArchivePageDto;
+import da_ni_ni.backend.qna.repository.DailyAnswerRepository;
+import da_ni_ni.backend.qna.repository.QnaArchiveRepository;
+import da_ni_ni.backend.user.domain.User;
+import da_ni_ni.backend.user.dto.FamilyMemberRow;
+import da_ni_ni.backend.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * 지난 문답 보관함
+ *
+ * (그룹, 질문)마다 구성원 답변을 JSON 하나로 묶어 두고, 답변 등록/수정/삭제 트랜잭션 안에서 그 행을 다시 만든다.
+ * 보관함은 활성화 날짜 키셋 페이지로 읽으므로 페이지마다 질문 범위 조회 한 번이면 된다.
+ * 이 읽기 모델이 생기기 전 답변은 backfill로 채운다 (마감된 날 중 보관함에 없는 (그룹, 질문)만 읽는다).
+ */
+@Slf4j
+@Service
+public class QnaArchiveService {
+
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final String NO_ANSWER = "아직 답변을 작성하지 않았습니다.";
+    private static final TypeReference<LinkedHashMap<Long, String>> ANSWERS_TYPE = new TypeReference<>() {
+    };
+
+    private static final String BACKFILL_SQL =
+            "INSERT INTO qna_archive (family_group_id, question_id, activation_date, answers_json, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private final QnaArchiveRepository archiveRepo;
+    private final DailyAnswerRepository answerRepo;
+    private final UserRepository userRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+
+    public QnaArchiveService(QnaArchiveRepository archiveRepo,
+                             DailyAnswerRepository answerRepo,
+                             UserRepository userRepo,
+                             JdbcTemplate jdbcTemplate,
+                             ObjectMapper objectMapper,
+                             Clock clock,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${qna.archive.batch-size:500}") int batchSize) {
+        this.archiveRepo = archiveRepo;
+        this.answerRepo = answerRepo;
+        this.userRepo = userRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 답변이 바뀐 (그룹, 질문) 행을 다시 만든다 (호출한 쪽 트랜잭션 안에서)
+     * 행을 잠근 뒤 답변을 읽으므로, 같은 그룹 구성원이 동시에 답변해도 먼저 커밋된 답변이 빠지지 않는다.
+     */
+    @Transactional
+    public void refresh(Long familyGroupId, Long questionId, LocalDate activationDate) {
+        LocalDateTime now = LocalDateTime.now(clock.withZone(TodayQuestionHolder.ZONE));
+        archiveRepo.insertIfAbsent(familyGroupId, questionId, activationDate, now);
+        archiveRepo.findForUpdate(familyGroupId, questionId).ifPresent(archive -> {
+            List<Long> memberIds = userRepo.findMemberRows(familyGroupId).stream()
+                    .map(FamilyMemberRow::getUserId)
+                    .toList();
+            Map<Long, String> answers = new TreeMap<>();
+            for (DailyAnswer answer : answerRepo.findAllByQuestionIdAndUserIdIn(questionId, memberIds)) {
+                answers.put(answer.getUserId(), answer.getAnswerText());
+            }
+            archive.updateAnswers(toJson(answers), now);
+        });
+    }
+
+    /** before 이전에 활성화된 질문을 최신순으로 size개 (현재 구성원 기준, 답변 없는 사람은 "아직…") */
+    @Transactional(readOnly = true)
+    public QnaArchivePageDto getPage(Long familyGroupId, List<User> members, LocalDate before, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<ArchiveRow> rows = archiveRepo.findPage(familyGroupId, before, PageRequest.of(0, pageSize));
+
+        List<QnaArchivePageDto.Item> items = rows.stream()
+                .map(row -> {
+                    Map<Long, String> answers = fromJson(row.getAnswersJson());
+                    List<QnaArchivePageDto.AnswerInfo> answerInfos = members.stream()
+                            .map(member -> new QnaArchivePageDto.AnswerInfo(
+                                    member.getId(),
+                                    member.getNickName(),
+                                    answers.getOrDefault(member.getId(), NO_ANSWER)
+                            ))
+                            .toList();
+                    return new QnaArchivePageDto.Item(row.getActivationDate().toString(), row.getQuestionId(),
+                            row.getQuestion(), answerInfos);
+                })
+                .toList();
+        String nextBefore = rows.size() < pageSize
+                ? null
+                : rows.get(rows.size() - 1).getActivationDate().toString();
+        return new QnaArchivePageDto(items, nextBefore);
+    }
+
+    /**
+     * 마감된 날(before 이전) 답변 중 보관함에 없는 (그룹, 질문) 행을 채운다
+     * 이미 있는 (그룹, 질문)은 조회에서 빠지므로, 한 번 채운 뒤에는 읽을 답변이 거의 없다.
+     * 답변을 (그룹, 질문) 순으로 스트리밍하며 batchSize 행씩 INSERT 하므로 메모리는 이력 길이와 무관하다.
+     * 조회와 INSERT 사이에 refresh가 먼저 만든 행은 ON CONFLICT로 건너뛴다.
+     */
+    public void backfill(LocalDate before) {
+        int rows = readOnlyTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(clock.withZone(TodayQuestionHolder.ZONE));
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            int count = 0;
+            try (Stream<ArchiveSourceRow> sources = answerRepo.streamArchiveSourcesBefore(before)) {
+                Iterator<ArchiveSourceRow> it = sources.iterator();
+                ArchiveSourceRow head = null;
+                Map<Long, String> answers = new TreeMap<>();
+                while (it.hasNext()) {
+                    ArchiveSourceRow row = it.next();
+                    if (head != null && !(head.getFamilyGroupId().equals(row.getFamilyGroupId())
+                            && head.getQuestionId().equals(row.getQuestionId()))) {
+                        batch.add(backfillArgs(head, answers, now));
+                        count++;
+                        answers = new TreeMap<>();
+                        if (batch.size() >= batchSize) {
+                            flush(batch);
+                        }
+                    }
+                    if (answers.isEmpty()) {
+                        head = row;
+                    }
+                    answers.put(row.getUserId(), row.getAnswerText());
+                }
+                if (head != null) {
+                    batch.add(backfillArgs(head, answers, now));
+                    count++;
+                }
+            }
+            flush(batch);
+            return count;
+        });
+        log.info("문답 보관함 채우기 ({} 이전): {}개 (그룹, 질문) 확인", before, rows);
+    }
+
+    private Object[] backfillArgs(ArchiveSourceRow head, Map<Long, String> answers, LocalDateTime now) {
+        return new Object[]{head.getFamilyGroupId(), head.getQuestionId(), head.getActivationDate(), toJson(answers), now};
+    }
+
+    private void flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(BACKFILL_SQL, batch));
+        batch.clear();
+    }
+
+    private String toJson(Map<Long, String> answers) {
+        try {
+            return objectMapper.writeValueAsString(answers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<Long, String> fromJson(String json) {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, ANSWERS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("보관함 답변 JSON을 읽을 수 없습니다: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+}
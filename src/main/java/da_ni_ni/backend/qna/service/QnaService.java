@@ -1,12 +1,10 @@
 package da_ni_ni.backend.qna.service;
 
-import da_ni_ni.backend.qna.domain.DailyAnswer;
-import da_ni_ni.backend.qna.domain.DailyQuestion;
+import da_ni_ni.backend.firebase.NotificationService;
 import da_ni_ni.backend.qna.dto.*;
 import da_ni_ni.backend.qna.exception.BadRequestException;
 import da_ni_ni.backend.qna.exception.ForbiddenException;
 import da_ni_ni.backend.qna.repository.DailyAnswerRepository;
-import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
 import da_ni_ni.backend.user.domain.User;
 import da_ni_ni.backend.user.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -15,160 +13,183 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class QnaService {
-    private final DailyQuestionRepository questionRepo;
     private final DailyAnswerRepository answerRepo;
     private final AuthService authService;
+    private final TodayQuestionHolder todayQuestionHolder;
+    private final MonthlyQuestionCache monthlyQuestionCache;
+    private final AnswerMatrixCache answerMatrixCache;
+    private final FamilyAnswerBoard familyAnswerBoard;
+    private final AnswerStatsService answerStatsService;
+    private final QnaArchiveService qnaArchiveService;
+    private final NotificationService notificationService;
 
     /** 1) 오늘 활성화된 질문 조회 (activation_date 기준) */
     public DailyQuestionDto getTodayQuestion() {
         User me = authService.getApprovedUser();
-        LocalDate logicalDate = getLogicalDate();  // 오전 5시 기점 “오늘” 계산
 
-        DailyQuestion q = questionRepo
-                .findByActivationDate(logicalDate)
+        // 오전 5시 기점 “오늘”의 질문 (메모리 스냅샷)
+        TodayQuestionHolder.TodayQuestion q = todayQuestionHolder.todayQuestion()
                 .orElseThrow(() -> new BadRequestException("오늘의 질문이 아직 준비되지 않았습니다."));
 
-        return new DailyQuestionDto(q.getId(), q.getQuestion());
+        return new DailyQuestionDto(q.id(), q.question());
     }
 
-    /** 2) 월간 활성화 질문 조회 */
-    public List<MonthlyQuestionDto> getMonthlyQuestions(int year, int month) {
+    /** 2) 월간 활성화 질문 조회 (MonthlyQuestionDto 목록을 직렬화한 JSON, 월 단위 캐시) */
+    public byte[] getMonthlyQuestions(int year, int month) {
         authService.getApprovedUser();
+        if (month < 1 || month > 12) {
+            throw new BadRequestException("잘못된 월입니다.");
+        }
+        return monthlyQuestionCache.get(YearMonth.of(year, month));
+    }
 
-        LocalDate first = LocalDate.of(year, month, 1);
-        LocalDate last  = first.plusMonths(1).minusDays(1);
-
-        return questionRepo
-                .findAllByActivationDateBetweenOrderByActivationDate(first, last)
-                .stream()
-                .map(q -> new MonthlyQuestionDto(
-                        q.getId(),
-                        q.getActivationDate().toString(),
-                        q.getQuestion()
+    /** 월간 가족 답변 현황 (구성원 × 날짜 비트셋) */
+    public AnswerMatrixDto getMonthlyAnswerMatrix(int year, int month) {
+        User me = authService.getApprovedUser();
+        if (month < 1 || month > 12) {
+            throw new BadRequestException("잘못된 월입니다.");
+        }
+        YearMonth yearMonth = YearMonth.of(year, month);
+        Map<Long, Integer> masks = answerMatrixCache.get(me.getFamilyGroup().getId(), yearMonth);
+
+        List<AnswerMatrixDto.MemberRow> members = authService.getFamilyMembers(me).stream()
+                .map(member -> new AnswerMatrixDto.MemberRow(
+                        member.getId(),
+                        member.getNickName(),
+                        masks.getOrDefault(member.getId(), 0)
                 ))
-                .collect(Collectors.toList());
+                .toList();
+        return new AnswerMatrixDto(yearMonth.toString(), yearMonth.lengthOfMonth(), members);
     }
 
-    public QuestionDetailDto getQuestionDetail(Long questionId) {
+    /** 내 답변 통계 (연속 일수, 참여율) */
+    public AnswerStatsDto getMyAnswerStats() {
         User me = authService.getApprovedUser();
+        return answerStatsService.getUserStats(me, todayQuestionHolder.logicalDate());
+    }
 
-        // 1) 우선 질문 자체가 있는지 검사 (ID 오류 → 400)
-        DailyQuestion q = questionRepo.findById(questionId)
-                .orElseThrow(() -> new BadRequestException("잘못된 질문 ID입니다."));
-
-        // 2) 논리적 오늘 계산 (오전 5시 기준)
-        LocalDate logicalToday = getLogicalDate();
-
-        // 3) 질문의 activationDate 가져오기
-        LocalDate activationDate = q.getActivationDate();
-
-        // 4) “오늘” 활성화된 질문일 경우에만 본인 답변 여부 검사
-        if (activationDate.equals(logicalToday)) {
-            boolean answered = answerRepo.findByQuestionIdAndUserId(questionId, me.getId())
-                    .isPresent();
-            if (!answered) {
-                throw new ForbiddenException(
-                        "당일 질문에 답변을 등록해야 다른 가족의 답변을 볼 수 있습니다."
-                );
-            }
+    /** 가족 답변 통계 + 구성원별 통계 */
+    public GroupAnswerStatsDto getFamilyAnswerStats() {
+        User me = authService.getApprovedUser();
+        return answerStatsService.getGroupStats(me.getFamilyGroup().getId(),
+                authService.getFamilyMembers(me), todayQuestionHolder.logicalDate());
+    }
+
+    /** 지난 문답 보관함 (before 이전 질문을 최신순으로, 없으면 논리적 오늘 이전부터) */
+    public QnaArchivePageDto getArchive(LocalDate before, int size) {
+        User me = authService.getApprovedUser();
+        LocalDate logicalToday = todayQuestionHolder.logicalDate();
+        if (before == null || before.isAfter(logicalToday)) {
+            before = logicalToday;
         }
-        // activationDate < logicalToday (즉, 과거 질문)이면 답변 여부와 무관하게 통과
+        return qnaArchiveService.getPage(me.getFamilyGroup().getId(), authService.getFamilyMembers(me), before, size);
+    }
+
+    public QuestionDetailDto getQuestionDetail(Long questionId) {
+        User me = authService.getApprovedUser();
+
+        // 1) 질문과 가족 전체의 답변 (없는 질문/아직 활성화되지 않은 질문 → 400)
+        //    오늘 질문은 그룹별로 메모리에 적재된 값, 동시 조회는 한 번의 조회로 합쳐진다
+        // 2) “오늘” 활성화된 질문일 경우에만 본인 답변 여부 검사 (오전 5시 기준)
+        //    activationDate < logicalToday (즉, 과거 질문)이면 답변 여부와 무관하게 통과
+        FamilyAnswers family = visibleFamilyAnswers(questionId, me);
 
-        // 5) 전체 가족의 답변 수집 (없는 사람은 “아직…” 텍스트)
-        List<QuestionDetailDto.AnswerInfo> answers = authService.getFamilyMembers().stream()
+        // 3) 전체 가족의 답변 수집 (없는 사람은 “아직…” 텍스트)
+        List<QuestionDetailDto.AnswerInfo> answers = family.members().stream()
                 .map(member -> {
-                    String ans = answerRepo
-                            .findByQuestionIdAndUserId(questionId, member.getId())
-                            .map(DailyAnswer::getAnswerText)
-                            .orElse("아직 답변을 작성하지 않았습니다.");
+                    String ans = family.answerByUserId().getOrDefault(member.userId(), "아직 답변을 작성하지 않았습니다.");
                     return new QuestionDetailDto.AnswerInfo(
-                            member.getId(),
-                            member.getNickName(),
+                            member.userId(),
+                            member.nickname(),
                             ans
                     );
                 })
                 .collect(Collectors.toList());
 
-        // 6) DTO 반환
+        // 4) DTO 반환
         return new QuestionDetailDto(
-                q.getActivationDate().toString(), // 보통 createdAt이 아닌 activationDate를 보여줘도 좋습니다
-                q.getId(),
-                q.getQuestion(),
+                family.activationDate().toString(),
+                family.questionId(),
+                family.question(),
                 answers
         );
     }
 
 
+    // 질문 상세에 보여줄 가족 답변 현황 (오늘 질문에 아직 답하지 않았으면 403)
+    private FamilyAnswers visibleFamilyAnswers(Long questionId, User me) {
+        Long familyGroupId = me.getFamilyGroup().getId();
+        FamilyAnswers family = familyAnswerBoard.get(questionId, familyGroupId);
+        if (!family.activationDate().equals(todayQuestionHolder.logicalDate())
+                || family.answerByUserId().containsKey(me.getId())) {
+            return family;
+        }
+        // 메모리 값에 없으면 DB로 한 번 더 확인 (다른 인스턴스에서 방금 등록한 답변, 새로 합류한 구성원 등)
+        if (answerRepo.existsByQuestionIdAndUserId(questionId, me.getId())) {
+            return familyAnswerBoard.reload(questionId, familyGroupId);
+        }
+        throw new ForbiddenException(
+                "당일 질문에 답변을 등록해야 다른 가족의 답변을 볼 수 있습니다."
+        );
+    }
+
     // 4) 답변 등록
     @Transactional
     public String submitAnswer(Long questionId, AnswerRequestDto req) {
         User me = authService.getApprovedUser();
-        LocalDate logicalToday = getLogicalDate();
 
         // 1) 오늘 활성화된 질문인지
-        DailyQuestion activeQ = questionRepo.findByActivationDate(logicalToday)
+        TodayQuestionHolder.TodayQuestion activeQ = todayQuestionHolder.todayQuestion()
                 .orElseThrow(() -> new BadRequestException("오늘 활성화된 질문이 없습니다."));
-        if (!activeQ.getId().equals(questionId)) {
+        if (!activeQ.id().equals(questionId)) {
             throw new BadRequestException("오늘 활성화된 질문에만 답변할 수 있습니다.");
         }
 
-        // 2) 중복 답변 검사
-        Long myId = me.getId();
-        if (answerRepo.findByQuestionIdAndUserId(questionId, myId).isPresent()) {
+        // 2) 답변 저장 (이미 답변했으면 (question_id, user_id) 유니크 제약으로 0건)
+        LocalDateTime now = todayQuestionHolder.now();
+        int inserted = answerRepo.insertIfAbsent(questionId, me.getId(), req.getAnswer(), now);
+        if (inserted == 0) {
             throw new BadRequestException("이미 답변을 등록했습니다.");
         }
-
-        // 답변 저장
-        DailyAnswer a = new DailyAnswer();
-        a.setQuestion(activeQ);
-        a.setUserId(myId);
-        a.setAnswerText(req.getAnswer());
-        answerRepo.save(a);
-        return a.getCreatedAt().toString();
+        answerStatsService.answered(me.getId(), me.getFamilyGroup().getId(), activeQ.activationDate());
+        answerMatrixCache.evict(me.getFamilyGroup().getId(), YearMonth.from(activeQ.activationDate()));
+        familyAnswerBoard.evict(me.getFamilyGroup().getId());
+        qnaArchiveService.refresh(me.getFamilyGroup().getId(), questionId, activeQ.activationDate());
+        notificationService.sendDailyAnswerNotification(me, questionId, activeQ.question(), activeQ.activationDate());
+        return now.toString();
     }
 
-
-
     /** 5) 답변 수정 (당일 활성화된 질문에 대해서만) */
     @Transactional
     public String updateAnswer(Long questionId, AnswerRequestDto req) {
         User me = authService.getApprovedUser();
         Long myId = me.getId();
 
-        // 1) 논리적 오늘 계산 (오전 5시 기준)
-        LocalDate logicalToday = getLogicalDate();
-
-        // 2) 오늘 활성화된 질문인지 확인
-        DailyQuestion activeQ = questionRepo.findByActivationDate(logicalToday)
+        // 1) 오늘 활성화된 질문인지 확인 (오전 5시 기준)
+        TodayQuestionHolder.TodayQuestion activeQ = todayQuestionHolder.todayQuestion()
                 .orElseThrow(() -> new BadRequestException("오늘 활성화된 질문이 없습니다."));
-        if (!activeQ.getId().equals(questionId)) {
+        if (!activeQ.id().equals(questionId)) {
             throw new BadRequestException("오늘 활성화된 질문만 수정할 수 있습니다.");
         }
 
-        // 3) 내 답변 로드 (없으면 400)
-        DailyAnswer a = answerRepo.findByQuestionIdAndUserId(questionId, myId)
-                .orElseThrow(() -> new BadRequestException("내 답변이 없습니다."));
-
-        // 4) 답변이 “오늘” 작성된 것인지 검증
-        LocalDateTime createdAt = a.getCreatedAt();
-        LocalDate creationLogicalDate = createdAt.toLocalTime().isBefore(LocalTime.of(5, 0))
-                ? createdAt.toLocalDate().minusDays(1)
-                : createdAt.toLocalDate();
-        if (!creationLogicalDate.equals(logicalToday)) {
-            throw new BadRequestException("당일(오전 5시 이후) 등록한 답변만 수정할 수 있습니다.");
+        // 2) 논리적 오늘(오전 5시 이후) 작성한 내 답변만 한 문장으로 수정 (없으면 400)
+        LocalDateTime now = todayQuestionHolder.now();
+        int updated = answerRepo.updateAnswerText(questionId, myId, req.getAnswer(), now,
+                todayQuestionHolder.logicalDayStart());
+        if (updated == 0) {
+            throw new BadRequestException("당일(오전 5시 이후) 등록한 내 답변이 없습니다.");
         }
+        familyAnswerBoard.evict(me.getFamilyGroup().getId());
+        qnaArchiveService.refresh(me.getFamilyGroup().getId(), questionId, activeQ.activationDate());
 
-        // 5) 실제 답변 수정
-        a.setAnswerText(req.getAnswer());
-        DailyAnswer updated = answerRepo.saveAndFlush(a);
-
-        return updated.getUpdatedAt().toString();
+        return now.toString();
     }
 
 
@@ -178,34 +199,22 @@ public class QnaService {
         User me = authService.getApprovedUser();
         Long myId = me.getId();
 
-        // 1) 논리적 오늘 계산 (오전 5시 기준)
-        LocalDate logicalToday = getLogicalDate();
-
-        // 2) 오늘 활성화된 질문인지 확인
-        DailyQuestion activeQ = questionRepo.findByActivationDate(logicalToday)
+        // 1) 오늘 활성화된 질문인지 확인 (오전 5시 기준)
+        TodayQuestionHolder.TodayQuestion activeQ = todayQuestionHolder.todayQuestion()
                 .orElseThrow(() -> new BadRequestException("오늘 활성화된 질문이 없습니다."));
-        if (!activeQ.getId().equals(questionId)) {
+        if (!activeQ.id().equals(questionId)) {
             throw new BadRequestException("오늘 활성화된 질문만 삭제할 수 있습니다.");
         }
 
-        // 3) 내 답변이 실제로 있는지 확인
-        DailyAnswer a = answerRepo.findByQuestionIdAndUserId(questionId, myId)
-                .orElseThrow(() -> new BadRequestException("내 답변이 없습니다."));
-
-        // 4) 삭제
-        answerRepo.deleteByQuestionIdAndUserId(questionId, myId);
+        // 2) 삭제 (내 답변이 없으면 400)
+        int deleted = answerRepo.deleteByQuestionIdAndUserId(questionId, myId);
+        if (deleted == 0) {
+            throw new BadRequestException("내 답변이 없습니다.");
+        }
+        answerStatsService.unanswered(myId, me.getFamilyGroup().getId(), activeQ.activationDate());
+        answerMatrixCache.evict(me.getFamilyGroup().getId(), YearMonth.from(activeQ.activationDate()));
+        familyAnswerBoard.evict(me.getFamilyGroup().getId());
+        qnaArchiveService.refresh(me.getFamilyGroup().getId(), questionId, activeQ.activationDate());
         return questionId;
     }
-
-
-    /** “오늘”을 오전 5시 기점으로 계산하는 헬퍼 */
-    private LocalDate getLogicalDate() {
-        ZoneId zone = ZoneId.of("Asia/Seoul");
-        LocalTime now = LocalTime.now(zone);
-        LocalDate today = LocalDate.now(zone);
-        // 오전 5시 전이면 ‘어제’를 오늘로 본다
-        return now.isBefore(LocalTime.of(5, 0))
-                ? today.minusDays(1)
-                : today;
-    }
 }
@@ -0,0 +1,77 @@
+package da_ni_ni.backend.qna.service;
+
+import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 질문 활성화 달력 미리 만들기
+ *
+ * 앞으로 N일 동안 질문이 배정되지 않은 날짜에 미배정 질문을 ID 순으로 한 번의 배치 UPDATE로 배정한다.
+ * 오전 5시에는 이미 배정된 질문을 메모리에서 바꿔 끼우기만 하면 된다.
+ * 여러 인스턴스에서 동시에 돌지 않도록 호출하는 쪽에서 ScheduledJobLock으로 감싼다.
+ */
+@Slf4j
+@Service
+public class QuestionCalendarService {
+
+    private static final String ASSIGN_SQL =
+            "UPDATE questions SET activation_date = ? WHERE question_id = ? AND activation_date IS NULL";
+
+    private final DailyQuestionRepository questionRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final int daysAhead;
+
+    public QuestionCalendarService(DailyQuestionRepository questionRepo,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${qna.calendar.days-ahead:14}") int daysAhead) {
+        this.questionRepo = questionRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.daysAhead = daysAhead;
+    }
+
+    /** from부터 설정된 일수만큼 달력 채우기 → 새로 배정한 건수 */
+    @Transactional
+    public int prepareUpcoming(LocalDate from) {
+        return assign(from, daysAhead);
+    }
+
+    /** from부터 days일 중 비어 있는 날짜에 질문 배정 → 새로 배정한 건수 */
+    @Transactional
+    public int assign(LocalDate from, int days) {
+        LocalDate to = from.plusDays(days - 1L);
+        Set<LocalDate> assigned = new HashSet<>(questionRepo.findActivationDatesBetween(from, to));
+        List<LocalDate> emptyDates = from.datesUntil(to.plusDays(1))
+                .filter(date -> !assigned.contains(date))
+                .toList();
+        if (emptyDates.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> questionIds = questionRepo.findUnassignedIds(PageRequest.of(0, emptyDates.size()));
+        if (questionIds.size() < emptyDates.size()) {
+            log.warn("배정할 질문이 부족합니다. 필요 {}건, 남은 질문 {}건", emptyDates.size(), questionIds.size());
+        }
+        List<Object[]> batchArgs = new ArrayList<>(questionIds.size());
+        for (int i = 0; i < questionIds.size(); i++) {
+            batchArgs.add(new Object[]{emptyDates.get(i), questionIds.get(i)});
+        }
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(ASSIGN_SQL, batchArgs)) {
+            // 드라이버가 건수를 알려주지 않으면(SUCCESS_NO_INFO) 1건으로 본다
+            updated += count < 0 ? 1 : count;
+        }
+        log.info("질문 달력 배정: {} ~ {}, {}건", from, to, updated);
+        return updated;
+    }
+}
@@ -0,0 +1,270 @@
+package da_ni_ni.backend.qna.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import da_ni_ni.backend.qna.domain.QuestionText;
+import da_ni_ni.backend.qna.dto.QuestionImportReport;
+import da_ni_ni.backend.qna.exception.BadRequestException;
+import da_ni_ni.backend.qna.exception.ForbiddenException;
+import da_ni_ni.backend.user.domain.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 질문 은행 가져오기 (CSV / NDJSON)
+ *
+ * 입력을 한 건씩 읽어 batchSize 건마다 JDBC 배치 INSERT로 넣는다 (메모리는 입력 크기와 무관).
+ * 중복은 정규화한 문장의 해시(text_hash 유니크)로 DB가 걸러낸다 (ON CONFLICT DO NOTHING).
+ * - CSV: 첫 번째 열이 질문, 첫 줄이 "question"이면 헤더로 보고 건너뜀 (큰따옴표 필드 지원)
+ * - NDJSON: 한 줄에 {"question": "..."} 하나
+ */
+@Slf4j
+@Service
+public class QuestionImportService {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format of(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("지원하지 않는 형식입니다: " + value);
+            }
+        }
+    }
+
+    private static final int MAX_QUESTION_LENGTH = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO questions (question, text_hash, created_at) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+    // 해시가 없는 기존 질문 (가져오기 전에 채워야 기존 질문과 중복을 걸러낼 수 있다)
+    private static final String UNHASHED_SQL =
+            "SELECT question_id, question FROM questions WHERE text_hash IS NULL AND question_id > ? " +
+            "ORDER BY question_id LIMIT ?";
+    // 같은 해시가 이미 있으면(기존 중복 질문) 비워 둔다
+    private static final String BACKFILL_SQL =
+            "UPDATE questions SET text_hash = ? WHERE question_id = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM questions WHERE text_hash = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Set<String> adminEmails;
+    private final int batchSize;
+
+    public QuestionImportService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 Clock clock,
+                                 @Value("${qna.import.admin-emails:}") List<String> adminEmails,
+                                 @Value("${qna.import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.adminEmails = adminEmails.stream()
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.batchSize = batchSize;
+    }
+
+    /** 관리자 API에서 호출 (qna.import.admin-emails에 등록된 사용자만) */
+    public QuestionImportReport importAsAdmin(User user, InputStream in, Format format) {
+        if (!adminEmails.contains(user.getEmail())) {
+            throw new ForbiddenException("질문을 가져올 권한이 없습니다.");
+        }
+        return importQuestions(in, format);
+    }
+
+    public QuestionImportReport importQuestions(InputStream in, Format format) {
+        long startedAt = System.nanoTime();
+        backfillHashes();
+
+        LocalDateTime now = LocalDateTime.now(clock.withZone(TodayQuestionHolder.ZONE));
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long read = 0;
+        long accepted = 0;
+        long inserted = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            QuestionSource source = format == Format.CSV ? new CsvSource(reader) : new NdjsonSource(reader, objectMapper);
+            String text;
+            while ((text = source.next()) != null) {
+                read++;
+                text = text.strip();
+                if (text.isEmpty() || text.length() > MAX_QUESTION_LENGTH) {
+                    continue;
+                }
+                accepted++;
+                batch.add(new Object[]{text, QuestionText.hash(text), now});
+                if (batch.size() >= batchSize) {
+                    inserted += flush(batch);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        inserted += flush(batch);
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        QuestionImportReport report = new QuestionImportReport(read, inserted, accepted - inserted, read - accepted,
+                elapsedMs, read * 1000 / elapsedMs);
+        log.info("질문 가져오기: {}", report);
+        return report;
+    }
+
+    private long flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int[] counts = transaction.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+        batch.clear();
+        long inserted = 0;
+        for (int count : counts) {
+            // 드라이버가 건수를 알려주지 않으면(SUCCESS_NO_INFO) 1건으로 본다
+            inserted += count < 0 ? 1 : count;
+        }
+        return inserted;
+    }
+
+    // 해시가 없는 질문을 ID 순으로 batchSize 건씩 채운다
+    private void backfillHashes() {
+        long lastId = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(UNHASHED_SQL,
+                    (rs, rowNum) -> new Object[]{rs.getLong("question_id"), rs.getString("question")},
+                    lastId, batchSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<Object[]> updates = rows.stream()
+                    .map(row -> {
+                        String hash = QuestionText.hash((String) row[1]);
+                        return new Object[]{hash, row[0], hash};
+                    })
+                    .toList();
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(BACKFILL_SQL, updates));
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    // 입력에서 질문 문장을 하나씩 꺼낸다 (끝이면 null, 읽을 수 없는 줄은 빈 문자열)
+    private interface QuestionSource {
+        String next() throws IOException;
+    }
+
+    private static final class NdjsonSource implements QuestionSource {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+
+        NdjsonSource(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public String next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                return node.path("question").asText("");
+            } catch (JsonProcessingException e) {
+                return "";
+            }
+        }
+    }
+
+    private static final class CsvSource implements QuestionSource {
+        private final BufferedReader reader;
+        private boolean header = true;
+        private boolean eof;
+
+        CsvSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public String next() throws IOException {
+            String field;
+            while ((field = nextRecord()) != null) {
+                boolean skip = field.isBlank() || (header && field.strip().equalsIgnoreCase("question"));
+                header = false;
+                if (!skip) {
+                    return field;
+                }
+            }
+            return null;
+        }
+
+        // 레코드 하나를 읽어 첫 번째 열만 돌려준다 (따옴표 안의 쉼표/줄바꿈/"" 처리)
+        private String nextRecord() throws IOException {
+            if (eof) {
+                return null;
+            }
+            StringBuilder value = new StringBuilder();
+            boolean firstColumn = true;
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int n = reader.read();
+                        if (n == '"') {
+                            if (firstColumn) {
+                                value.append('"');
+                            }
+                            continue;
+                        }
+                        quoted = false;
+                        if (n == -1) {
+                            break;
+                        }
+                        reader.reset();
+                        continue;
+                    }
+                    if (firstColumn) {
+                        value.append((char) c);
+                    }
+                    continue;
+                }
+                if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    firstColumn = false;
+                } else if (c == '\n') {
+                    return value.toString();
+                } else if (c != '\r' && firstColumn) {
+                    value.append((char) c);
+                }
+            }
+            eof = true;
+            return any ? value.toString() : null;
+        }
+    }
+}
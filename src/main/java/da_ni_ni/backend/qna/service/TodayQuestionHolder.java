@@ -0,0 +1,112 @@
+package da_ni_ni.backend.qna.service;
+
+import da_ni_ni.backend.qna.domain.DailyQuestion;
+import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 논리적 "오늘"(서울 시간 오전 5시 기점)과 오늘 활성화된 질문을 메모리에 들고 있는 컴포넌트
+ *
+ * 오늘의 질문은 하루 한 번(오전 5시)만 바뀌므로 불변 스냅샷으로 들고 있다가
+ * 다음 오전 5시가 지나거나 스케줄러가 새 질문을 활성화하면 통째로 교체한다.
+ * 아직 질문이 활성화되지 않은 날은 잠시 뒤 다시 확인한다.
+ */
+@Slf4j
+@Component
+public class TodayQuestionHolder {
+
+    public static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    public static final LocalTime DAY_START = LocalTime.of(5, 0);
+    private static final Duration EMPTY_RETRY = Duration.ofMinutes(1);
+
+    // 오늘의 질문 (엔티티 대신 불변 값으로 보관)
+    public record TodayQuestion(Long id, String question, LocalDate activationDate) {
+        static TodayQuestion from(DailyQuestion q) {
+            return new TodayQuestion(q.getId(), q.getQuestion(), q.getActivationDate());
+        }
+    }
+
+    private record Snapshot(LocalDate logicalDate, Instant validUntil, TodayQuestion question) {
+    }
+
+    private final Clock clock;
+    private final DailyQuestionRepository questionRepo;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public TodayQuestionHolder(Clock clock, DailyQuestionRepository questionRepo) {
+        this.clock = clock;
+        this.questionRepo = questionRepo;
+    }
+
+    /** 논리적 오늘 (오전 5시 전이면 어제) */
+    public LocalDate logicalDate() {
+        return current().logicalDate();
+    }
+
+    /** 오늘 활성화된 질문 (없으면 empty) */
+    public Optional<TodayQuestion> todayQuestion() {
+        return Optional.ofNullable(current().question());
+    }
+
+    /** 현재 서울 시각 (답변 작성/수정 시각 기록용) */
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock.withZone(ZONE));
+    }
+
+    /** 논리적 오늘이 시작된 시각 (오전 5시) */
+    public LocalDateTime logicalDayStart() {
+        return logicalDate().atTime(DAY_START);
+    }
+
+    /** 질문 활성화 직후 등 DB 기준으로 즉시 다시 읽기 */
+    public void refresh() {
+        synchronized (this) {
+            snapshot.set(load());
+        }
+    }
+
+    /** 주어진 시각이 속한 논리적 날짜 */
+    public static LocalDate logicalDateOf(LocalDateTime dateTime) {
+        return dateTime.toLocalTime().isBefore(DAY_START)
+                ? dateTime.toLocalDate().minusDays(1)
+                : dateTime.toLocalDate();
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot.get();
+        if (s != null && clock.instant().isBefore(s.validUntil())) {
+            return s;
+        }
+        // 만료 시점에 몰린 요청 중 한 번만 DB를 읽는다
+        synchronized (this) {
+            s = snapshot.get();
+            if (s == null || !clock.instant().isBefore(s.validUntil())) {
+                s = load();
+                snapshot.set(s);
+            }
+            return s;
+        }
+    }
+
+    private Snapshot load() {
+        ZonedDateTime now = ZonedDateTime.now(clock.withZone(ZONE));
+        LocalDate logicalDate = logicalDateOf(now.toLocalDateTime());
+        Instant nextDayStart = logicalDate.plusDays(1).atTime(DAY_START).atZone(ZONE).toInstant();
+
+        TodayQuestion question = questionRepo.findByActivationDate(logicalDate)
+                .map(TodayQuestion::from)
+                .orElse(null);
+        Instant validUntil = nextDayStart;
+        if (question == null) {
+            Instant retryAt = now.toInstant().plus(EMPTY_RETRY);
+            validUntil = retryAt.isBefore(nextDayStart) ? retryAt : nextDayStart;
+            log.warn("{} 활성화된 질문이 없습니다.", logicalDate);
+        }
+        return new Snapshot(logicalDate, validUntil, question);
+    }
+}
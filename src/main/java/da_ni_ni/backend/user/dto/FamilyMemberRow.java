@@ -0,0 +1,8 @@
+package da_ni_ni.backend.user.dto;
+
+// 가족 구성원 요약 (id, 닉네임, 그룹)
+public interface FamilyMemberRow {
+    Long getUserId();
+    String getNickName();
+    Long getFamilyGroupId();
+}
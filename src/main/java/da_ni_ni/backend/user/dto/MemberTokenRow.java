@@ -0,0 +1,7 @@
+package da_ni_ni.backend.user.dto;
+
+// 가족 구성원 FCM 토큰 (id, 토큰)
+public interface MemberTokenRow {
+    Long getUserId();
+    String getFcmToken();
+}
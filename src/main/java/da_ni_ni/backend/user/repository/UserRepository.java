@@ -2,7 +2,11 @@ package da_ni_ni.backend.user.repository;
 
 import da_ni_ni.backend.group.domain.FamilyGroup;
 import da_ni_ni.backend.user.domain.User;
+import da_ni_ni.backend.user.dto.FamilyMemberRow;
+import da_ni_ni.backend.user.dto.MemberTokenRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +18,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     // 그룹 ID로 해당 그룹에 속한 모든 사용자 조회
     List<User> findAllByFamilyGroup(FamilyGroup familyGroup);
-}
\ No newline at end of file
+
+    // 그룹 구성원 요약 (엔티티 로딩 없이)
+    @Query("select u.id as userId, u.nickName as nickName, u.familyGroup.id as familyGroupId " +
+            "from User u where u.familyGroup.id = :familyGroupId order by u.id")
+    List<FamilyMemberRow> findMemberRows(@Param("familyGroupId") Long familyGroupId);
+
+    // 그룹에 속한 모든 사용자 요약 (그룹 단위 일괄 적재용)
+    @Query("select u.id as userId, u.nickName as nickName, u.familyGroup.id as familyGroupId " +
+            "from User u where u.familyGroup is not null order by u.id")
+    List<FamilyMemberRow> findAllMemberRows();
+
+    // 그룹 구성원의 FCM 토큰 (토큰이 없는 구성원 제외)
+    @Query("select u.id as userId, u.fcmToken as fcmToken " +
+            "from User u where u.familyGroup.id = :familyGroupId and u.fcmToken is not null")
+    List<MemberTokenRow> findMemberTokens(@Param("familyGroupId") Long familyGroupId);
+}
@@ -42,7 +42,11 @@ public class AuthService {
 
     /** 가입 승인된 그룹의 모든 멤버 조회 */
     public List<User> getFamilyMembers() {
-        User me = getApprovedUser();
+        return getFamilyMembers(getApprovedUser());
+    }
+
+    /** 이미 조회한 승인 사용자의 그룹 멤버 조회 (현재 사용자 재조회 없음) */
+    public List<User> getFamilyMembers(User me) {
         return userRepo.findAllByFamilyGroup(me.getFamilyGroup());
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package da_ni_ni.backend.user.service;
 
+import da_ni_ni.backend.firebase.GroupTokenRegistry;
 import da_ni_ni.backend.intimacy.repository.IntimacyScoreRepository;
 import da_ni_ni.backend.user.domain.RefreshToken;
 import da_ni_ni.backend.user.domain.User;
@@ -24,6 +25,7 @@ public class UserService {
     private final BCryptPasswordEncoder passwordEncoder;
     private final RefreshTokenService refreshTokenService;
     private final IntimacyScoreRepository intimacyScoreRepository;
+    private final GroupTokenRegistry groupTokenRegistry;
 
     public void signup(SignupRequestDto request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -118,5 +120,9 @@ public class UserService {
         user.updateFcmToken(fcmToken);
         userRepository.save(user);
         log.info("[UserService.updateFcmToken] userRepository.save() 완료");
+        // 그룹 알림용 토큰 목록에도 반영 (커밋 후)
+        if (user.getFamilyGroup() != null) {
+            groupTokenRegistry.updateToken(user.getFamilyGroup().getId(), user.getId(), fcmToken);
+        }
     }
 }
\ No newline at end of file
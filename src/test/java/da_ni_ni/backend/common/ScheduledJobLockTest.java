@@ -0,0 +1,124 @@
+package da_ni_ni.backend.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 인스턴스 두 개(서로 다른 owner)가 같은 잠금 테이블을 공유하는 상황
+public class ScheduledJobLockTest {
+
+    private static final String JOB = "test-job";
+    private static final Duration AT_MOST = Duration.ofMinutes(10);
+    private static final Duration AT_LEAST = Duration.ofSeconds(30);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-03T22:00:00Z"));
+    private SchedulerLockRepository lockRepository;
+    private ScheduledJobLock instanceA;
+    private ScheduledJobLock instanceB;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:scheduled_job_lock;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS scheduler_lock");
+        jdbcTemplate.execute("CREATE TABLE scheduler_lock (" +
+                "lock_name VARCHAR(64) PRIMARY KEY, " +
+                "locked_until BIGINT NOT NULL, " +
+                "locked_at BIGINT NOT NULL, " +
+                "locked_by VARCHAR(255) NOT NULL)");
+        lockRepository = new SchedulerLockRepository(jdbcTemplate);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        instanceA = new ScheduledJobLock(lockRepository, clock, transactionManager);
+        instanceB = new ScheduledJobLock(lockRepository, clock, transactionManager);
+    }
+
+    @Test
+    void otherInstanceSkipsWhileJobIsRunning() {
+        AtomicBoolean innerRan = new AtomicBoolean();
+
+        boolean ran = instanceA.runLocked(JOB, AT_MOST, AT_LEAST, () ->
+                innerRan.set(instanceB.runLocked(JOB, AT_MOST, AT_LEAST, () -> { })));
+
+        assertTrue(ran);
+        assertFalse(innerRan.get());
+    }
+
+    @Test
+    void lockIsHeldAtLeastForTheMinimumAfterAQuickRun() {
+        AtomicInteger runs = new AtomicInteger();
+        instanceA.runLocked(JOB, AT_MOST, AT_LEAST, runs::incrementAndGet);
+
+        // 시계가 조금 늦은 인스턴스가 같은 회차를 다시 실행하지 않는다
+        clock.advance(AT_LEAST.minusMillis(1));
+        assertFalse(instanceB.runLocked(JOB, AT_MOST, AT_LEAST, runs::incrementAndGet));
+
+        clock.advance(Duration.ofMillis(1));
+        assertTrue(instanceB.runLocked(JOB, AT_MOST, AT_LEAST, runs::incrementAndGet));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void lockIsReleasedAfterAFailedRun() {
+        assertThrows(IllegalStateException.class, () ->
+                instanceA.runLocked(JOB, AT_MOST, Duration.ZERO, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertTrue(instanceB.runLocked(JOB, AT_MOST, AT_LEAST, () -> { }));
+    }
+
+    @Test
+    void leaseOfADeadInstanceIsTakenOverAfterAtMost() {
+        // 잠금을 잡은 채 죽은 인스턴스 (해제 없음)
+        long now = clock.millis();
+        lockRepository.tryAcquire(JOB, "dead-instance", now, now + AT_MOST.toMillis());
+
+        assertFalse(instanceA.runLocked(JOB, AT_MOST, AT_LEAST, () -> { }));
+
+        clock.advance(AT_MOST);
+        assertTrue(instanceA.runLocked(JOB, AT_MOST, AT_LEAST, () -> { }));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
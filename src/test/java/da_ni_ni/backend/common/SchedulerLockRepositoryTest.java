@@ -0,0 +1,94 @@
+package da_ni_ni.backend.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 운영 DB와 같은 조건부 단일 문장(만료 잠금 가져오기 + INSERT ON CONFLICT)을 H2(PostgreSQL 모드)에서 검증
+public class SchedulerLockRepositoryTest {
+
+    private static final String LOCK = "test-job";
+
+    private JdbcTemplate jdbcTemplate;
+    private SchedulerLockRepository lockRepository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:scheduler_lock_repo;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS scheduler_lock");
+        jdbcTemplate.execute("CREATE TABLE scheduler_lock (" +
+                "lock_name VARCHAR(64) PRIMARY KEY, " +
+                "locked_until BIGINT NOT NULL, " +
+                "locked_at BIGINT NOT NULL, " +
+                "locked_by VARCHAR(255) NOT NULL)");
+        lockRepository = new SchedulerLockRepository(jdbcTemplate);
+    }
+
+    @Test
+    void firstAcquireInsertsTheLockRow() {
+        assertTrue(lockRepository.tryAcquire(LOCK, "a", 1_000, 61_000));
+
+        Map<String, Object> row = row();
+        assertEquals("a", row.get("locked_by"));
+        assertEquals(61_000L, ((Number) row.get("locked_until")).longValue());
+    }
+
+    @Test
+    void heldLockIsNotTakenAndConflictingInsertIsIgnored() {
+        lockRepository.tryAcquire(LOCK, "a", 1_000, 61_000);
+
+        // 만료 전: UPDATE는 0건, INSERT는 ON CONFLICT로 무시된다
+        assertFalse(lockRepository.tryAcquire(LOCK, "b", 60_999, 120_999));
+
+        assertEquals("a", row().get("locked_by"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scheduler_lock", Integer.class));
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverByAnotherOwner() {
+        lockRepository.tryAcquire(LOCK, "a", 1_000, 61_000);
+
+        // 임대 만료 시각이 되면 다른 인스턴스가 가져간다 (잠금을 잡은 인스턴스가 죽은 경우)
+        assertTrue(lockRepository.tryAcquire(LOCK, "b", 61_000, 121_000));
+
+        Map<String, Object> row = row();
+        assertEquals("b", row.get("locked_by"));
+        assertEquals(121_000L, ((Number) row.get("locked_until")).longValue());
+        assertEquals(61_000L, ((Number) row.get("locked_at")).longValue());
+    }
+
+    @Test
+    void releaseByFormerOwnerDoesNotTouchTheNewLease() {
+        lockRepository.tryAcquire(LOCK, "a", 1_000, 61_000);
+        lockRepository.tryAcquire(LOCK, "b", 61_000, 121_000);
+
+        // 늦게 끝난 이전 소유자가 해제해도 새 임대는 그대로
+        lockRepository.release(LOCK, "a", 70_000);
+
+        assertEquals(121_000L, ((Number) row().get("locked_until")).longValue());
+        assertFalse(lockRepository.tryAcquire(LOCK, "c", 70_000, 130_000));
+    }
+
+    @Test
+    void releaseShortensLeaseSoNextRunCanAcquire() {
+        lockRepository.tryAcquire(LOCK, "a", 1_000, 61_000);
+
+        lockRepository.release(LOCK, "a", 5_000);
+
+        assertFalse(lockRepository.tryAcquire(LOCK, "b", 4_999, 64_999));
+        assertTrue(lockRepository.tryAcquire(LOCK, "b", 5_000, 65_000));
+    }
+
+    private Map<String, Object> row() {
+        return jdbcTemplate.queryForMap("SELECT * FROM scheduler_lock WHERE lock_name = ?", LOCK);
+    }
+}
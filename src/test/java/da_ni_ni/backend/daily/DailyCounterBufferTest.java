@@ -0,0 +1,156 @@
+package da_ni_ni.backend.daily;
+
+import da_ni_ni.backend.daily.repository.DailyCounterRepository;
+import da_ni_ni.backend.daily.service.DailyCounterBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DailyCounterBufferTest {
+
+    private static final Long DAILY_ID = 1L;
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 5_000;
+
+    @Mock
+    private DailyCounterRepository counterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // DB에 반영된 값 (배치 UPDATE 결과를 누적)
+    private final AtomicLong persistedLikes = new AtomicLong();
+    private final AtomicLong persistedComments = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Map<Long, long[]> deltas = invocation.getArgument(0);
+            long[] delta = deltas.get(DAILY_ID);
+            if (delta != null) {
+                persistedLikes.addAndGet(delta[0]);
+                persistedComments.addAndGet(delta[1]);
+            }
+            return null;
+        }).when(counterRepository).applyDeltas(anyMap());
+    }
+
+    @Test
+    void concurrentUpdatesOnOneDailyAreCountedExactly() throws Exception {
+        // given: flush를 쉬지 않고 돌려 증감과 flush가 계속 겹치도록 한다
+        DailyCounterBuffer buffer = new DailyCounterBuffer(counterRepository, transactionManager, 4);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        // 별도 스레드에서 주기적 flush 흉내
+        Future<?> flusher = pool.submit(() -> {
+            while (writing.get()) {
+                buffer.flush();
+            }
+        });
+
+        // when: 모든 스레드가 같은 게시글에 좋아요 +1, 짝수 번째마다 -1, 댓글 +1
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    buffer.addLikes(DAILY_ID, 1);
+                    if (i % 2 == 0) {
+                        buffer.addLikes(DAILY_ID, -1);
+                    }
+                    buffer.addComments(DAILY_ID, 1);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        flusher.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        long expectedLikes = (long) THREADS * (OPS_PER_THREAD - OPS_PER_THREAD / 2);
+        long expectedComments = (long) THREADS * OPS_PER_THREAD;
+
+        // then: 반영된 값 + 미반영 증감분 = 정확한 총합
+        long stamp = buffer.stamp();
+        assertEquals(expectedLikes, persistedLikes.get() + buffer.pendingLikes(DAILY_ID, stamp));
+        assertEquals(expectedComments, persistedComments.get() + buffer.pendingComments(DAILY_ID, stamp));
+
+        // 마지막 flush 이후에는 모두 DB에 반영되어야 한다
+        buffer.flush();
+        stamp = buffer.stamp();
+        assertEquals(expectedLikes, persistedLikes.get());
+        assertEquals(expectedComments, persistedComments.get());
+        assertEquals(0, buffer.pendingLikes(DAILY_ID, stamp));
+        assertEquals(0, buffer.pendingComments(DAILY_ID, stamp));
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForNextFlush() {
+        // given
+        DailyCounterBuffer buffer = new DailyCounterBuffer(counterRepository, transactionManager, 4);
+        buffer.addLikes(DAILY_ID, 3);
+        buffer.addComments(DAILY_ID, 2);
+        doAnswer(invocation -> {
+            throw new IllegalStateException("DB 장애");
+        }).when(counterRepository).applyDeltas(anyMap());
+
+        // when: 반영 실패
+        buffer.flush();
+
+        // then: 증감분은 버퍼에 남아 조회에 계속 반영된다
+        assertEquals(3, buffer.pendingLikes(DAILY_ID, buffer.stamp()));
+        assertEquals(2, buffer.pendingComments(DAILY_ID, buffer.stamp()));
+        assertEquals(0, persistedLikes.get());
+    }
+
+    @Test
+    void flushedDeltaIsCountedOnceAcrossTheCommit() {
+        // given
+        DailyCounterBuffer buffer = new DailyCounterBuffer(counterRepository, transactionManager, 4);
+        buffer.addLikes(DAILY_ID, 3);
+        long[] readBeforeCommit = new long[2];
+        doAnswer(invocation -> {
+            // 커밋 전에 행을 읽은 조회 (stamp, DB 값)
+            readBeforeCommit[0] = buffer.stamp();
+            readBeforeCommit[1] = persistedLikes.get();
+            // flush 중에도 조회는 막히지 않는다
+            assertEquals(3, readBeforeCommit[1] + buffer.pendingLikes(DAILY_ID, readBeforeCommit[0]));
+            Map<Long, long[]> deltas = invocation.getArgument(0);
+            persistedLikes.addAndGet(deltas.get(DAILY_ID)[0]);
+            return null;
+        }).when(counterRepository).applyDeltas(anyMap());
+
+        // when
+        buffer.flush();
+
+        // then: 커밋 전에 읽은 행은 flush가 끝난 뒤에도 증감분을 더해 보고 (덜 세지 않음),
+        // 커밋 후에 읽은 행은 DB 값만 본다 (3 + 3이 아님)
+        assertEquals(3, readBeforeCommit[1] + buffer.pendingLikes(DAILY_ID, readBeforeCommit[0]));
+        long stamp = buffer.stamp();
+        assertEquals(3, persistedLikes.get() + buffer.pendingLikes(DAILY_ID, stamp));
+    }
+}
@@ -0,0 +1,154 @@
+package da_ni_ni.backend.firebase;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FcmTokenPrunerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private GroupTokenRegistry groupTokenRegistry;
+
+    private FcmTokenPruner pruner;
+
+    // UPDATE 한 번마다 넘어간 토큰 목록
+    private final List<List<Object>> updates = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        pruner = new FcmTokenPruner(jdbcTemplate, groupTokenRegistry, new SimpleMeterRegistry(), 2, 100);
+    }
+
+    @Test
+    void singleSendCollectsOnlyUnregisteredTokens() {
+        recordUpdates();
+        pruner.collect("expired", fcmError(MessagingErrorCode.UNREGISTERED));
+        pruner.collect("busy", fcmError(MessagingErrorCode.UNAVAILABLE));
+        pruner.collect("broken", new IllegalStateException("네트워크 오류"));
+
+        int cleared = pruner.prune();
+
+        assertEquals(1, cleared);
+        assertEquals(List.of(List.of("expired")), updates);
+        verify(groupTokenRegistry).removeTokens(List.of("expired"));
+    }
+
+    @Test
+    void commandResultCollectsTokenTarget() {
+        recordUpdates();
+        pruner.collect(NotificationCommand.toToken("expired", "제목", "내용", Map.of()),
+                null, fcmError(MessagingErrorCode.UNREGISTERED));
+
+        pruner.prune();
+
+        assertEquals(List.of(List.of("expired")), updates);
+    }
+
+    @Test
+    void multicastReportCollectsByResultToken() {
+        recordUpdates();
+        MulticastReport report = new MulticastReport(List.of(
+                new MulticastReport.Result("ok", "message-1", null),
+                new MulticastReport.Result("expired", null, fcmError(MessagingErrorCode.UNREGISTERED)),
+                new MulticastReport.Result("busy", null, fcmError(MessagingErrorCode.UNAVAILABLE))
+        ), List.of(), 1, 0);
+
+        // 토큰 목록 순서와 상관없이 결과에 들어 있는 토큰으로 모은다
+        pruner.collect(List.of(), report);
+        pruner.prune();
+
+        assertEquals(List.of(List.of("expired")), updates);
+    }
+
+    @Test
+    void batchResponseCollectsByTokenPosition() {
+        recordUpdates();
+        SendResponse ok = mock(SendResponse.class);
+        when(ok.isSuccessful()).thenReturn(true);
+        SendResponse expired = mock(SendResponse.class);
+        when(expired.isSuccessful()).thenReturn(false);
+        FirebaseMessagingException unregistered = fcmError(MessagingErrorCode.UNREGISTERED);
+        when(expired.getException()).thenReturn(unregistered);
+        BatchResponse batch = mock(BatchResponse.class);
+        when(batch.getFailureCount()).thenReturn(1);
+        when(batch.getResponses()).thenReturn(List.of(ok, expired));
+
+        pruner.collect(List.of("token-0", "token-1"), batch);
+        pruner.prune();
+
+        assertEquals(List.of(List.of("token-1")), updates);
+    }
+
+    @Test
+    void failedChunkIsRequeuedForNextRun() {
+        // given: 배치 크기 2, 토큰 3개 → 두 번째 UPDATE가 실패
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    updates.add(tokensOf(invocation.getArguments()));
+                    return 2;
+                })
+                .thenThrow(new DataAccessResourceFailureException("연결 끊김"))
+                .thenAnswer(invocation -> {
+                    updates.add(tokensOf(invocation.getArguments()));
+                    return 1;
+                });
+        for (String token : List.of("t1", "t2", "t3")) {
+            pruner.collect(token, fcmError(MessagingErrorCode.UNREGISTERED));
+        }
+
+        // when: 처음 정리는 앞 묶음만 반영
+        int first = pruner.prune();
+
+        // then: 지운 토큰만 캐시에서 빼고, 남은 토큰은 다음 주기에 다시 시도한다
+        assertEquals(2, first);
+        verify(groupTokenRegistry).removeTokens(List.of("t1", "t2"));
+
+        int second = pruner.prune();
+        assertEquals(1, second);
+        assertEquals(List.of(List.of("t1", "t2"), List.of("t3")), updates);
+        verify(groupTokenRegistry).removeTokens(List.of("t3"));
+        assertEquals(0, pruner.prune());
+    }
+
+    private void recordUpdates() {
+        lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            List<Object> tokens = tokensOf(invocation.getArguments());
+            updates.add(tokens);
+            return tokens.size();
+        });
+    }
+
+    // getArguments()는 가변 인자를 펼쳐서 준다 (첫 번째는 SQL)
+    private static List<Object> tokensOf(Object[] arguments) {
+        return Arrays.asList(arguments).subList(1, arguments.length);
+    }
+
+    private static FirebaseMessagingException fcmError(MessagingErrorCode code) {
+        FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+        lenient().when(exception.getMessagingErrorCode()).thenReturn(code);
+        return exception;
+    }
+}
@@ -1,15 +1,18 @@
 package da_ni_ni.backend.firebase;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
 import com.google.firebase.messaging.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -26,7 +29,9 @@ public class FirebaseNotificationServiceTest {
     @Mock
     private FirebaseMessaging firebaseMessaging;
 
-    @InjectMocks
+    @Mock
+    private FcmTokenPruner fcmTokenPruner;
+
     private FirebaseNotificationService firebaseNotificationService;
 
     private Map<String, String> testData;
@@ -36,6 +41,9 @@ public class FirebaseNotificationServiceTest {
 
     @BeforeEach
     public void setup() {
+        MulticastFanOut multicastFanOut = new MulticastFanOut(firebaseMessaging, new SimpleMeterRegistry(), 500, 4);
+        firebaseNotificationService = new FirebaseNotificationService(firebaseMessaging, fcmTokenPruner, multicastFanOut);
+
         testData = new HashMap<>();
         testData.put("key1", "value1");
         testData.put("key2", "value2");
@@ -69,11 +77,10 @@ public class FirebaseNotificationServiceTest {
     @Test
     public void testSendMulticastNotification() throws Exception {
         // given
-        BatchResponse mockResponse = mock(BatchResponse.class);
-        when(mockResponse.getSuccessCount()).thenReturn(2);
-        when(mockResponse.getFailureCount()).thenReturn(1);
-
-        when(firebaseMessaging.sendMulticast(any(MulticastMessage.class))).thenReturn(mockResponse);
+        // 토큰 3개 중 2개 성공, 1개 실패
+        BatchResponse mockResponse = batchResponse(true, true, false);
+        when(firebaseMessaging.sendEachForMulticastAsync(any(MulticastMessage.class)))
+                .thenReturn(ApiFutures.immediateFuture(mockResponse));
 
         // when
         BatchResponse result = firebaseNotificationService.sendMulticastNotification(
@@ -83,7 +90,66 @@ public class FirebaseNotificationServiceTest {
         assertEquals(2, result.getSuccessCount());
         assertEquals(1, result.getFailureCount());
 
-        verify(firebaseMessaging, times(1)).sendMulticast(any(MulticastMessage.class));
+        verify(firebaseMessaging, times(1)).sendEachForMulticastAsync(any(MulticastMessage.class));
+        verify(firebaseMessaging, never()).sendMulticast(any(MulticastMessage.class));
+    }
+
+    @Test
+    public void testSendMulticastNotificationSplitsIntoChunksOf500() throws Exception {
+        // given: 토큰 1,201개 → 500 / 500 / 201개 묶음 3개, 두 번째 묶음은 통째로 실패
+        List<String> manyTokens = new ArrayList<>();
+        for (int i = 0; i < 1201; i++) {
+            manyTokens.add("token-" + i);
+        }
+        boolean[] allSuccess500 = new boolean[500];
+        Arrays.fill(allSuccess500, true);
+        boolean[] allSuccess201 = new boolean[201];
+        Arrays.fill(allSuccess201, true);
+        BatchResponse firstChunk = batchResponse(allSuccess500);
+        BatchResponse lastChunk = batchResponse(allSuccess201);
+        when(firebaseMessaging.sendEachForMulticastAsync(any(MulticastMessage.class)))
+                .thenReturn(ApiFutures.immediateFuture(firstChunk))
+                .thenReturn(ApiFutures.immediateFailedFuture(new IllegalStateException("묶음 실패")))
+                .thenReturn(ApiFutures.immediateFuture(lastChunk));
+
+        // when
+        BatchResponse result = firebaseNotificationService.sendMulticastNotification(
+                manyTokens, "멀티캐스트 제목", "멀티캐스트 내용", testData);
+
+        // then: 묶음마다 500개 이하로 나눠 보내고, 결과는 토큰 순서대로 하나로 모인다
+        ArgumentCaptor<MulticastMessage> captor = ArgumentCaptor.forClass(MulticastMessage.class);
+        verify(firebaseMessaging, times(3)).sendEachForMulticastAsync(captor.capture());
+
+        MulticastReport report = (MulticastReport) result;
+        assertEquals(3, report.chunks());
+        assertEquals(1, report.failedChunks());
+        assertEquals(701, report.getSuccessCount());
+        assertEquals(500, report.getFailureCount());
+        assertEquals(1201, report.results().size());
+        assertEquals("token-0", report.results().get(0).token());
+        assertFalse(report.results().get(500).isSuccessful());
+        assertTrue(report.results().get(1000).isSuccessful());
+        assertEquals("token-1200", report.results().get(1200).token());
+    }
+
+    // 토큰별 성공 여부대로 응답하는 BatchResponse
+    private BatchResponse batchResponse(boolean... successes) {
+        List<SendResponse> responses = new ArrayList<>();
+        for (boolean success : successes) {
+            SendResponse response = mock(SendResponse.class);
+            lenient().when(response.isSuccessful()).thenReturn(success);
+            if (success) {
+                lenient().when(response.getMessageId()).thenReturn("message-id");
+            } else {
+                FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+                lenient().when(exception.getMessage()).thenReturn("전송 실패");
+                lenient().when(response.getException()).thenReturn(exception);
+            }
+            responses.add(response);
+        }
+        BatchResponse batch = mock(BatchResponse.class);
+        lenient().when(batch.getResponses()).thenReturn(responses);
+        return batch;
     }
 
     @Test
@@ -109,14 +175,17 @@ public class FirebaseNotificationServiceTest {
         FirebaseMessagingException mockException = mock(FirebaseMessagingException.class);
         when(mockException.getMessage()).thenReturn("테스트 예외 메시지");
 
-        when(firebaseMessaging.send(any(Message.class))).thenThrow(mockException);
+        when(firebaseMessaging.sendAsync(any(Message.class)))
+                .thenReturn(ApiFutures.immediateFailedFuture(mockException));
 
-        // when & then
+        // when & then: 비동기 전송이 실패해도 동기 send()로 다시 보내지 않는다
         Exception exception = assertThrows(RuntimeException.class, () -> {
             firebaseNotificationService.sendNotification(testToken, "제목", "내용", testData);
         });
 
         assertTrue(exception.getCause() instanceof FirebaseMessagingException);
-        verify(firebaseMessaging, times(1)).send(any(Message.class));
+        verify(firebaseMessaging, times(1)).sendAsync(any(Message.class));
+        verify(firebaseMessaging, never()).send(any(Message.class));
+        verify(fcmTokenPruner).collect(testToken, mockException);
     }
 }
\ No newline at end of file
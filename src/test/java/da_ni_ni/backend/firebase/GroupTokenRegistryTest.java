@@ -0,0 +1,185 @@
+package da_ni_ni.backend.firebase;
+
+import da_ni_ni.backend.user.dto.MemberTokenRow;
+import da_ni_ni.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 적재 중 자리표시 처리 확인 (트랜잭션 밖이라 updateToken은 즉시 반영된다)
+ */
+@ExtendWith(MockitoExtension.class)
+public class GroupTokenRegistryTest {
+
+    private static final Long GROUP_ID = 1L;
+    private static final long TTL_SECONDS = 600;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private GroupTokenRegistry registry;
+
+    private record Row(Long userId, String fcmToken) implements MemberTokenRow {
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public String getFcmToken() {
+            return fcmToken;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-06-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new GroupTokenRegistry(userRepository, clock, meterRegistry, TTL_SECONDS);
+    }
+
+    @Test
+    void loadedGroupIsServedFromMemoryAndUpdatedInPlace() {
+        // given
+        when(userRepository.findMemberTokens(GROUP_ID)).thenReturn(List.of(new Row(10L, "a"), new Row(11L, "")));
+        assertEquals(Map.of(10L, "a"), registry.tokens(GROUP_ID));
+
+        // when: 적재된 그룹의 토큰 변경은 다시 읽지 않고 반영된다
+        registry.updateToken(GROUP_ID, 11L, "b");
+        registry.removeTokens(List.of("a"));
+
+        // then
+        assertEquals(Map.of(11L, "b"), registry.tokens(GROUP_ID));
+        assertEquals(List.of("b"), registry.tokensExcept(GROUP_ID, 10L));
+        verify(userRepository, times(1)).findMemberTokens(GROUP_ID);
+        assertEquals(1.0, loadCount());
+    }
+
+    @Test
+    void tokenUpdateDuringLoadKeepsLoadedValueOutOfMemory() {
+        // given: 구성원을 읽는 도중 토큰 변경이 커밋된다 (읽은 값은 변경 전)
+        when(userRepository.findMemberTokens(GROUP_ID))
+                .thenAnswer(invocation -> {
+                    registry.updateToken(GROUP_ID, 10L, "new");
+                    return List.of(new Row(10L, "old"));
+                })
+                .thenReturn(List.of(new Row(10L, "new")));
+
+        // when
+        Map<Long, String> first = registry.tokens(GROUP_ID);
+        Map<Long, String> second = registry.tokens(GROUP_ID);
+
+        // then: 이번 호출에는 읽은 값을 쓰지만 들고 있지 않으므로, 다음 호출은 다시 읽어 새 토큰을 본다
+        assertEquals(Map.of(10L, "old"), first);
+        assertEquals(Map.of(10L, "new"), second);
+        assertEquals(2.0, loadCount());
+    }
+
+    @Test
+    void pruneDuringLoadKeepsLoadedValueOutOfMemory() {
+        // given: 구성원을 읽는 도중 만료 토큰 정리가 끝난다
+        when(userRepository.findMemberTokens(GROUP_ID))
+                .thenAnswer(invocation -> {
+                    registry.removeTokens(List.of("expired"));
+                    return List.of(new Row(10L, "expired"), new Row(11L, "ok"));
+                })
+                .thenReturn(List.of(new Row(11L, "ok")));
+
+        // when
+        registry.tokens(GROUP_ID);
+        Map<Long, String> after = registry.tokens(GROUP_ID);
+
+        // then: 정리된 토큰이 메모리에 남지 않는다
+        assertEquals(Map.of(11L, "ok"), after);
+        assertEquals(2.0, loadCount());
+    }
+
+    @Test
+    void sweepSkipsGroupStillLoading() {
+        // given: 읽는 도중 ttl이 지나고 정리 작업이 돈다
+        when(userRepository.findMemberTokens(GROUP_ID))
+                .thenAnswer(invocation -> {
+                    clock.advance(Duration.ofSeconds(TTL_SECONDS + 1));
+                    registry.evictExpired();
+                    return List.of(new Row(10L, "a"));
+                });
+
+        // when
+        registry.tokens(GROUP_ID);
+        Map<Long, String> cached = registry.tokens(GROUP_ID);
+
+        // then: 자리표시가 지워지지 않았으므로 적재 결과가 들어가 다음 호출은 다시 읽지 않는다
+        assertEquals(Map.of(10L, "a"), cached);
+        assertEquals(1.0, loadCount());
+    }
+
+    @Test
+    void sweepDropsGroupsPastTtl() {
+        // given
+        when(userRepository.findMemberTokens(GROUP_ID))
+                .thenReturn(List.of(new Row(10L, "a")))
+                .thenReturn(List.of(new Row(10L, "b")));
+        registry.tokens(GROUP_ID);
+
+        // when: ttl 직전에는 남아 있고, 지나면 정리된다
+        clock.advance(Duration.ofSeconds(TTL_SECONDS - 1));
+        registry.evictExpired();
+        assertEquals(Map.of(10L, "a"), registry.tokens(GROUP_ID));
+        clock.advance(Duration.ofSeconds(1));
+        registry.evictExpired();
+
+        // then: 다음 호출은 DB에서 다시 읽는다
+        assertEquals(Map.of(10L, "b"), registry.tokens(GROUP_ID));
+        assertEquals(2.0, loadCount());
+    }
+
+    private double loadCount() {
+        return meterRegistry.counter("notification.token_registry.loads").count();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package da_ni_ni.backend.firebase;
+
+import com.google.api.core.ApiFutures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 워커는 start() 전에는 돌지 않으므로, 대기열을 채우는 테스트는 시작하지 않은 채로 넘침 처리를 확인한다.
+ */
+@ExtendWith(MockitoExtension.class)
+public class NotificationDispatcherTest {
+
+    @Mock
+    private FirebaseNotificationService firebaseNotificationService;
+
+    @Mock
+    private FcmTokenPruner fcmTokenPruner;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    // 전송을 시작한 토큰 (워커 스레드에서 추가)
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void rejectNewDropsIncomingCommandWhenFull() throws Exception {
+        // given
+        NotificationDispatcher dispatcher = dispatcher(NotificationDispatcher.OverflowPolicy.REJECT_NEW, 2, 1);
+
+        // when
+        assertTrue(dispatcher.enqueue(command("a")));
+        assertTrue(dispatcher.enqueue(command("b")));
+        boolean accepted = dispatcher.enqueue(command("c"));
+
+        // then: 새 알림만 버리고 먼저 들어온 알림은 그대로 보낸다
+        assertFalse(accepted);
+        assertEquals(2, dispatcher.queueDepth());
+        assertEquals(1.0, dropped("rejected"));
+        recordSends();
+        dispatcher.start();
+        dispatcher.shutdown();
+        assertEquals(List.of("a", "b"), sent);
+    }
+
+    @Test
+    void dropOldestEvictsOldestCommandWhenFull() throws Exception {
+        // given
+        NotificationDispatcher dispatcher = dispatcher(NotificationDispatcher.OverflowPolicy.DROP_OLDEST, 2, 1);
+
+        // when
+        dispatcher.enqueue(command("a"));
+        dispatcher.enqueue(command("b"));
+        boolean accepted = dispatcher.enqueue(command("c"));
+
+        // then: 가장 오래된 알림을 버리고 새 알림을 넣는다
+        assertTrue(accepted);
+        assertEquals(2, dispatcher.queueDepth());
+        assertEquals(1.0, dropped("evicted"));
+        recordSends();
+        dispatcher.start();
+        dispatcher.shutdown();
+        assertEquals(List.of("b", "c"), sent);
+    }
+
+    @Test
+    void waitGivesUpAfterEnqueueTimeout() throws Exception {
+        // given
+        NotificationDispatcher dispatcher = dispatcher(NotificationDispatcher.OverflowPolicy.WAIT, 1, 1);
+        dispatcher.enqueue(command("a"));
+
+        // when: 워커가 돌지 않으므로 자리가 나지 않는다
+        long started = System.nanoTime();
+        boolean accepted = dispatcher.enqueue(command("b"));
+        long waitedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // then: enqueueTimeoutMs만큼 기다린 뒤 새 알림을 버린다
+        assertFalse(accepted);
+        assertTrue(waitedMs >= 20, "기다린 시간 " + waitedMs + "ms");
+        assertEquals(1, dispatcher.queueDepth());
+        assertEquals(1.0, dropped("rejected"));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void synchronousSendFailureReleasesInFlightPermit() throws Exception {
+        // given: 동시 전송 1건, 첫 전송은 ApiFuture를 만들기도 전에 예외
+        NotificationDispatcher dispatcher = dispatcher(NotificationDispatcher.OverflowPolicy.REJECT_NEW, 10, 1);
+        when(firebaseNotificationService.sendNotificationAsync(anyString(), anyString(), anyString(), anyMap()))
+                .thenAnswer(invocation -> {
+                    String token = invocation.getArgument(0);
+                    if (token.equals("broken")) {
+                        throw new IllegalStateException("메시지 생성 실패");
+                    }
+                    sent.add(token);
+                    return ApiFutures.immediateFuture("message-id");
+                });
+        dispatcher.enqueue(command("broken"));
+        dispatcher.enqueue(command("ok"));
+
+        // when
+        dispatcher.start();
+        dispatcher.shutdown();
+
+        // then: 실패한 전송의 자리가 반납되어야 다음 알림을 보낼 수 있다
+        assertEquals(List.of("ok"), sent);
+        assertEquals(1.0, meterRegistry.counter("notification.dispatch.failed", "type", "TOKEN").count());
+        assertEquals(1.0, meterRegistry.counter("notification.dispatch.sent", "type", "TOKEN").count());
+        assertEquals(0.0, meterRegistry.get("notification.dispatch.in_flight").gauge().value());
+    }
+
+    @Test
+    void shutdownSendsQueuedCommandsAndRejectsNewOnes() throws Exception {
+        // given
+        NotificationDispatcher dispatcher = dispatcher(NotificationDispatcher.OverflowPolicy.DROP_OLDEST, 10, 2);
+        recordSends();
+        dispatcher.enqueue(command("a"));
+        dispatcher.enqueue(command("b"));
+        dispatcher.enqueue(command("c"));
+        dispatcher.start();
+
+        // when
+        dispatcher.shutdown();
+
+        // then: 대기열에 남은 알림은 종료 전에 모두 보내고, 종료 후 알림은 받지 않는다
+        assertEquals(3, sent.size());
+        assertTrue(sent.containsAll(List.of("a", "b", "c")));
+        assertEquals(0, dispatcher.queueDepth());
+        assertEquals(0.0, dropped("shutdown"));
+        assertFalse(dispatcher.enqueue(command("late")));
+        assertEquals(1.0, dropped("shutdown"));
+    }
+
+    private NotificationDispatcher dispatcher(NotificationDispatcher.OverflowPolicy policy, int capacity, int workers) {
+        return new NotificationDispatcher(firebaseNotificationService, fcmTokenPruner, meterRegistry,
+                capacity, policy, 20, workers, 1);
+    }
+
+    private void recordSends() {
+        when(firebaseNotificationService.sendNotificationAsync(anyString(), anyString(), anyString(), anyMap()))
+                .thenAnswer(invocation -> {
+                    sent.add(invocation.getArgument(0));
+                    return ApiFutures.immediateFuture("message-id");
+                });
+    }
+
+    private static NotificationCommand command(String token) {
+        return NotificationCommand.toToken(token, "제목", "내용", Map.of());
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter("notification.dispatch.dropped", "type", "TOKEN", "reason", reason).count();
+    }
+}
@@ -0,0 +1,304 @@
+package da_ni_ni.backend.firebase;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFutures;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import da_ni_ni.backend.qna.service.TodayQuestionHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 아웃박스 릴레이를 내장 DB(H2)로 검증한다: 가져가기, 임대 만료 후 다시 가져가기, claimToken 조건, 백오프, DEAD.
+ * 릴레이는 자기 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행한다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class NotificationOutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long LEASE_SECONDS = 60;
+    private static final long BACKOFF_BASE_SECONDS = 10;
+    private static final long BACKOFF_MAX_SECONDS = 3600;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-18T00:00:00Z"), TodayQuestionHolder.ZONE);
+    private FirebaseNotificationService firebaseNotificationService;
+    private TransactionTemplate transaction;
+    private NotificationOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        firebaseNotificationService = mock(FirebaseNotificationService.class);
+        transaction = new TransactionTemplate(transactionManager);
+        relay = new NotificationOutboxRelay(outboxRepository, firebaseNotificationService, mock(FcmTokenPruner.class),
+                objectMapper, clock, new SimpleMeterRegistry(), transactionManager,
+                100, LEASE_SECONDS, 1000, MAX_ATTEMPTS, BACKOFF_BASE_SECONDS, BACKOFF_MAX_SECONDS, 7);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        relay.shutdown();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void claimedRowIsSentOnce() {
+        Long id = enqueue(NotificationCommand.toToken("token-1", "제목", "내용", Map.of("type", "TEST")));
+        when(firebaseNotificationService.sendNotificationAsync(anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture("message-1"));
+
+        assertEquals(1, relay.relayBatch());
+        assertEquals(0, relay.relayBatch());
+
+        NotificationOutboxMessage row = row(id);
+        assertEquals(NotificationOutboxMessage.Status.SENT, row.getStatus());
+        assertEquals(1, row.getAttempts());
+        assertNull(row.getLockedUntil());
+        verify(firebaseNotificationService, times(1))
+                .sendNotificationAsync(eq("token-1"), eq("제목"), eq("내용"), eq(Map.of("type", "TEST")));
+    }
+
+    @Test
+    void rowHeldByAnotherRelayIsReclaimedOnlyAfterLeaseExpires() {
+        Long id = enqueue(NotificationCommand.toToken("token-1", "제목", "내용", Map.of()));
+        claimAs("dead-relay");
+        when(firebaseNotificationService.sendNotificationAsync(anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture("message-1"));
+
+        // 임대 중에는 다른 릴레이가 가져가지 않는다
+        clock.advance(Duration.ofSeconds(LEASE_SECONDS - 1));
+        assertEquals(0, relay.relayBatch());
+        verifyNoInteractions(firebaseNotificationService);
+
+        // 임대가 끝나면 죽은 릴레이 대신 다시 보낸다 (시도 횟수는 이어서 센다)
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(1, relay.relayBatch());
+
+        NotificationOutboxMessage row = row(id);
+        assertEquals(NotificationOutboxMessage.Status.SENT, row.getStatus());
+        assertEquals(2, row.getAttempts());
+    }
+
+    @Test
+    void lateResultOfExpiredClaimIsIgnored() {
+        Long id = enqueue(NotificationCommand.toToken("token-1", "제목", "내용", Map.of()));
+        claimAs("dead-relay");
+        when(firebaseNotificationService.sendNotificationAsync(anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(ApiFutures.immediateFailedFuture(new IllegalStateException("일시 오류")));
+        clock.advance(Duration.ofSeconds(LEASE_SECONDS));
+        relay.relayBatch();
+        assertEquals(NotificationOutboxMessage.Status.PENDING, row(id).getStatus());
+
+        // 되살아난 이전 릴레이가 자기 claimToken으로 결과를 기록해도 반영되지 않는다
+        Integer updated = transaction.execute(status -> outboxRepository.markDone(
+                id, "dead-relay", NotificationOutboxMessage.Status.SENT, now()));
+
+        assertEquals(0, updated);
+        assertEquals(NotificationOutboxMessage.Status.PENDING, row(id).getStatus());
+    }
+
+    @Test
+    void retryableFailureIsRescheduledWithExponentialBackoff() {
+        Long id = enqueue(NotificationCommand.toToken("token-1", "제목", "내용", Map.of()));
+        when(firebaseNotificationService.sendNotificationAsync(anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(ApiFutures.immediateFailedFuture(new IllegalStateException("일시 오류")));
+
+        // 1회차 실패: base(10초)의 절반~전체 뒤
+        LocalDateTime firstFailedAt = now();
+        relay.relayBatch();
+        NotificationOutboxMessage row = row(id);
+        assertEquals(NotificationOutboxMessage.Status.PENDING, row.getStatus());
+        assertEquals(1, row.getAttempts());
+        assertTrue(row.getLastError().contains("일시 오류"));
+        assertBetween(row.getNextAttemptAt(), firstFailedAt.plusSeconds(5), firstFailedAt.plusSeconds(10));
+
+        // 재시도 시각 전에는 가져가지 않는다
+        assertEquals(0, relay.relayBatch());
+
+        // 2회차 실패: base * 2(20초)의 절반~전체 뒤
+        clock.advance(Duration.ofSeconds(10));
+        LocalDateTime secondFailedAt = now();
+        assertEquals(1, relay.relayBatch());
+        row = row(id);
+        assertEquals(2, row.getAttempts());
+        assertBetween(row.getNextAttemptAt(), secondFailedAt.plusSeconds(10), secondFailedAt.plusSeconds(20));
+    }
+
+    @Test
+    void rowIsDeadAfterMaxAttempts() {
+        Long id = enqueue(NotificationCommand.toToken("token-1", "제목", "내용", Map.of()));
+        when(firebaseNotificationService.sendNotificationAsync(anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(ApiFutures.immediateFailedFuture(new IllegalStateException("일시 오류")));
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            assertEquals(1, relay.relayBatch());
+            clock.advance(Duration.ofSeconds(BACKOFF_MAX_SECONDS));
+        }
+
+        NotificationOutboxMessage row = row(id);
+        assertEquals(NotificationOutboxMessage.Status.DEAD, row.getStatus());
+        assertEquals(MAX_ATTEMPTS, row.getAttempts());
+        assertEquals(0, relay.relayBatch());
+    }
+
+    @Test
+    void permanentErrorIsDeadWithoutRetry() {
+        Long id = enqueue(NotificationCommand.toToken("token-1", "제목", "내용", Map.of()));
+        when(firebaseNotificationService.sendNotificationAsync(anyString(), anyString(), anyString(), anyMap()))
+                .thenReturn(ApiFutures.immediateFailedFuture(fcmError(MessagingErrorCode.UNREGISTERED)));
+
+        relay.relayBatch();
+
+        NotificationOutboxMessage row = row(id);
+        assertEquals(NotificationOutboxMessage.Status.DEAD, row.getStatus());
+        assertEquals(1, row.getAttempts());
+    }
+
+    @Test
+    void partialMulticastFailureRetriesOnlyRetryableTokens() throws Exception {
+        Long id = enqueue(NotificationCommand.toTokens(List.of("ok", "flaky", "gone"), "제목", "내용", Map.of()));
+        MulticastReport partial = new MulticastReport(List.of(
+                new MulticastReport.Result("ok", "message-1", null),
+                new MulticastReport.Result("flaky", null, fcmError(MessagingErrorCode.UNAVAILABLE)),
+                new MulticastReport.Result("gone", null, fcmError(MessagingErrorCode.UNREGISTERED))
+        ), List.of(), 1, 0);
+        MulticastReport retried = new MulticastReport(List.of(
+                new MulticastReport.Result("flaky", "message-2", null)
+        ), List.of(), 1, 0);
+        when(firebaseNotificationService.sendMulticastAsync(anyList(), anyString(), anyString(), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture(partial))
+                .thenReturn(ApiFutures.immediateFuture(retried));
+
+        // 1회차: 받은 기기와 영구 오류 기기는 빼고, 일시 오류 기기만 남겨 다시 예약
+        relay.relayBatch();
+        NotificationOutboxMessage row = row(id);
+        assertEquals(NotificationOutboxMessage.Status.PENDING, row.getStatus());
+        assertEquals(List.of("flaky"), objectMapper.readValue(row.getTokensJson(), new TypeReference<List<String>>() {
+        }));
+
+        // 2회차: 남은 기기에만 보내고 끝낸다
+        clock.advance(Duration.ofSeconds(BACKOFF_BASE_SECONDS));
+        relay.relayBatch();
+        assertEquals(NotificationOutboxMessage.Status.SENT, row(id).getStatus());
+        verify(firebaseNotificationService).sendMulticastAsync(eq(List.of("flaky")), anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void multicastFailingOnlyWithPermanentErrorsIsDead() {
+        Long id = enqueue(NotificationCommand.toTokens(List.of("gone-1", "gone-2"), "제목", "내용", Map.of()));
+        MulticastReport report = new MulticastReport(List.of(
+                new MulticastReport.Result("gone-1", null, fcmError(MessagingErrorCode.UNREGISTERED)),
+                new MulticastReport.Result("gone-2", null, fcmError(MessagingErrorCode.UNREGISTERED))
+        ), List.of(), 1, 0);
+        when(firebaseNotificationService.sendMulticastAsync(anyList(), anyString(), anyString(), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture(report));
+
+        relay.relayBatch();
+
+        assertEquals(NotificationOutboxMessage.Status.DEAD, row(id).getStatus());
+    }
+
+    private Long enqueue(NotificationCommand command) {
+        try {
+            String tokensJson = command.tokens().isEmpty() ? null : objectMapper.writeValueAsString(command.tokens());
+            String dataJson = objectMapper.writeValueAsString(command.data());
+            return outboxRepository.save(NotificationOutboxMessage.pending(command, tokensJson, dataJson, now())).getId();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 다른 릴레이가 가져간 뒤 기록하지 못하고 죽은 상황
+    private void claimAs(String claimToken) {
+        LocalDateTime now = now();
+        transaction.executeWithoutResult(status -> outboxRepository.findClaimable(now, 10)
+                .forEach(row -> row.claim(claimToken, now.plusSeconds(LEASE_SECONDS), now)));
+    }
+
+    private NotificationOutboxMessage row(Long id) {
+        return outboxRepository.findById(id).orElseThrow();
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static FirebaseMessagingException fcmError(MessagingErrorCode code) {
+        FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+        when(exception.getMessagingErrorCode()).thenReturn(code);
+        return exception;
+    }
+
+    private static void assertBetween(LocalDateTime actual, LocalDateTime from, LocalDateTime to) {
+        assertFalse(actual.isBefore(from), actual + " < " + from);
+        assertFalse(actual.isAfter(to), actual + " > " + to);
+    }
+
+    private static final class MutableClock extends Clock {
+        private final AtomicReference<Instant> now;
+        private final ZoneId zone;
+
+        private MutableClock(Instant now, ZoneId zone) {
+            this(new AtomicReference<>(now), zone);
+        }
+
+        private MutableClock(AtomicReference<Instant> now, ZoneId zone) {
+            this.now = now;
+            this.zone = zone;
+        }
+
+        void advance(Duration duration) {
+            now.updateAndGet(instant -> instant.plus(duration));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    }
+}
@@ -45,7 +45,13 @@ public class NotificationServiceTest {
     private GroupRepository groupRepository;
 
     @org.mockito.Mock
-    private FirebaseNotificationService firebaseNotificationService;
+    private NotificationDispatcher notificationDispatcher;
+
+    @org.mockito.Mock
+    private NotificationOutbox notificationOutbox;
+
+    @org.mockito.Mock
+    private GroupTokenRegistry groupTokenRegistry;
 
     // — 테스트에서 공통으로 사용할 도메인 객체들
     private User testUser;       // 알림을 받는 사용자 (댓글/답변의 대상)
@@ -59,7 +65,7 @@ public class NotificationServiceTest {
     @BeforeEach
     void setUp() {
         // NotificationService에 @InjectMocks 없이 직접 생성하여 의존성 주입
-        notificationService = new NotificationService(firebaseNotificationService, userRepository, groupRepository, dailyQuestionRepository);
+        notificationService = new NotificationService(notificationDispatcher, notificationOutbox, groupTokenRegistry, userRepository, groupRepository, dailyQuestionRepository);
 
         // ─── 1) 그룹 멤버용 사용자(testUser) ───
         testUser = User.builder()
@@ -125,13 +131,13 @@ public class NotificationServiceTest {
         lenient().when(userRepository.findById(testUser2.getId()))
                 .thenReturn(Optional.of(testUser2));
 
-        // ── 공통 Stub │ 그룹 내 멤버 조회 ──
-        // “userRepository.findAllByFamilyGroup(testGroup) → [testUser]”
+        // ── 공통 Stub │ 그룹 구성원 토큰 조회 ──
+        // “groupTokenRegistry.tokensExcept(testGroup, testUser2) → [testUser의 토큰]”
         // testUser2도 반드시 group에 속한다고 가정
         testUser2.setFamilyGroup(testGroup);
         testUser.setFamilyGroup(testGroup);
-        lenient().when(userRepository.findAllByFamilyGroup(testGroup))
-                .thenReturn(Collections.singletonList(testUser));
+        lenient().when(groupTokenRegistry.tokensExcept(testGroup.getId(), testUser2.getId()))
+                .thenReturn(Collections.singletonList(testUser.getFcmToken()));
 
         // ── 공통 Stub │ 오늘의 질문 조회 ──
         // testSendDailyQuestionNotification에서만 실제 사용됨
@@ -146,7 +152,7 @@ public class NotificationServiceTest {
     // ────────────────────────────────────────────────────────────────────
     // 테스트 1: 일기에 새 댓글이 달렸을 때
     //   → NotificationService.sendDailyCommentNotification(...) 호출 시
-    //   → FirebaseNotificationService.sendNotification(token, title, body, data) 검증
+    //   → NotificationOutbox.append(단일 기기 알림) 검증
     // ────────────────────────────────────────────────────────────────────
     @Test
     void testSendDailyCommentNotification() {
@@ -155,21 +161,21 @@ public class NotificationServiceTest {
         // when: 실제로 알림 로직 실행
         notificationService.sendDailyCommentNotification(testComment, testDaily);
 
-        // then: FirebaseNotificationService.sendNotification(...)가 호출되었는지 검증
+        // then: 단일 기기 알림이 아웃박스에 쌓였는지 검증
         // 제목(title) 은 "새로운 댓글"
         // body 에는 “댓글 작성자 이름(getName) + "님이 회원님의 일기에 댓글을 남겼습니다."” 가 포함되어야 함
-        verify(firebaseNotificationService).sendNotification(
-                eq(testUser.getFcmToken()),                          // token: testUser의 fcmToken
-                eq("새로운 댓글"),                                     // title
-                contains(testUser2.getName()),                        // body: “테스트 사용자 2님이 회원님의 일기에 댓글을 남겼습니다.”
-                anyMap()                                              // data: 내부에서 생성하는 Map 객체 (commentId, notificationType, dailyId 등)
-        );
+        verify(notificationOutbox).append(argThat(command ->
+                command.type() == NotificationCommand.Type.TOKEN
+                        && command.target().equals(testUser.getFcmToken())     // token: testUser의 fcmToken
+                        && command.title().equals("새로운 댓글")                  // title
+                        && command.body().contains(testUser2.getName())         // body: “테스트 사용자 2님이 회원님의 일기에 댓글을 남겼습니다.”
+        ));
     }
 
     // ────────────────────────────────────────────────────────────────────
     // 테스트 2: 매일 새로운 질문이 도착했을 때
     //   → NotificationService.sendNewDailyQuestionNotification() 호출 시
-    //   → FirebaseNotificationService.sendNotificationToTopic(...) 검증
+    //   → NotificationDispatcher.enqueue(토픽 알림) 검증
     // ────────────────────────────────────────────────────────────────────
     @Test
     void testSendNewDailyQuestionNotification() {
@@ -178,19 +184,19 @@ public class NotificationServiceTest {
         // when: 실제로 알림 로직 실행
         notificationService.sendNewDailyQuestionNotification();
 
-        // then: FirebaseNotificationService.sendNotificationToTopic(...)가 호출되었는지 검증
-        verify(firebaseNotificationService).sendNotificationToTopic(
-                eq("daily_question"),                                        // topic
-                eq("오늘의 질문이 도착했어요!"),                              // title
-                contains("새로운 가족 질문이 등록되었습니다"),                 // body: 적어도 이 문자열을 포함해야 함
-                anyMap()                                                     // data: questionId, type 등의 Map
-        );
+        // then: 토픽 알림이 발송 대기열에 들어갔는지 검증
+        verify(notificationDispatcher).enqueue(argThat(command ->
+                command.type() == NotificationCommand.Type.TOPIC
+                        && command.target().equals("daily_question")                 // topic
+                        && command.title().equals("오늘의 질문이 도착했어요!")         // title
+                        && command.body().contains("새로운 가족 질문이 등록되었습니다") // body: 적어도 이 문자열을 포함해야 함
+        ));
     }
 
     // ────────────────────────────────────────────────────────────────────
     // 테스트 3: 일일 질문에 답변이 달렸을 때
     //   → NotificationService.sendDailyAnswerNotification(...) 호출 시
-    //   → FirebaseNotificationService.sendMulticastNotification(...) 검증
+    //   → NotificationOutbox.append(여러 기기 알림) 검증
     // ────────────────────────────────────────────────────────────────────
     @Test
     void testSendDailyAnswerNotification() {
@@ -199,14 +205,14 @@ public class NotificationServiceTest {
         // when: 실제로 알림 로직 실행
         notificationService.sendDailyAnswerNotification(testAnswer, testQuestion);
 
-        // then: FirebaseNotificationService.sendMulticastNotification(...)가 호출되었는지 검증
+        // then: 여러 기기 알림이 아웃박스에 쌓였는지 검증
         // title은 "새로운 답변이 등록되었습니다"
         // body에는 “답변 작성자 닉네임(getNickName) + "님이 오늘의 질문에 답변했습니다."” 가 포함되어야 함
-        verify(firebaseNotificationService).sendMulticastNotification(
-                argThat(tokens -> tokens.contains(testUser.getFcmToken())), // tokens 목록에 testUser 토큰이 포함되어야 함
-                eq("새로운 답변이 등록되었습니다"),                          // title
-                contains(testUser2.getNickName()),                            // body: “테스트사용자2님이 오늘의 질문에 답변했습니다.”
-                anyMap()                                                      // data: type, questionId, questionText, questionDate 등
-        );
+        verify(notificationOutbox).append(argThat(command ->
+                command.type() == NotificationCommand.Type.MULTICAST
+                        && command.tokens().contains(testUser.getFcmToken())   // tokens 목록에 testUser 토큰이 포함되어야 함
+                        && command.title().equals("새로운 답변이 등록되었습니다")  // title
+                        && command.body().contains(testUser2.getNickName())     // body: “테스트사용자2님이 오늘의 질문에 답변했습니다.”
+        ));
     }
 }
@@ -0,0 +1,219 @@
+package da_ni_ni.backend.qna;
+
+import da_ni_ni.backend.group.domain.FamilyGroup;
+import da_ni_ni.backend.group.repository.GroupRepository;
+import da_ni_ni.backend.qna.domain.DailyAnswer;
+import da_ni_ni.backend.qna.domain.DailyQuestion;
+import da_ni_ni.backend.qna.repository.AnswerGroupStatsRepository;
+import da_ni_ni.backend.qna.repository.AnswerUserStatsRepository;
+import da_ni_ni.backend.qna.repository.DailyAnswerRepository;
+import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
+import da_ni_ni.backend.qna.service.AnswerStatsService;
+import da_ni_ni.backend.user.domain.User;
+import da_ni_ni.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 답변 통계 정산을 내장 DB(H2)로 검증한다.
+ * 마감된 날 값은 답변 기준으로 덮어쓰고, 오늘 확정 전 값(pending/live)은 남기며, 지난 확정 전 값은 비운다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AnswerStatsReconcileTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DailyQuestionRepository questionRepository;
+    @Autowired
+    private DailyAnswerRepository answerRepository;
+    @Autowired
+    private AnswerUserStatsRepository userStatsRepository;
+    @Autowired
+    private AnswerGroupStatsRepository groupStatsRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Integer, DailyQuestion> questionByDaysAgo = new HashMap<>();
+    private AnswerStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        for (int daysAgo = 0; daysAgo <= 3; daysAgo++) {
+            DailyQuestion q = new DailyQuestion();
+            q.setQuestion("질문 " + daysAgo);
+            q.setActivationDate(TODAY.minusDays(daysAgo));
+            questionByDaysAgo.put(daysAgo, questionRepository.save(q));
+        }
+        // 배치 크기 1: 사용자/그룹마다 따로 기록되는 경로까지 지나가게 한다
+        statsService = new AnswerStatsService(userStatsRepository, groupStatsRepository, answerRepository,
+                jdbcTemplate, transactionManager, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM answer_user_stats");
+        jdbcTemplate.update("DELETE FROM answer_group_stats");
+        answerRepository.deleteAll();
+        userRepository.deleteAll();
+        groupRepository.deleteAll();
+        questionRepository.deleteAll();
+        questionByDaysAgo.clear();
+    }
+
+    @Test
+    void reconcileRewritesClosedDaysAndKeepsOnlyTodaysPendingValues() {
+        // given: 그룹 G(A, B, C), 답변 없는 그룹 H(E), 통계 행이 아직 없는 그룹 K(F)
+        FamilyGroup g = saveGroup("G");
+        FamilyGroup h = saveGroup("H");
+        FamilyGroup k = saveGroup("K");
+        Long a = saveUser("a", g);
+        Long b = saveUser("b", g);
+        Long c = saveUser("c", g);
+        saveUser("e", h);
+        Long f = saveUser("f", k);
+
+        answer(a, 3);
+        answer(a, 2);
+        answer(a, 1);
+        answer(a, 0);
+        answer(b, 3);
+        answer(b, 1);
+        answer(f, 2);
+
+        // 틀어진 누적 값 + 확정 전 날짜 (A: 오늘, B: 어제, C: 그제)
+        insertUserStats(a, 99, TODAY);
+        insertUserStats(b, 99, TODAY.minusDays(1));
+        insertUserStats(c, 5, TODAY.minusDays(2));
+        insertGroupStats(g.getId(), 99, 50, TODAY, 1);
+        insertGroupStats(h.getId(), 7, 20, TODAY.minusDays(1), 3);
+
+        // when
+        statsService.reconcile(TODAY);
+
+        // then: 사용자
+        assertUser(a, TODAY.minusDays(3), TODAY.minusDays(1), 3, 3, 3, TODAY);
+        assertUser(b, TODAY.minusDays(3), TODAY.minusDays(1), 2, 1, 1, null);
+        assertUser(c, null, null, 0, 0, 0, null);
+        assertUser(f, TODAY.minusDays(2), TODAY.minusDays(2), 1, 1, 1, null);
+
+        // then: 그룹 (오늘 답변은 확정 전 값으로만 남는다)
+        assertGroup(g.getId(), TODAY.minusDays(3), TODAY.minusDays(1), 3, 3, 5, TODAY, 1);
+        assertGroup(h.getId(), null, null, 0, 0, 0, null, 0);
+        assertGroup(k.getId(), TODAY.minusDays(2), TODAY.minusDays(2), 1, 1, 1, null, 0);
+
+        // then: 확정 전 값을 합친 현재 값
+        assertEquals(4, userStatsRepository.findById(a).orElseThrow().current().getCurrentStreak());
+        assertEquals(6, groupStatsRepository.findById(g.getId()).orElseThrow().currentTotalAnswers());
+    }
+
+    @Test
+    void reconcileIsIdempotent() {
+        FamilyGroup g = saveGroup("G");
+        Long a = saveUser("a", g);
+        answer(a, 2);
+        answer(a, 1);
+
+        statsService.reconcile(TODAY);
+        statsService.reconcile(TODAY);
+
+        assertUser(a, TODAY.minusDays(2), TODAY.minusDays(1), 2, 2, 2, null);
+        assertGroup(g.getId(), TODAY.minusDays(2), TODAY.minusDays(1), 2, 2, 2, null, 0);
+    }
+
+    private void assertUser(Long userId, LocalDate first, LocalDate last, int days, int current, int longest,
+                            LocalDate pending) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM answer_user_stats WHERE user_id = ?", userId);
+        assertEquals(first, date(row.get("first_date")));
+        assertEquals(last, date(row.get("last_date")));
+        assertEquals(days, ((Number) row.get("days")).intValue());
+        assertEquals(current, ((Number) row.get("current_streak")).intValue());
+        assertEquals(longest, ((Number) row.get("longest_streak")).intValue());
+        assertEquals(pending, date(row.get("pending_date")));
+    }
+
+    private void assertGroup(Long groupId, LocalDate first, LocalDate last, int days, int current, long total,
+                             LocalDate live, int liveAnswers) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT * FROM answer_group_stats WHERE family_group_id = ?", groupId);
+        assertEquals(first, date(row.get("first_date")));
+        assertEquals(last, date(row.get("last_date")));
+        assertEquals(days, ((Number) row.get("days")).intValue());
+        assertEquals(current, ((Number) row.get("current_streak")).intValue());
+        assertEquals(total, ((Number) row.get("total_answers")).longValue());
+        assertEquals(live, date(row.get("live_date")));
+        assertEquals(liveAnswers, ((Number) row.get("live_answers")).intValue());
+    }
+
+    private static LocalDate date(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) value;
+    }
+
+    private void insertUserStats(Long userId, int garbage, LocalDate pendingDate) {
+        jdbcTemplate.update("INSERT INTO answer_user_stats " +
+                        "(user_id, first_date, last_date, days, current_streak, longest_streak, pending_date) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                userId, TODAY.minusDays(30), TODAY.minusDays(1), garbage, garbage, garbage, pendingDate);
+    }
+
+    private void insertGroupStats(Long groupId, int garbage, long totalAnswers, LocalDate liveDate, int liveAnswers) {
+        jdbcTemplate.update("INSERT INTO answer_group_stats " +
+                        "(family_group_id, first_date, last_date, days, current_streak, longest_streak, " +
+                        "total_answers, live_date, live_answers) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                groupId, TODAY.minusDays(30), TODAY.minusDays(1), garbage, garbage, garbage,
+                totalAnswers, liveDate, liveAnswers);
+    }
+
+    private FamilyGroup saveGroup(String name) {
+        return groupRepository.save(FamilyGroup.builder()
+                .name(name)
+                .inviteCode("CODE-" + name)
+                .build());
+    }
+
+    private Long saveUser(String name, FamilyGroup group) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name + "@test.com")
+                .passwordHash("pw")
+                .nickName(name)
+                .familyGroup(group)
+                .build()).getId();
+    }
+
+    private void answer(Long userId, int daysAgo) {
+        DailyAnswer answer = new DailyAnswer();
+        answer.setQuestion(questionByDaysAgo.get(daysAgo));
+        answer.setUserId(userId);
+        answer.setAnswerText("답변");
+        answerRepository.save(answer);
+    }
+}
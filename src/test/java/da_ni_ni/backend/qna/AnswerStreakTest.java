@@ -0,0 +1,229 @@
+package da_ni_ni.backend.qna;
+
+import da_ni_ni.backend.qna.domain.AnswerGroupStats;
+import da_ni_ni.backend.qna.domain.AnswerStreak;
+import da_ni_ni.backend.qna.domain.AnswerUserStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnswerStreakTest {
+
+    private static final LocalDate D1 = LocalDate.of(2026, 10, 1);
+    private static final LocalDate D2 = D1.plusDays(1);
+    private static final LocalDate D3 = D1.plusDays(2);
+    private static final LocalDate D4 = D1.plusDays(3);
+    private static final LocalDate D5 = D1.plusDays(4);
+
+    // ===== AnswerStreak =====
+
+    @Test
+    void plusOnEmptyStartsStreak() {
+        AnswerStreak streak = AnswerStreak.EMPTY.plus(D1);
+
+        assertStreak(streak, D1, D1, 1, 1, 1);
+    }
+
+    @Test
+    void plusConsecutiveDaysExtendsStreak() {
+        AnswerStreak streak = AnswerStreak.EMPTY.plus(D1).plus(D2).plus(D3);
+
+        assertStreak(streak, D1, D3, 3, 3, 3);
+    }
+
+    @Test
+    void plusAfterGapRestartsStreakButKeepsLongest() {
+        AnswerStreak streak = AnswerStreak.EMPTY.plus(D1).plus(D2).plus(D4);
+
+        assertStreak(streak, D1, D4, 3, 1, 2);
+    }
+
+    @Test
+    void plusSameOrEarlierDayIsIgnored() {
+        AnswerStreak streak = AnswerStreak.EMPTY.plus(D1).plus(D2);
+
+        assertSame(streak, streak.plus(D2));
+        assertSame(streak, streak.plus(D1));
+    }
+
+    @Test
+    void currentStreakSurvivesUntilEndOfNextDay() {
+        AnswerStreak streak = AnswerStreak.EMPTY.plus(D1).plus(D2);
+
+        // 오늘 답변했거나 어제 답변했으면 이어지는 중, 그보다 오래되면 끊김
+        assertEquals(2, streak.currentStreakAsOf(D2));
+        assertEquals(2, streak.currentStreakAsOf(D3));
+        assertEquals(0, streak.currentStreakAsOf(D4));
+        assertEquals(0, AnswerStreak.EMPTY.currentStreakAsOf(D1));
+    }
+
+    @Test
+    void participationRateCountsTodayOnlyWhenAnswered() {
+        AnswerStreak beforeToday = AnswerStreak.EMPTY.plus(D1).plus(D2);
+        AnswerStreak withToday = beforeToday.plus(D4);
+
+        // D4에 아직 답하지 않음: D1~D3 중 2일
+        assertEquals(0.667, beforeToday.participationRateAsOf(D4));
+        // D4에 답함: D1~D4 중 3일
+        assertEquals(0.75, withToday.participationRateAsOf(D4));
+        // 다음 날(D5) 아직 답하지 않음: D1~D4 중 3일
+        assertEquals(0.75, withToday.participationRateAsOf(D5));
+    }
+
+    @Test
+    void participationRateOfFirstAnswerTodayIsFull() {
+        assertEquals(1.0, AnswerStreak.EMPTY.plus(D1).participationRateAsOf(D1));
+        assertEquals(0.0, AnswerStreak.EMPTY.participationRateAsOf(D1));
+    }
+
+    // ===== AnswerUserStats =====
+
+    @Test
+    void userAnswerStaysPendingUntilNextAnswer() {
+        AnswerUserStats stats = AnswerUserStats.empty(1L);
+
+        stats.answered(D1);
+        assertEquals(D1, stats.getPendingDate());
+        assertEquals(0, stats.getStreak().getDays());
+        assertStreak(stats.current(), D1, D1, 1, 1, 1);
+
+        stats.answered(D2);
+        assertEquals(D2, stats.getPendingDate());
+        assertStreak(stats.getStreak(), D1, D1, 1, 1, 1);
+        assertStreak(stats.current(), D1, D2, 2, 2, 2);
+    }
+
+    @Test
+    void userSameDayDeleteDropsOnlyPendingDay() {
+        AnswerUserStats stats = AnswerUserStats.empty(1L);
+        stats.answered(D1);
+        stats.answered(D2);
+
+        stats.unanswered(D2);
+
+        assertNull(stats.getPendingDate());
+        assertStreak(stats.current(), D1, D1, 1, 1, 1);
+    }
+
+    @Test
+    void userDeleteOfSettledDayIsIgnored() {
+        AnswerUserStats stats = AnswerUserStats.empty(1L);
+        stats.answered(D1);
+        stats.answered(D2);
+
+        stats.unanswered(D1);
+
+        assertEquals(D2, stats.getPendingDate());
+        assertStreak(stats.current(), D1, D2, 2, 2, 2);
+    }
+
+    @Test
+    void userReanswerAfterDeleteCountsOnce() {
+        AnswerUserStats stats = AnswerUserStats.empty(1L);
+        stats.answered(D1);
+        stats.unanswered(D1);
+        stats.answered(D1);
+
+        assertStreak(stats.current(), D1, D1, 1, 1, 1);
+    }
+
+    @Test
+    void userGapDaysBreakStreak() {
+        AnswerUserStats stats = AnswerUserStats.empty(1L);
+        stats.answered(D1);
+        stats.answered(D2);
+        stats.answered(D4);
+
+        assertStreak(stats.current(), D1, D4, 3, 1, 2);
+        assertEquals(1, stats.current().currentStreakAsOf(D5));
+        assertEquals(0, stats.current().currentStreakAsOf(D5.plusDays(1)));
+    }
+
+    // ===== AnswerGroupStats =====
+
+    @Test
+    void groupCountsEveryMemberAnswerOnLiveDay() {
+        AnswerGroupStats stats = AnswerGroupStats.empty(10L);
+
+        stats.answered(D1);
+        stats.answered(D1);
+
+        assertEquals(D1, stats.getLiveDate());
+        assertEquals(2, stats.getLiveAnswers());
+        assertEquals(2, stats.currentTotalAnswers());
+        assertStreak(stats.current(), D1, D1, 1, 1, 1);
+    }
+
+    @Test
+    void groupDayDisappearsWhenEveryAnswerIsDeleted() {
+        AnswerGroupStats stats = AnswerGroupStats.empty(10L);
+        stats.answered(D1);
+        stats.answered(D1);
+
+        stats.unanswered(D1);
+        assertEquals(1, stats.getLiveAnswers());
+        assertEquals(D1, stats.getLiveDate());
+
+        stats.unanswered(D1);
+        assertNull(stats.getLiveDate());
+        assertEquals(0, stats.currentTotalAnswers());
+        assertEquals(0, stats.current().getDays());
+
+        // 0 아래로 내려가지 않는다
+        stats.unanswered(D1);
+        assertEquals(0, stats.getLiveAnswers());
+    }
+
+    @Test
+    void groupSettlesPreviousDayOnNextDayAnswer() {
+        AnswerGroupStats stats = AnswerGroupStats.empty(10L);
+        stats.answered(D1);
+        stats.answered(D1);
+
+        stats.answered(D2);
+
+        assertStreak(stats.getStreak(), D1, D1, 1, 1, 1);
+        assertEquals(2, stats.getTotalAnswers());
+        assertEquals(D2, stats.getLiveDate());
+        assertEquals(1, stats.getLiveAnswers());
+        assertEquals(3, stats.currentTotalAnswers());
+        assertStreak(stats.current(), D1, D2, 2, 2, 2);
+    }
+
+    @Test
+    void groupDeleteAfterSettleOnlyTouchesLiveDay() {
+        AnswerGroupStats stats = AnswerGroupStats.empty(10L);
+        stats.answered(D1);
+        stats.answered(D2);
+
+        stats.unanswered(D1);
+        assertEquals(2, stats.currentTotalAnswers());
+
+        stats.unanswered(D2);
+        assertNull(stats.getLiveDate());
+        assertEquals(1, stats.currentTotalAnswers());
+        assertStreak(stats.current(), D1, D1, 1, 1, 1);
+    }
+
+    @Test
+    void groupGapDaysBreakStreak() {
+        AnswerGroupStats stats = AnswerGroupStats.empty(10L);
+        stats.answered(D1);
+        stats.answered(D2);
+        stats.answered(D4);
+
+        assertStreak(stats.current(), D1, D4, 3, 1, 2);
+        assertEquals(3, stats.currentTotalAnswers());
+    }
+
+    private static void assertStreak(AnswerStreak streak, LocalDate first, LocalDate last,
+                                     int days, int current, int longest) {
+        assertEquals(first, streak.getFirstDate());
+        assertEquals(last, streak.getLastDate());
+        assertEquals(days, streak.getDays());
+        assertEquals(current, streak.getCurrentStreak());
+        assertEquals(longest, streak.getLongestStreak());
+    }
+}
@@ -0,0 +1,147 @@
+package da_ni_ni.backend.qna;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import da_ni_ni.backend.qna.dto.ArchiveSourceRow;
+import da_ni_ni.backend.qna.repository.DailyAnswerRepository;
+import da_ni_ni.backend.qna.repository.QnaArchiveRepository;
+import da_ni_ni.backend.qna.service.QnaArchiveService;
+import da_ni_ni.backend.qna.service.TodayQuestionHolder;
+import da_ni_ni.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class QnaArchiveBackfillTest {
+
+    private static final LocalDate BEFORE = LocalDate.of(2025, 6, 10);
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 6, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2025, 6, 2);
+
+    @Mock
+    private QnaArchiveRepository archiveRepository;
+
+    @Mock
+    private DailyAnswerRepository answerRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QnaArchiveService archiveService;
+
+    // batchUpdate 한 번마다 넘어간 행 (서비스가 배치 목록을 재사용하므로 호출 시점에 복사해 둔다)
+    private final List<List<Object[]>> batches = new ArrayList<>();
+
+    private record Source(Long familyGroupId, Long questionId, LocalDate activationDate,
+                          Long userId, String answerText) implements ArchiveSourceRow {
+        @Override
+        public Long getFamilyGroupId() {
+            return familyGroupId;
+        }
+
+        @Override
+        public Long getQuestionId() {
+            return questionId;
+        }
+
+        @Override
+        public LocalDate getActivationDate() {
+            return activationDate;
+        }
+
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public String getAnswerText() {
+            return answerText;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-10T00:00:00Z"), TodayQuestionHolder.ZONE);
+        archiveService = new QnaArchiveService(archiveRepository, answerRepository, userRepository,
+                jdbcTemplate, new ObjectMapper(), clock, transactionManager, 2);
+    }
+
+    @Test
+    void groupsConsecutiveRowsByGroupAndQuestion() {
+        // given: 같은 그룹에서 질문이 바뀌는 경계와, 같은 질문에서 그룹이 바뀌는 경계가 모두 있다
+        when(answerRepository.streamArchiveSourcesBefore(BEFORE)).thenReturn(Stream.of(
+                new Source(1L, 10L, DAY_1, 100L, "첫째 답"),
+                new Source(1L, 10L, DAY_1, 101L, "둘째 답"),
+                new Source(1L, 11L, DAY_2, 100L, "다음 날 답"),
+                new Source(2L, 11L, DAY_2, 200L, "다른 가족 답")
+        ));
+        recordBatches();
+
+        // when
+        archiveService.backfill(BEFORE);
+
+        // then: (그룹, 질문)마다 한 행, batchSize(2)마다 나눠서 INSERT
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+        assertRow(batches.get(0).get(0), 1L, 10L, DAY_1, "{\"100\":\"첫째 답\",\"101\":\"둘째 답\"}");
+        assertRow(batches.get(0).get(1), 1L, 11L, DAY_2, "{\"100\":\"다음 날 답\"}");
+        assertRow(batches.get(1).get(0), 2L, 11L, DAY_2, "{\"200\":\"다른 가족 답\"}");
+    }
+
+    @Test
+    void nothingToBackfillRunsNoInsert() {
+        // given: 보관함에 없는 (그룹, 질문)이 없다
+        when(answerRepository.streamArchiveSourcesBefore(BEFORE)).thenReturn(Stream.empty());
+
+        // when
+        archiveService.backfill(BEFORE);
+
+        // then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private void recordBatches() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> args = invocation.getArgument(1);
+            batches.add(new ArrayList<>(args));
+            int[] counts = new int[args.size()];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+    }
+
+    private static void assertRow(Object[] row, Long familyGroupId, Long questionId,
+                                  LocalDate activationDate, String answersJson) {
+        assertEquals(familyGroupId, row[0]);
+        assertEquals(questionId, row[1]);
+        assertEquals(activationDate, row[2]);
+        assertEquals(answersJson, row[3]);
+    }
+}
@@ -0,0 +1,107 @@
+package da_ni_ni.backend.qna;
+
+import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
+import da_ni_ni.backend.qna.service.QuestionCalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class QuestionCalendarServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 6, 3);
+
+    @Mock
+    private DailyQuestionRepository questionRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private QuestionCalendarService calendarService;
+
+    @BeforeEach
+    void setUp() {
+        calendarService = new QuestionCalendarService(questionRepository, jdbcTemplate, 14);
+    }
+
+    @Test
+    void assignsUnassignedQuestionsToEmptyDatesInIdOrder() {
+        // given: 3일 중 가운데 날짜는 이미 배정됨
+        when(questionRepository.findActivationDatesBetween(FROM, FROM.plusDays(2)))
+                .thenReturn(List.of(FROM.plusDays(1)));
+        when(questionRepository.findUnassignedIds(PageRequest.of(0, 2))).thenReturn(List.of(10L, 11L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[]{1, Statement.SUCCESS_NO_INFO});
+
+        // when
+        int updated = calendarService.assign(FROM, 3);
+
+        // then: 빈 날짜에 ID 순서대로 배정하고, 건수를 모르는 결과는 1건으로 센다
+        assertEquals(2, updated);
+        List<Object[]> batchArgs = captureBatchArgs();
+        assertEquals(2, batchArgs.size());
+        assertArrayEquals(new Object[]{FROM, 10L}, batchArgs.get(0));
+        assertArrayEquals(new Object[]{FROM.plusDays(2), 11L}, batchArgs.get(1));
+    }
+
+    @Test
+    void assignsOnlyAsManyDatesAsQuestionsRemain() {
+        when(questionRepository.findActivationDatesBetween(FROM, FROM.plusDays(2))).thenReturn(List.of());
+        when(questionRepository.findUnassignedIds(PageRequest.of(0, 3))).thenReturn(List.of(10L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        int updated = calendarService.assign(FROM, 3);
+
+        assertEquals(1, updated);
+        List<Object[]> batchArgs = captureBatchArgs();
+        assertEquals(1, batchArgs.size());
+        assertArrayEquals(new Object[]{FROM, 10L}, batchArgs.get(0));
+    }
+
+    @Test
+    void dateTakenConcurrentlyIsNotCounted() {
+        // 조건부 UPDATE(activation_date IS NULL)가 0건이면 배정 건수에서 빠진다
+        when(questionRepository.findActivationDatesBetween(FROM, FROM)).thenReturn(List.of());
+        when(questionRepository.findUnassignedIds(PageRequest.of(0, 1))).thenReturn(List.of(10L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{0});
+
+        assertEquals(0, calendarService.assign(FROM, 1));
+    }
+
+    @Test
+    void fullyAssignedRangeDoesNothing() {
+        when(questionRepository.findActivationDatesBetween(FROM, FROM.plusDays(1)))
+                .thenReturn(List.of(FROM, FROM.plusDays(1)));
+
+        assertEquals(0, calendarService.assign(FROM, 2));
+
+        verify(questionRepository, never()).findUnassignedIds(any());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureBatchArgs() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE questions SET activation_date"), captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,290 @@
+package da_ni_ni.backend.qna;
+
+import da_ni_ni.backend.group.domain.FamilyGroup;
+import da_ni_ni.backend.group.repository.GroupRepository;
+import da_ni_ni.backend.qna.domain.DailyAnswer;
+import da_ni_ni.backend.qna.domain.DailyQuestion;
+import da_ni_ni.backend.qna.dto.FamilyAnswers;
+import da_ni_ni.backend.qna.repository.DailyAnswerRepository;
+import da_ni_ni.backend.qna.repository.DailyQuestionRepository;
+import da_ni_ni.backend.qna.service.FamilyAnswerBoard;
+import da_ni_ni.backend.qna.service.TodayQuestionHolder;
+import da_ni_ni.backend.user.domain.User;
+import da_ni_ni.backend.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 오전 7시 알림 직후처럼 모든 가족이 같은 질문 상세를 동시에 여는 상황을 내장 DB(H2)로 재현한다.
+ * 시드 데이터를 다른 스레드에서 볼 수 있도록 테스트 트랜잭션 없이 실행한다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TodayAnswerSpikeLoadTest {
+
+    private static final int GROUPS = 20;
+    private static final int MEMBERS_PER_GROUP = 4;
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    // 2026-10-18 08:00 (서울) → 논리적 오늘은 10월 18일
+    private static final Clock CLOCK = Clock.fixed(
+            LocalDateTime.of(2026, 10, 18, 8, 0).atZone(TodayQuestionHolder.ZONE).toInstant(),
+            TodayQuestionHolder.ZONE);
+
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DailyQuestionRepository questionRepository;
+    @Autowired
+    private DailyAnswerRepository answerRepository;
+
+    private final List<Long> groupIds = new ArrayList<>();
+    private DailyQuestion todayQuestion;
+    private DailyQuestion pastQuestion;
+    private SimpleMeterRegistry meterRegistry;
+    private TodayQuestionHolder holder;
+    private FamilyAnswerBoard board;
+
+    @BeforeEach
+    void setUp() {
+        todayQuestion = saveQuestion("오늘 가장 고마웠던 일은?", LocalDate.of(2026, 10, 18));
+        pastQuestion = saveQuestion("어릴 적 꿈은 무엇이었나요?", LocalDate.of(2026, 10, 17));
+
+        for (int g = 0; g < GROUPS; g++) {
+            FamilyGroup group = groupRepository.save(FamilyGroup.builder()
+                    .name("가족" + g)
+                    .inviteCode("CODE" + g)
+                    .build());
+            groupIds.add(group.getId());
+            for (int m = 0; m < MEMBERS_PER_GROUP; m++) {
+                User user = userRepository.save(User.builder()
+                        .name("user" + g + "-" + m)
+                        .email("user" + g + "-" + m + "@test.com")
+                        .passwordHash("pw")
+                        .nickName("닉" + g + "-" + m)
+                        .familyGroup(group)
+                        .build());
+                // 구성원 절반만 오늘 질문에 답변, 지난 질문은 모두 답변
+                if (m % 2 == 0) {
+                    saveAnswer(todayQuestion, user.getId(), "오늘 답변 " + user.getId());
+                }
+                saveAnswer(pastQuestion, user.getId(), "지난 답변 " + user.getId());
+            }
+        }
+
+        meterRegistry = new SimpleMeterRegistry();
+        holder = new TodayQuestionHolder(CLOCK, questionRepository);
+        board = new FamilyAnswerBoard(questionRepository, answerRepository, userRepository,
+                holder, CLOCK, meterRegistry, 600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        answerRepository.deleteAll();
+        userRepository.deleteAll();
+        groupRepository.deleteAll();
+        questionRepository.deleteAll();
+        groupIds.clear();
+    }
+
+    @Test
+    void warmedUpSpikeIsServedWithoutLoads() throws Exception {
+        // given: 알림 전에 미리 적재
+        board.warmUp();
+
+        // when
+        List<FamilyAnswers> results = spike(todayQuestion.getId());
+
+        // then: 그룹별 조회는 한 번도 일어나지 않고, 모두 같은 답변 현황을 본다
+        assertEquals(0.0, loadCount());
+        assertConsistent(results, MEMBERS_PER_GROUP / 2);
+    }
+
+    @Test
+    void coldSpikeLoadsEachGroupOnce() throws Exception {
+        // when: 미리 적재하지 않은 상태에서 동시에 조회
+        List<FamilyAnswers> results = spike(todayQuestion.getId());
+
+        // then: 동시 요청이 합쳐져 그룹당 정확히 한 번만 조회한다
+        assertEquals(GROUPS, loadCount());
+        assertConsistent(results, MEMBERS_PER_GROUP / 2);
+    }
+
+    @Test
+    void overlappingPastQuestionRequestsShareOneLoad() throws Exception {
+        // given: 첫 조회가 DB에서 멈춰 있는 동안 나머지 요청이 모두 합류하도록 질문 조회를 막아 둔다
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger questionLookups = new AtomicInteger();
+        DailyQuestionRepository gated = mock(DailyQuestionRepository.class, delegatesTo(questionRepository));
+        doAnswer(invocation -> {
+            questionLookups.incrementAndGet();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return questionRepository.findById(invocation.getArgument(0));
+        }).when(gated).findById(any());
+        // 합류 수를 이 보드에서만 세도록 별도 레지스트리를 쓴다
+        SimpleMeterRegistry gatedRegistry = new SimpleMeterRegistry();
+        FamilyAnswerBoard gatedBoard = new FamilyAnswerBoard(gated, answerRepository, userRepository,
+                holder, CLOCK, gatedRegistry, 600);
+        Long groupId = groupIds.get(0);
+
+        // when: 같은 (질문, 그룹)을 동시에 조회하고, 나머지 요청이 모두 첫 조회에 합류한 뒤에 조회를 풀어 준다
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<FamilyAnswers>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> gatedBoard.get(pastQuestion.getId(), groupId)));
+        }
+        awaitCoalesced(gatedRegistry, THREADS - 1);
+        release.countDown();
+        List<FamilyAnswers> results = new ArrayList<>();
+        for (Future<FamilyAnswers> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+
+        // then: 겹친 요청은 정확히 한 번의 조회로 합쳐지고, 모두 같은 결과를 본다
+        assertEquals(1, questionLookups.get());
+        assertEquals(1.0, gatedRegistry.counter("qna.board.loads").count());
+        for (FamilyAnswers family : results) {
+            assertEquals(results.get(0), family);
+            assertEquals(MEMBERS_PER_GROUP, family.answerByUserId().size());
+        }
+    }
+
+    @Test
+    void reloadPicksUpAnswerMissingFromMemory() {
+        // given: 메모리 값에는 없는 답변 (다른 인스턴스에서 등록되어 무효화가 오지 않은 경우)
+        board.warmUp();
+        Long groupId = groupIds.get(0);
+        FamilyAnswers before = board.get(todayQuestion.getId(), groupId);
+        Long unanswered = before.members().stream()
+                .map(FamilyAnswers.Member::userId)
+                .filter(id -> !before.answerByUserId().containsKey(id))
+                .findFirst()
+                .orElseThrow();
+        saveAnswer(todayQuestion, unanswered, "다른 서버 답변");
+        assertFalse(board.get(todayQuestion.getId(), groupId).answerByUserId().containsKey(unanswered));
+
+        // when
+        FamilyAnswers after = board.reload(todayQuestion.getId(), groupId);
+
+        // then: 다시 읽은 값이 이후 조회에도 쓰인다
+        assertEquals("다른 서버 답변", after.answerByUserId().get(unanswered));
+        assertSame(after, board.get(todayQuestion.getId(), groupId));
+    }
+
+    @Test
+    void evictAfterWarmUpShowsNewAnswer() {
+        // given
+        board.warmUp();
+        Long groupId = groupIds.get(0);
+        FamilyAnswers before = board.get(todayQuestion.getId(), groupId);
+        Long unanswered = before.members().stream()
+                .map(FamilyAnswers.Member::userId)
+                .filter(id -> !before.answerByUserId().containsKey(id))
+                .findFirst()
+                .orElseThrow();
+
+        // when: 트랜잭션 밖에서 답변을 저장하고 무효화 (즉시 반영)
+        saveAnswer(todayQuestion, unanswered, "늦은 답변");
+        board.evict(groupId);
+
+        // then
+        FamilyAnswers after = board.get(todayQuestion.getId(), groupId);
+        assertEquals("늦은 답변", after.answerByUserId().get(unanswered));
+        assertEquals(1.0, loadCount());
+    }
+
+    // 모든 스레드가 동시에 출발해 그룹을 돌아가며 조회
+    private List<FamilyAnswers> spike(Long questionId) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<FamilyAnswers>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                List<FamilyAnswers> seen = new ArrayList<>();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    seen.add(board.get(questionId, groupIds.get((offset + i) % GROUPS)));
+                }
+                return seen;
+            }));
+        }
+        start.countDown();
+        List<FamilyAnswers> results = new ArrayList<>();
+        for (Future<List<FamilyAnswers>> future : futures) {
+            results.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    private void assertConsistent(List<FamilyAnswers> results, int answersPerGroup) {
+        assertEquals(THREADS * REQUESTS_PER_THREAD, results.size());
+        for (FamilyAnswers family : results) {
+            assertEquals(MEMBERS_PER_GROUP, family.members().size());
+            assertEquals(answersPerGroup, family.answerByUserId().size());
+            for (FamilyAnswers.Member member : family.members()) {
+                String answer = family.answerByUserId().get(member.userId());
+                if (answer != null) {
+                    assertTrue(answer.endsWith(" " + member.userId()));
+                }
+            }
+        }
+    }
+
+    // 첫 조회가 막혀 있으므로 합류 수는 THREADS - 1에서 멈춘다 (시간이 아니라 합류 수를 기다린다)
+    private void awaitCoalesced(SimpleMeterRegistry registry, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get("qna.board.coalesced").functionCounter().count() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("진행 중인 조회에 합류한 요청이 " + expected + "건이 되지 않았습니다.");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private double loadCount() {
+        return meterRegistry.counter("qna.board.loads").count();
+    }
+
+    private DailyQuestion saveQuestion(String text, LocalDate activationDate) {
+        DailyQuestion q = new DailyQuestion();
+        q.setQuestion(text);
+        q.setActivationDate(activationDate);
+        return questionRepository.save(q);
+    }
+
+    private void saveAnswer(DailyQuestion question, Long userId, String text) {
+        DailyAnswer answer = new DailyAnswer();
+        answer.setQuestion(question);
+        answer.setUserId(userId);
+        answer.setAnswerText(text);
+        answerRepository.save(answer);
+    }
+}